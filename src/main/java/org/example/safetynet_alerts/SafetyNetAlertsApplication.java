@@ -2,13 +2,19 @@ package org.example.safetynet_alerts;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.time.Clock;
 
 /**
  * Main class of the Spring Boot application for "SafetyNet Alerts".
  * This class contains the main method that starts the Spring Boot application.
- * It is annotated with {@link SpringBootApplication} to indicate that it is a Spring Boot application.
+ * It is annotated with {@link SpringBootApplication} to indicate that it is a Spring Boot application,
+ * and with {@link EnableScheduling} to run the background maintenance tasks.
  */
 @SpringBootApplication
+@EnableScheduling
 public class SafetyNetAlertsApplication {
 
     /**
@@ -19,4 +25,14 @@ public class SafetyNetAlertsApplication {
     public static void main(String[] args) {
         SpringApplication.run(SafetyNetAlertsApplication.class, args);
     }
+
+    /**
+     * Clock giving the current date, used to tell children from adults.
+     *
+     * @return the system clock in the default time zone.
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
 }
@@ -1,5 +1,6 @@
 package org.example.safetynet_alerts.controllers;
 
+import org.example.safetynet_alerts.models.AddressMatch;
 import org.example.safetynet_alerts.models.FireStation;
 import org.example.safetynet_alerts.models.Person;
 import org.example.safetynet_alerts.service.*;
@@ -9,6 +10,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
 import java.util.stream.Stream;
@@ -25,6 +27,8 @@ public class ApiController {
     private FireStationService fireStationService;
     @Autowired
     private PersonInfoService personInfoService;
+    @Autowired
+    private AddressService addressService;
 
     /**
      * Get a list of community email addresses for a given city.
@@ -43,14 +47,21 @@ public class ApiController {
     }
 
     /**
-     * Get detailed information about people by their last name.
+     * Get detailed information about people by their last name, ignoring case.
      *
-     * @param lastName the last name of the people whose information is to be fetched
+     * @param lastName the last name of the people whose information is to be fetched, or its beginning in prefix mode
+     * @param prefix   true to match every last name starting with the given one
      * @return a list of person details, or an empty list if no people with the specified last name are found
      */
     @GetMapping("/personInfo")
-    public ResponseEntity<List<Map<String, Object>>> getPersonInfo(@RequestParam String lastName) {
-        List<Person> persons = personService.getAllPersonByLastname(lastName);
+    public ResponseEntity<List<Map<String, Object>>> getPersonInfo(@RequestParam String lastName,
+                                                                   @RequestParam(defaultValue = "false") boolean prefix) {
+        if (prefix && lastName.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The last name prefix must not be blank");
+        }
+        List<Person> persons = prefix
+                ? personService.getAllPersonByLastnamePrefix(lastName)
+                : personService.getAllPersonByLastname(lastName);
         List<Map<String, Object>> personInfos = personInfoService.getAllPersonInfo(persons);
 
         if (personInfos == null || personInfos.isEmpty()) {
@@ -201,4 +212,56 @@ public class ApiController {
 
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * Get information about the people covered by a fire station who have an allergy or take a medication.
+     *
+     * @param station    the fire station number whose covered people are searched
+     * @param allergy    the allergy to look for, optional if a medication is given
+     * @param medication the medication to look for, with or without its dose, optional if an allergy is given
+     * @return a list of person details, or an empty list if nobody matches
+     */
+    @GetMapping("/medicalAlert")
+    public ResponseEntity<List<Map<String, Object>>> getMedicalAlert(@RequestParam int station,
+                                                                     @RequestParam(required = false) String allergy,
+                                                                     @RequestParam(required = false) String medication) {
+        if ((allergy == null || allergy.isBlank()) && (medication == null || medication.isBlank())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "An allergy or a medication is required");
+        }
+
+        List<Map<String, Object>> result = personInfoService.getMedicalAlertByFireStation(station,
+                allergy == null || allergy.isBlank() ? null : allergy,
+                medication == null || medication.isBlank() ? null : medication);
+
+        if (result.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Collections.emptyList());
+        }
+
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Search the known addresses that are similar to a possibly misspelled or incomplete text.
+     *
+     * @param query the text to look for
+     * @param limit the maximum number of addresses to return, between 1 and 50
+     * @return the matching addresses with their similarity score, best first, or an empty list if none is found
+     */
+    @GetMapping("/addressSearch")
+    public ResponseEntity<List<AddressMatch>> searchAddresses(@RequestParam String query,
+                                                              @RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > 50) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The limit must be between 1 and 50");
+        }
+
+        List<AddressMatch> matches = addressService.searchAddresses(query, limit);
+
+        if (matches.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Collections.emptyList());
+        }
+
+        return ResponseEntity.ok(matches);
+    }
 }
@@ -0,0 +1,90 @@
+package org.example.safetynet_alerts.controllers;
+
+import org.example.safetynet_alerts.service.ExportService;
+import org.example.safetynet_alerts.service.ImportReport;
+import org.example.safetynet_alerts.service.ImportService;
+import org.example.safetynet_alerts.service.SnapshotService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Controller that handles operations on the dataset as a whole, such as writing a snapshot of the loaded data
+ * or importing and exporting records in bulk.
+ */
+@RestController
+@RequestMapping("/data")
+public class DataController {
+
+    @Autowired
+    private SnapshotService snapshotService;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private ExportService exportService;
+
+    /**
+     * Write a binary snapshot of the current data, used to speed up the next start.
+     *
+     * @return a 200 status if the snapshot was written, a 409 status if snapshots are disabled,
+     *         or a 500 status if the snapshot could not be written
+     */
+    @PostMapping("/snapshot")
+    public ResponseEntity<Void> postSnapshot() {
+        try {
+            snapshotService.saveSnapshot();
+            return ResponseEntity.ok().build();
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Snapshots are disabled");
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Snapshot error", e);
+        }
+    }
+
+    /**
+     * Import persons, fire stations and medical records from a newline-delimited JSON body,
+     * one {@code {"person": {...}}}, {@code {"firestation": {...}}} or {@code {"medicalrecord": {...}}} object per line.
+     *
+     * @param inputStream the request body
+     * @return a 200 status with the number of imported records and the rejected lines,
+     *         or a 500 status if the body could not be read or the records could not be written
+     */
+    @PostMapping("/import")
+    public ResponseEntity<ImportReport> postImport(InputStream inputStream) {
+        try {
+            return ResponseEntity.ok(importService.importRecords(inputStream));
+        } catch (IOException | UncheckedIOException e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Import error", e);
+        }
+    }
+
+    /**
+     * Export every person, fire station and medical record, streamed to the client as it is written.
+     *
+     * @param format {@code ndjson} for one record per line, in the format accepted by the import,
+     *               or {@code json} for a single object with one array per section, like the data file
+     * @return a 200 status with the streamed records, or a 400 status if the format is unknown
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> getExport(@RequestParam(defaultValue = "ndjson") String format) {
+        return switch (format) {
+            case "ndjson" -> ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_NDJSON)
+                    .body(exportService::exportNdjson);
+            case "json" -> ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(exportService::exportJson);
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export format: " + format);
+        };
+    }
+}
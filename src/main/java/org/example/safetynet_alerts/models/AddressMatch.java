@@ -0,0 +1,10 @@
+package org.example.safetynet_alerts.models;
+
+/**
+ * Represents an address found by a fuzzy address search, with its similarity to the searched text.
+ *
+ * @param address The known address, as held by the persons and fire stations.
+ * @param score   The similarity of the address to the searched text, between 0 and 1, where 1 is the best match.
+ */
+public record AddressMatch(String address, double score) {
+}
@@ -1,17 +1,23 @@
 package org.example.safetynet_alerts.models;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.example.safetynet_alerts.service.DateUtils;
+
 import java.util.List;
 
 /**
  * Represents a medical record for an individual.
  * This class contains personal information, medications, and allergies associated with a person.
  * The class includes fields for the person's first name, last name, birthdate, medications, and allergies.
+ * The birthdate is parsed once, when the record is created, into an epoch day from which ages are computed.
  */
 public class MedicalRecord {
 
     private String firstName; // The person's first name
     private String lastName;  // The person's last name
     private String birthdate; // The person's birthdate
+    private int birthEpochDay; // The person's birthdate as an epoch day, or DateUtils.UNKNOWN_DATE
     private List<String> medications; // List of medications prescribed to the person
     private List<String> allergies; // List of allergies the person has
 
@@ -20,18 +26,30 @@ public class MedicalRecord {
      *
      * @param firstName The first name of the person.
      * @param lastName The last name of the person.
-     * @param birthdate The birthdate of the person.
+     * @param birthdate The birthdate of the person, also read from the {@code birthDate} property this class is written with.
      * @param medications The list of medications the person is taking.
      * @param allergies The list of allergies the person has.
      */
-    public MedicalRecord(String firstName, String lastName, String birthdate, List<String> medications, List<String> allergies) {
+    public MedicalRecord(String firstName, String lastName, @JsonAlias("birthDate") String birthdate, List<String> medications, List<String> allergies) {
         this.firstName = firstName;
         this.lastName = lastName;
         this.birthdate = birthdate;
+        this.birthEpochDay = toEpochDay(birthdate);
         this.medications = medications;
         this.allergies = allergies;
     }
 
+    private static int toEpochDay(String birthdate) {
+        if (birthdate == null) {
+            return DateUtils.UNKNOWN_DATE;
+        }
+        try {
+            return DateUtils.parseEpochDay(birthdate);
+        } catch (IllegalArgumentException e) {
+            return DateUtils.UNKNOWN_DATE; // Reported when the age is calculated
+        }
+    }
+
     /**
      * Returns the first name of the person.
      *
@@ -59,6 +77,17 @@ public class MedicalRecord {
         return birthdate;
     }
 
+    /**
+     * Returns the birthdate of the person as parsed when the record was created.
+     *
+     * @return The number of days from 1970-01-01 to the birthdate, or {@link DateUtils#UNKNOWN_DATE}
+     *         if the birthdate is missing or invalid.
+     */
+    @JsonIgnore
+    public int getBirthEpochDay() {
+        return birthEpochDay;
+    }
+
     /**
      * Returns the list of medications the person is taking.
      *
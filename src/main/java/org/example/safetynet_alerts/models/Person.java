@@ -81,6 +81,15 @@ public class Person {
         this.city = city;
     }
 
+    /**
+     * Returns the zip code of the person's location.
+     *
+     * @return The zip code of the person.
+     */
+    public int getZip() {
+        return zip;
+    }
+
     /**
      * Returns the phone number of the person.
      *
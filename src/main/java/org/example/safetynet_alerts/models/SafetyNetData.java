@@ -0,0 +1,72 @@
+package org.example.safetynet_alerts.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/**
+ * Represents the full content of the `data.json` file.
+ * This class groups the persons, fire stations and medical records read in a single pass over the file.
+ * The class is annotated with {@link JsonIgnoreProperties} to ignore any unknown properties during JSON deserialization.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SafetyNetData {
+
+    private List<Person> persons; // List of persons
+    private List<FireStation> firestations; // List of fire stations
+    private List<MedicalRecord> medicalrecords; // List of medical records
+
+    /**
+     * Returns the list of persons.
+     *
+     * @return The list of persons.
+     */
+    public List<Person> getPersons() {
+        return persons;
+    }
+
+    /**
+     * Sets the list of persons.
+     *
+     * @param persons The list of persons to be set.
+     */
+    public void setPersons(List<Person> persons) {
+        this.persons = persons;
+    }
+
+    /**
+     * Returns the list of fire stations.
+     *
+     * @return A list of {@link FireStation} objects representing the fire stations.
+     */
+    public List<FireStation> getFirestations() {
+        return firestations;
+    }
+
+    /**
+     * Sets the list of fire stations.
+     *
+     * @param firestations A list of {@link FireStation} objects to set.
+     */
+    public void setFirestations(List<FireStation> firestations) {
+        this.firestations = firestations;
+    }
+
+    /**
+     * Returns the list of medical records.
+     *
+     * @return A list of {@link MedicalRecord} objects.
+     */
+    public List<MedicalRecord> getMedicalrecords() {
+        return medicalrecords;
+    }
+
+    /**
+     * Sets the list of medical records.
+     *
+     * @param medicalrecords A list of {@link MedicalRecord} objects to set.
+     */
+    public void setMedicalrecords(List<MedicalRecord> medicalrecords) {
+        this.medicalrecords = medicalrecords;
+    }
+}
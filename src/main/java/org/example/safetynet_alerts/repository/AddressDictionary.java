@@ -0,0 +1,83 @@
+package org.example.safetynet_alerts.repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Dictionary giving each distinct address of a {@link Dataset} a dense int ID and a single canonical
+ * {@code String} instance.
+ * <p>
+ * The dictionary and the indexes built on it hold the canonical instance, so each address they keep is held in
+ * memory only once, whatever the number of persons and stations living there. Persons and fire stations are left
+ * untouched and keep their own instance. The IDs key the address indexes of the dataset,
+ * which are plain arrays. IDs are never reused: an address stays in the dictionary after its last resident
+ * or station is deleted. Addresses are only added while holding the repository lock; lookups need no lock.
+ * <p>
+ * Every address is also added to a {@link TrigramIndex} when it gets its ID, so that addresses can be searched
+ * with typos or missing words.
+ */
+final class AddressDictionary {
+
+    static final int UNKNOWN = -1; // ID returned for an address that is not in the dictionary
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private volatile String[] addresses = new String[64]; // Canonical address of each ID
+    private int size; // Number of IDs given, guarded by the repository lock
+    private final TrigramIndex trigrams = new TrigramIndex(); // Fuzzy search over the addresses
+
+    /**
+     * Returns the ID of an address, adding it to the dictionary if needed.
+     *
+     * @param address The address, not null.
+     * @return the ID of the address.
+     */
+    int intern(String address) {
+        Integer id = ids.get(address);
+        if (id != null) {
+            return id;
+        }
+        if (size == addresses.length) {
+            addresses = Arrays.copyOf(addresses, size * 2);
+        }
+        addresses[size] = address;
+        trigrams.add(size, address);
+        ids.put(address, size);
+        return size++;
+    }
+
+    /**
+     * Returns the ID of an address without adding it.
+     *
+     * @param address The address to look up, possibly null.
+     * @return the ID of the address, or {@link #UNKNOWN} if it is not in the dictionary.
+     */
+    int idOf(String address) {
+        Integer id = address != null ? ids.get(address) : null;
+        return id != null ? id : UNKNOWN;
+    }
+
+    /**
+     * Returns the canonical instance of an address.
+     *
+     * @param id The ID of the address.
+     * @return the address.
+     */
+    String address(int id) {
+        return addresses[id];
+    }
+
+    /**
+     * Searches the addresses similar to a query.
+     *
+     * @param query  The text to look for.
+     * @param filter The condition the ID of an address must meet to be returned.
+     * @param limit  The maximum number of addresses to return.
+     * @return the best matches, most similar first.
+     */
+    List<TrigramIndex.Match> search(String query, IntPredicate filter, int limit) {
+        return trigrams.search(query, filter, limit);
+    }
+}
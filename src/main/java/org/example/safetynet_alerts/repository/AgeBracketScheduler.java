@@ -0,0 +1,44 @@
+package org.example.safetynet_alerts.repository;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Background task that moves the classification of the persons as children or adults to the new date
+ * just after midnight, so that the children who turned 19 during the night stop being reported as children.
+ */
+@Component
+public class AgeBracketScheduler {
+
+    private static final Logger logger = LogManager.getLogger(AgeBracketScheduler.class); // Logger initialization
+    private final DataRepository dataRepository;
+
+    /**
+     * Constructor that initializes the AgeBracketScheduler with the injected DataRepository.
+     *
+     * @param dataRepository The DataRepository instance injected by Spring.
+     */
+    public AgeBracketScheduler(DataRepository dataRepository) {
+        this.dataRepository = dataRepository;
+    }
+
+    /**
+     * Rolls the age classification over to the current date.
+     * Failures are logged and retried on the next run.
+     */
+    @Scheduled(cron = "${safetynet.age-brackets.rollover-cron:0 0 0 * * *}")
+    public void rollOver() {
+        try {
+            int turned = dataRepository.rollOverAgeBrackets();
+            if (turned < 0) {
+                logger.info("Clock moved back, every person was classified again");
+            } else {
+                logger.info("Age brackets rolled over, {} children became adults", turned);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Age bracket rollover failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package org.example.safetynet_alerts.repository;
+
+import org.example.safetynet_alerts.models.Person;
+import org.example.safetynet_alerts.service.DateUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Classification of the persons of a {@link Dataset} into children, aged 18 or less, and adults, kept per address
+ * for a given day.
+ * <p>
+ * When a person is linked to a medical record with a known birthdate, the day they turn 19 is computed once.
+ * If that day is still to come, the person is listed among the children of their address and filed under that day.
+ * At each day rollover, {@link #rollOver(int)} only visits the children filed under the days that have passed,
+ * so the classification never has to be recomputed for the whole dataset.
+ * <p>
+ * The children of an address are read without holding the repository lock, through an {@link IdIndex}, and so is
+ * the current day. Every other method must be called while holding the lock.
+ */
+final class AgeBrackets {
+
+    private static final int ADULT_AGE = 19; // Age at which a person stops being a child
+
+    private final IdIndex<Person> childrenByAddress = new IdIndex<>(); // Children living at each address ID
+    private final Map<Person, Child> children = new IdentityHashMap<>(); // Classification of each child
+    private final NavigableMap<Integer, List<Person>> childrenByAdulthood = new TreeMap<>(); // Children turning 19 each day
+    private volatile int today; // Epoch day the classification is valid for
+
+    /**
+     * Where a child is listed.
+     *
+     * @param addressId    The ID of the address the child is listed under.
+     * @param adulthoodDay The epoch day the child turns 19.
+     */
+    private record Child(int addressId, int adulthoodDay) {
+    }
+
+    /**
+     * Constructor that creates an empty classification for the given day.
+     *
+     * @param today The epoch day of the current date.
+     */
+    AgeBrackets(int today) {
+        this.today = today;
+    }
+
+    /**
+     * Returns the epoch day the classification is valid for.
+     *
+     * @return the current epoch day.
+     */
+    int today() {
+        return today;
+    }
+
+    /**
+     * Returns the epoch day of the first day on which a person born on the given day is 19 or more, consistently with
+     * {@link DateUtils#calculateAge(int, int)}: a person born on February 29 turns 19 on March 1 of a common year.
+     *
+     * @param birthEpochDay The birthdate as an epoch day.
+     * @return the epoch day the person stops being a child.
+     */
+    static int adulthoodDay(int birthEpochDay) {
+        LocalDate birthDate = LocalDate.ofEpochDay(birthEpochDay);
+        LocalDate adulthood = birthDate.plusYears(ADULT_AGE);
+        if (adulthood.getDayOfMonth() != birthDate.getDayOfMonth()) {
+            adulthood = adulthood.plusDays(1);
+        }
+        return (int) adulthood.toEpochDay();
+    }
+
+    /**
+     * Lists a person among the children of an address if they are a child today.
+     * The person must not be classified already.
+     *
+     * @param person        The person to classify.
+     * @param addressId     The ID of the address of the person.
+     * @param birthEpochDay The birthdate of the person, or {@link DateUtils#UNKNOWN_DATE}, in which case the person
+     *                      is not classified.
+     */
+    void classify(Person person, int addressId, int birthEpochDay) {
+        if (birthEpochDay == DateUtils.UNKNOWN_DATE || addressId == AddressDictionary.UNKNOWN) {
+            return;
+        }
+        int adulthoodDay = adulthoodDay(birthEpochDay);
+        if (today < adulthoodDay) {
+            children.put(person, new Child(addressId, adulthoodDay));
+            childrenByAddress.add(addressId, person);
+            childrenByAdulthood.computeIfAbsent(adulthoodDay, day -> new ArrayList<>()).add(person);
+        }
+    }
+
+    /**
+     * Removes a person from the children, if they are listed there.
+     *
+     * @param person The person to remove.
+     */
+    void remove(Person person) {
+        Child child = children.remove(person);
+        if (child == null) {
+            return;
+        }
+        childrenByAddress.remove(child.addressId(), person);
+        List<Person> turningAdult = childrenByAdulthood.get(child.adulthoodDay());
+        turningAdult.removeIf(other -> other == person);
+        if (turningAdult.isEmpty()) {
+            childrenByAdulthood.remove(child.adulthoodDay());
+        }
+    }
+
+    /**
+     * Returns the children living at the given address.
+     *
+     * @param addressId The ID of the address.
+     * @return an immutable list of the children, empty if none.
+     */
+    List<Person> getChildren(int addressId) {
+        return childrenByAddress.get(addressId);
+    }
+
+    /**
+     * Moves the classification forward to a later day, turning into adults the children who reached 19 since.
+     * Going back to an earlier day is not supported: the caller rebuilds the classification instead.
+     *
+     * @param day The epoch day of the new current date, not before {@link #today()}.
+     * @return the number of children who became adults.
+     */
+    int rollOver(int day) {
+        int turned = 0;
+        Iterator<Map.Entry<Integer, List<Person>>> entries = childrenByAdulthood.headMap(day, true).entrySet().iterator();
+        while (entries.hasNext()) {
+            for (Person person : entries.next().getValue()) {
+                Child child = children.remove(person);
+                childrenByAddress.remove(child.addressId(), person);
+                turned++;
+            }
+            entries.remove();
+        }
+        today = day;
+        return turned;
+    }
+
+    /**
+     * Removes every child and sets the day the classification will be valid for once the persons are classified
+     * again, typically after the clock moved back to an earlier day.
+     *
+     * @param day The epoch day of the new current date.
+     */
+    void clear(int day) {
+        for (Map.Entry<Person, Child> entry : children.entrySet()) {
+            childrenByAddress.remove(entry.getValue().addressId(), entry.getKey());
+        }
+        children.clear();
+        childrenByAdulthood.clear();
+        today = day;
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.safetynet_alerts.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index from a key to the distinct values held by the elements of a {@link Dataset} collection that have it,
+ * such as the emails of the residents of a city.
+ * <p>
+ * Each value is counted once per element holding it, so removing one of several elements that share a value
+ * keeps the value. The distinct values of a key are returned as an immutable list that is built on the first
+ * lookup and then cached until a value is added to or dropped from the key; writes that only change a count
+ * keep the cached list. Cached lists are read without locking. Null keys and values are allowed, and values
+ * are compared with {@code equals}.
+ *
+ * @param <K> The type of the keys.
+ * @param <E> The type of the values.
+ */
+final class CountingIndex<K, E> {
+
+    private static final Object NULL_KEY = new Object(); // Stands for the null key, which the map does not accept
+
+    private final Map<Object, Map<E, Integer>> counts = new HashMap<>(); // Values of each key, in first-added order
+    private final Map<Object, List<E>> views = new ConcurrentHashMap<>(); // Cached distinct values of each key
+
+    private static Object wrap(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    /**
+     * Returns the distinct values of the given key, in the order they were first added.
+     *
+     * @param key The key to look up.
+     * @return an immutable list of the values, empty if no element has the key.
+     */
+    List<E> get(K key) {
+        List<E> view = views.get(wrap(key));
+        if (view != null) {
+            return view;
+        }
+        synchronized (this) {
+            Map<E, Integer> values = counts.get(wrap(key));
+            if (values == null) {
+                return List.of();
+            }
+            return views.computeIfAbsent(wrap(key),
+                    k -> Collections.unmodifiableList(new ArrayList<>(values.keySet())));
+        }
+    }
+
+    /**
+     * Counts a value under the given key.
+     *
+     * @param key   The key of the element holding the value.
+     * @param value The value to count.
+     */
+    synchronized void add(K key, E value) {
+        Map<E, Integer> values = counts.computeIfAbsent(wrap(key), k -> new LinkedHashMap<>());
+        if (values.merge(value, 1, Integer::sum) == 1) {
+            views.remove(wrap(key));
+        }
+    }
+
+    /**
+     * Uncounts a value from the given key, dropping it once no element holds it anymore.
+     *
+     * @param key   The key the value was counted under.
+     * @param value The value to uncount.
+     */
+    synchronized void remove(K key, E value) {
+        Map<E, Integer> values = counts.get(wrap(key));
+        if (values == null || !values.containsKey(value)) {
+            return;
+        }
+        if (values.merge(value, -1, Integer::sum) == 0) {
+            values.remove(value);
+            if (values.isEmpty()) {
+                counts.remove(wrap(key));
+            }
+            views.remove(wrap(key));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.safetynet_alerts.repository;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Background task that watches the external data file and reloads the {@link DataRepository} when it changes.
+ * The file is checked on the scheduler thread, so the new dataset is parsed there while requests keep being
+ * served from the current one. A file that cannot be parsed, for instance because it is still being written,
+ * is retried on the next check.
+ */
+@Component
+public class DataFileWatcher {
+
+    private static final Logger logger = LogManager.getLogger(DataFileWatcher.class); // Logger initialization
+    private final DataRepository dataRepository;
+    private final boolean enabled;
+
+    /**
+     * Constructor that initializes the DataFileWatcher with the injected DataRepository.
+     *
+     * @param dataRepository The DataRepository instance injected by Spring.
+     * @param enabled        Whether the data file is watched for changes.
+     */
+    public DataFileWatcher(DataRepository dataRepository, @Value("${safetynet.data.watch:false}") boolean enabled) {
+        this.dataRepository = dataRepository;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Reloads the data file if it changed since it was last loaded.
+     * Failures are logged and the current dataset is kept.
+     */
+    @Scheduled(fixedDelayString = "${safetynet.data.watch-interval:PT10S}")
+    public void checkForChanges() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            dataRepository.reload();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Unable to reload the data file: {}", e.getMessage());
+        }
+    }
+}
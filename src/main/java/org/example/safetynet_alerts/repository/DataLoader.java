@@ -0,0 +1,396 @@
+package org.example.safetynet_alerts.repository;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.safetynet_alerts.models.FireStation;
+import org.example.safetynet_alerts.models.MedicalRecord;
+import org.example.safetynet_alerts.models.Person;
+import org.example.safetynet_alerts.models.SafetyNetData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Component responsible for reading the data file with Jackson's streaming {@link JsonParser}.
+ * The `persons`, `firestations` and `medicalrecords` arrays are read one element at a time and each element
+ * is added directly to the list that the {@link DataRepository} keeps, so no intermediate tree or list is built.
+ * <p>
+ * Streams are always read this way, so the heap only holds the loaded data, whatever the size of the file.
+ * <p>
+ * When more than one thread is configured and the data is a plain file on disk, the file is streamed once without
+ * binding anything to find where each section starts and ends; the sections are then bound in parallel on a
+ * {@link ForkJoinPool}, each task reading its own byte range of the file. Offsets are kept as {@code long} values
+ * and the file is never read in memory as a whole, so files of any size can be loaded in parallel.
+ * The time spent on each section is logged in both modes. Once loaded, the medical records of the file share one
+ * instance of each distinct medication and allergy.
+ * <p>
+ * The `persons` array, usually the largest section, can also be split into chunks of whole elements that are bound
+ * in parallel and merged back in file order, so that its load time scales with the number of cores. Chunks are only
+ * used when loading in parallel; their boundaries are found by the same sequential scan as the sections.
+ */
+@Component
+public class DataLoader {
+
+    private static final Logger logger = LogManager.getLogger(DataLoader.class); // Logger initialization
+    private static final List<String> SECTIONS = List.of("persons", "firestations", "medicalrecords");
+    private static final byte[] ARRAY_START = {'['};
+    private static final byte[] ARRAY_END = {']'};
+    private final ObjectMapper objectMapper; // ObjectMapper injected via constructor
+    private final ObjectReader personReader;
+    private final ObjectReader fireStationReader;
+    private final ObjectReader medicalRecordReader;
+    private final int parallelism; // Number of threads used to load the sections of a file, 1 to stream them on the caller
+    private final int personsChunkSize; // Approximate size in bytes of the chunks of the persons array, 0 to bind it as a whole
+
+    /**
+     * Constructor that initializes the DataLoader with the injected ObjectMapper.
+     *
+     * @param objectMapper The ObjectMapper instance injected by Spring.
+     * @param parallelism      The number of threads used to load the sections of a plain file. 0 uses one thread
+     *                         per available core, 1 streams the file on the calling thread.
+     * @param personsChunkSize The approximate size in bytes of the chunks the persons array is split into when loading
+     *                         in parallel. 0 binds the array as a whole. Only used with more than one thread,
+     *                         a warning is logged otherwise.
+     */
+    public DataLoader(ObjectMapper objectMapper,
+                      @Value("${safetynet.loader.parallelism:1}") int parallelism,
+                      @Value("${safetynet.loader.persons-chunk-size:0}") int personsChunkSize) {
+        this.objectMapper = objectMapper;
+        this.personReader = objectMapper.readerFor(Person.class);
+        this.fireStationReader = objectMapper.readerFor(FireStation.class);
+        this.medicalRecordReader = objectMapper.readerFor(MedicalRecord.class);
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.personsChunkSize = personsChunkSize;
+        if (personsChunkSize > 0 && !isParallel()) {
+            logger.warn("safetynet.loader.persons-chunk-size is ignored: chunks are only parsed in parallel, "
+                    + "which requires safetynet.loader.parallelism greater than 1");
+        }
+    }
+
+    /**
+     * Indicates whether plain files are loaded in parallel.
+     *
+     * @return true if more than one thread is configured.
+     */
+    public boolean isParallel() {
+        return parallelism > 1;
+    }
+
+    /**
+     * Reads the data file from the given stream, streaming the sections one after the other on the calling thread.
+     * Unknown top-level fields are skipped and missing sections are returned as empty lists.
+     *
+     * @param inputStream The stream containing the JSON data. It is not closed by this method.
+     * @return the loaded persons, fire stations and medical records.
+     * @throws IOException if there is an error reading the stream or parsing the data.
+     */
+    public SafetyNetData load(InputStream inputStream) throws IOException {
+        return logLoaded(shareTerms(loadSequentially(inputStream)));
+    }
+
+    /**
+     * Reads the given plain JSON file, binding its sections in parallel when more than one thread is configured,
+     * or streaming it on the calling thread otherwise.
+     *
+     * @param file The path of the uncompressed JSON data file.
+     * @return the loaded persons, fire stations and medical records.
+     * @throws IOException if there is an error reading the file or parsing the data.
+     */
+    public SafetyNetData load(Path file) throws IOException {
+        if (!isParallel()) {
+            try (InputStream inputStream = new BufferedInputStream(Files.newInputStream(file))) {
+                return load(inputStream);
+            }
+        }
+        return logLoaded(shareTerms(loadInParallel(file)));
+    }
+
+    /**
+     * Makes the medical records of one load share a single instance of each distinct medication and allergy, which
+     * are repeated across many records. The instances are only looked up during the load, so nothing outlives it.
+     */
+    private static SafetyNetData shareTerms(SafetyNetData data) {
+        Map<String, String> terms = new HashMap<>();
+        for (MedicalRecord medicalRecord : data.getMedicalrecords()) {
+            shareTerms(medicalRecord.getMedications(), terms);
+            shareTerms(medicalRecord.getAllergies(), terms);
+        }
+        return data;
+    }
+
+    private static void shareTerms(List<String> values, Map<String, String> terms) {
+        if (values != null) {
+            values.replaceAll(value -> value != null ? terms.computeIfAbsent(value, term -> term) : null);
+        }
+    }
+
+    private static SafetyNetData logLoaded(SafetyNetData data) {
+        logger.info("Data loaded: {} persons, {} fire stations, {} medical records",
+                data.getPersons().size(), data.getFirestations().size(), data.getMedicalrecords().size());
+        return data;
+    }
+
+    /**
+     * Streams the sections one after the other on the calling thread.
+     */
+    private SafetyNetData loadSequentially(InputStream inputStream) throws IOException {
+        SafetyNetData data = new SafetyNetData();
+        data.setPersons(new ArrayList<>());
+        data.setFirestations(new ArrayList<>());
+        data.setMedicalrecords(new ArrayList<>());
+
+        try (JsonParser parser = objectMapper.createParser(inputStream)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object at the root of the data file");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String section = parser.currentName();
+                parser.nextToken();
+                long start = System.nanoTime();
+                switch (section) {
+                    case "persons" -> readArray(parser, personReader, data.getPersons());
+                    case "firestations" -> readArray(parser, fireStationReader, data.getFirestations());
+                    case "medicalrecords" -> readArray(parser, medicalRecordReader, data.getMedicalrecords());
+                    default -> {
+                        parser.skipChildren();
+                        continue;
+                    }
+                }
+                logSectionTiming(section, start);
+            }
+        }
+        return data;
+    }
+
+    /**
+     * Finds the byte range of each section, then binds the sections in parallel.
+     */
+    private SafetyNetData loadInParallel(Path file) throws IOException {
+        Map<String, List<long[]>> ranges = locateSections(file);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            ForkJoinTask<List<Person>> persons = pool.submit(() -> personsChunkSize > 0
+                    ? readChunks(file, ranges.get("persons"), personReader, "persons")
+                    : readSection(file, ranges.get("persons"), personReader, "persons"));
+            ForkJoinTask<List<FireStation>> fireStations = pool.submit(
+                    () -> readSection(file, ranges.get("firestations"), fireStationReader, "firestations"));
+            ForkJoinTask<List<MedicalRecord>> medicalRecords = pool.submit(
+                    () -> readSection(file, ranges.get("medicalrecords"), medicalRecordReader, "medicalrecords"));
+
+            SafetyNetData data = new SafetyNetData();
+            data.setPersons(await(persons));
+            data.setFirestations(await(fireStations));
+            data.setMedicalrecords(await(medicalRecords));
+            return data;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Streams the top-level object without binding anything and records the byte range of each known section.
+     * A section appearing several times gets several ranges, read in file order. When chunking is enabled,
+     * the ranges of the persons section are the chunks of its elements instead, without the enclosing brackets.
+     */
+    private Map<String, List<long[]>> locateSections(Path file) throws IOException {
+        long start = System.nanoTime();
+        Map<String, List<long[]>> ranges = new HashMap<>();
+        for (String section : SECTIONS) {
+            ranges.put(section, new ArrayList<>());
+        }
+
+        try (JsonParser parser = objectMapper.createParser(Files.newInputStream(file))) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected a JSON object at the root of the data file");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String section = parser.currentName();
+                parser.nextToken();
+                List<long[]> sectionRanges = ranges.get(section);
+                if (sectionRanges == null) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (parser.currentToken() != JsonToken.START_ARRAY) {
+                    throw new JsonParseException(parser, "Expected an array for section " + section);
+                }
+                if (section.equals("persons") && personsChunkSize > 0) {
+                    splitIntoChunks(parser, sectionRanges);
+                    continue;
+                }
+                long offset = parser.currentTokenLocation().getByteOffset();
+                parser.skipChildren();
+                long end = parser.currentTokenLocation().getByteOffset() + 1;
+                sectionRanges.add(new long[]{offset, end - offset});
+            }
+        }
+
+        logger.info("Sections located in {} ms", (System.nanoTime() - start) / 1_000_000);
+        return ranges;
+    }
+
+    /**
+     * Walks the elements of the array on which the parser is positioned and cuts it into chunks of whole elements
+     * of about {@link #personsChunkSize} bytes. A chunk runs up to the start of the next one, so it may end with the
+     * comma separating them, which {@link #readChunk} drops.
+     */
+    private void splitIntoChunks(JsonParser parser, List<long[]> chunks) throws IOException {
+        long chunkStart = -1;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            long elementStart = parser.currentTokenLocation().getByteOffset();
+            if (chunkStart < 0) {
+                chunkStart = elementStart;
+            } else if (elementStart - chunkStart >= personsChunkSize) {
+                chunks.add(new long[]{chunkStart, elementStart - chunkStart});
+                chunkStart = elementStart;
+            }
+            parser.skipChildren();
+        }
+        if (chunkStart >= 0) {
+            long arrayEnd = parser.currentTokenLocation().getByteOffset();
+            chunks.add(new long[]{chunkStart, arrayEnd - chunkStart});
+        }
+    }
+
+    /**
+     * Binds the chunks of one section in parallel and merges them in file order.
+     * Must be called from a task of the loading pool, on which the chunks are forked.
+     */
+    private <T> List<T> readChunks(Path file, List<long[]> chunks, ObjectReader reader, String section)
+            throws IOException {
+        long start = System.nanoTime();
+        List<ForkJoinTask<List<T>>> tasks = new ArrayList<>(chunks.size());
+        for (long[] chunk : chunks) {
+            tasks.add(ForkJoinTask.adapt(() -> this.<T>readChunk(file, chunk, reader)).fork());
+        }
+        List<T> target = new ArrayList<>();
+        for (ForkJoinTask<List<T>> task : tasks) {
+            target.addAll(await(task));
+        }
+        logger.info("Section {} loaded from {} chunks in {} ms", section, chunks.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return target;
+    }
+
+    /**
+     * Reads the bytes of one chunk, drops the separator after its last element and binds its elements, read between
+     * brackets so that they form a JSON array of their own. Only the chunk, about {@link #personsChunkSize} bytes,
+     * is held in memory.
+     */
+    private <T> List<T> readChunk(Path file, long[] chunk, ObjectReader reader) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(chunk[1]));
+        try (FileChannel channel = FileChannel.open(file)) {
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, chunk[0] + buffer.position()) < 0) {
+                    throw new EOFException("Data file truncated while loading");
+                }
+            }
+        }
+        byte[] content = buffer.array();
+        int length = content.length;
+        while (length > 0 && Character.isWhitespace(content[length - 1])) {
+            length--;
+        }
+        if (length > 0 && content[length - 1] == ',') {
+            length--;
+        }
+
+        InputStream array = new SequenceInputStream(Collections.enumeration(List.of(
+                new ByteArrayInputStream(ARRAY_START),
+                new ByteArrayInputStream(content, 0, length),
+                new ByteArrayInputStream(ARRAY_END))));
+        List<T> elements = new ArrayList<>();
+        try (JsonParser parser = objectMapper.createParser(array)) {
+            parser.nextToken();
+            readArray(parser, reader, elements);
+        }
+        return elements;
+    }
+
+    /**
+     * Binds the elements of one section from its byte ranges, streaming each range from its own position in the file.
+     */
+    private <T> List<T> readSection(Path file, List<long[]> ranges, ObjectReader reader, String section)
+            throws IOException {
+        long start = System.nanoTime();
+        List<T> target = new ArrayList<>();
+        for (long[] range : ranges) {
+            try (FileChannel channel = FileChannel.open(file);
+                 JsonParser parser = objectMapper.createParser(Channels.newInputStream(channel.position(range[0])))) {
+                parser.nextToken();
+                readArray(parser, reader, target);
+            }
+        }
+        logSectionTiming(section, start);
+        return target;
+    }
+
+    private static void logSectionTiming(String section, long start) {
+        logger.info("Section {} loaded in {} ms on {}", section, (System.nanoTime() - start) / 1_000_000,
+                Thread.currentThread().getName());
+    }
+
+    /**
+     * Waits for a section task and rethrows its parsing error.
+     */
+    private static <T> T await(ForkJoinTask<T> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while loading the data file");
+        } catch (ExecutionException e) {
+            // The pool wraps checked exceptions thrown by a task, so the parsing error may be nested
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException ioException) {
+                    throw ioException;
+                }
+            }
+            throw new IllegalStateException("Unable to load the data file", e.getCause());
+        }
+    }
+
+    /**
+     * Reads the elements of the array on which the parser is positioned and adds them to the target list.
+     *
+     * @param parser The parser positioned on the {@code START_ARRAY} token.
+     * @param reader The reader used to bind each element.
+     * @param target The list receiving the elements.
+     * @param <T>    The type of the elements.
+     * @throws IOException if the current value is not an array or if an element cannot be parsed.
+     */
+    private static <T> void readArray(JsonParser parser, ObjectReader reader, List<T> target) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected an array for section " + parser.currentName());
+        }
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            target.add(reader.readValue(parser));
+        }
+    }
+}
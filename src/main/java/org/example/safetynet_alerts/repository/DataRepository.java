@@ -0,0 +1,865 @@
+package org.example.safetynet_alerts.repository;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.safetynet_alerts.models.AddressMatch;
+import org.example.safetynet_alerts.models.FireStation;
+import org.example.safetynet_alerts.models.MedicalRecord;
+import org.example.safetynet_alerts.models.Person;
+import org.example.safetynet_alerts.models.SafetyNetData;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Repository;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Central in-memory store of the application data.
+ * The data file is streamed once by the {@link DataLoader} into a {@link Dataset} shared by every service,
+ * so that a change made through one endpoint is visible to all the others. The file is either the `data.json`
+ * bundled in the application or a file configured on the filesystem, which may be gzip-compressed.
+ * <p>
+ * When snapshots are enabled, the loaded data is also written as a binary snapshot by the {@link SnapshotStore},
+ * and the next start reads that snapshot instead of parsing the JSON file again, as long as the file has not changed.
+ * <p>
+ * Every write goes through this repository. Writes are applied one at a time and, when the {@link Journal} is enabled,
+ * recorded in it in the same order; the calling thread then waits until its entry is on disk. The journal is replayed
+ * on top of the loaded data on startup, so writes survive a restart. Each snapshot written afterwards truncates
+ * the journal up to the point it contains, which keeps the replay short however long the service has been running.
+ * If the journal cannot be written, the failed writes are reported to their callers and every further write is
+ * refused until an operator reloads the data file, by replacing or touching it while it is watched, or restarts.
+ * <p>
+ * When the data file changes, {@link #reload()} builds a new dataset without holding any lock and publishes it
+ * with a single reference swap. Lookups through the indexes never wait. The full lists of persons, fire stations and
+ * medical records are immutable copies taken while holding the repository lock, so reading one may wait for a write
+ * in progress, but never observes it half applied; the copy is shared by the readers until the next write.
+ * <p>
+ * The current date used to classify persons as children or adults is read from an injected {@link Clock},
+ * and {@link #rollOverAgeBrackets()} moves the classification to the new date after midnight.
+ */
+@Repository
+public class DataRepository {
+
+    private static final Logger logger = LogManager.getLogger(DataRepository.class); // Logger initialization
+    private static final int GZIP_MAGIC = 0x8b1f; // First two bytes of a gzip stream, read as a little-endian short
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private final DataLoader dataLoader; // Null when the repository is not backed by a data file
+    private final Resource source; // Null when the repository is not backed by a data file
+    private final SnapshotStore snapshotStore; // Null when the repository is not backed by a data file
+    private final Journal journal; // Null when the repository is not backed by a data file
+    private final Object snapshotLock = new Object(); // Serializes snapshot writes and reloads without holding back the other writes
+    private final Clock clock; // Source of the current date for the age classification
+    private volatile Dataset dataset; // Current dataset, only replaced while holding the repository lock
+    private long snapshotSequence; // Journal sequence number contained in the last snapshot, guarded by snapshotLock
+    private List<JournalEntry> reloadBacklog; // Writes applied while a reload reads the file, null otherwise, guarded by the repository lock
+
+    /**
+     * Constructor that initializes the DataRepository from the data file.
+     * A fresh snapshot is read when available; otherwise the file is streamed through the injected DataLoader.
+     * The journal is then replayed on top of the loaded data, and a new snapshot is written if anything changed.
+     *
+     * @param dataLoader    The DataLoader instance injected by Spring.
+     * @param snapshotStore The SnapshotStore instance injected by Spring.
+     * @param journal       The Journal instance injected by Spring.
+     * @param dataPath      The filesystem path of the data file, plain or gzip-compressed.
+     *                      An empty value reads the `data.json` file bundled in the application.
+     * @throws IllegalArgumentException if there is an error loading the data from the JSON file or the journal.
+     */
+    public DataRepository(DataLoader dataLoader, SnapshotStore snapshotStore, Journal journal, String dataPath) {
+        this(dataLoader, snapshotStore, journal, dataPath, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor that initializes the DataRepository from the data file, reading the current date from the given clock.
+     *
+     * @param dataLoader    The DataLoader instance injected by Spring.
+     * @param snapshotStore The SnapshotStore instance injected by Spring.
+     * @param journal       The Journal instance injected by Spring.
+     * @param dataPath      The filesystem path of the data file, plain or gzip-compressed.
+     *                      An empty value reads the `data.json` file bundled in the application.
+     * @param clock         The clock giving the current date, injected by Spring.
+     * @throws IllegalArgumentException if there is an error loading the data from the JSON file or the journal.
+     */
+    @Autowired
+    public DataRepository(DataLoader dataLoader, SnapshotStore snapshotStore, Journal journal,
+                          @Value("${safetynet.data.path:}") String dataPath, Clock clock) {
+        this.clock = clock;
+        this.dataLoader = dataLoader;
+        this.source = dataPath == null || dataPath.isBlank()
+                ? new ClassPathResource("data.json")
+                : new FileSystemResource(dataPath);
+        this.snapshotStore = snapshotStore;
+        this.journal = journal;
+        long sourceLength = contentLength(source);
+        long sourceLastModified = lastModified(source);
+
+        Snapshot snapshot = snapshotStore.read(sourceLength, sourceLastModified);
+        SafetyNetData data;
+        if (snapshot != null) {
+            data = snapshot.getData();
+        } else {
+            try {
+                data = loadData();
+            } catch (IOException e) {
+                logger.error("Error loading JSON data: {}", e.getMessage());
+                throw new IllegalArgumentException("Unable to load JSON data", e);
+            }
+        }
+        this.dataset = new Dataset(data, sourceLength, sourceLastModified, today());
+        this.snapshotSequence = snapshot != null ? snapshot.getJournalSequence() : 0;
+
+        int replayed = 0;
+        if (journal.isEnabled()) {
+            try {
+                replayed = journal.open(snapshotSequence, entry -> apply(dataset, entry));
+            } catch (IOException e) {
+                logger.error("Error replaying journal: {}", e.getMessage());
+                throw new IllegalArgumentException("Unable to replay journal", e);
+            }
+        }
+
+        if ((snapshot == null || replayed > 0) && snapshotStore.isEnabled()) {
+            try {
+                saveSnapshot();
+            } catch (IOException e) {
+                logger.warn("Unable to write snapshot after load: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Constructor that initializes the DataRepository with already loaded data.
+     * Writes made to such a repository are kept in memory only.
+     *
+     * @param persons        The list of persons.
+     * @param fireStations   The list of fire stations.
+     * @param medicalRecords The list of medical records.
+     */
+    public DataRepository(List<Person> persons, List<FireStation> fireStations, List<MedicalRecord> medicalRecords) {
+        this(persons, fireStations, medicalRecords, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructor that initializes the DataRepository with already loaded data, reading the current date
+     * from the given clock. Writes made to such a repository are kept in memory only.
+     *
+     * @param persons        The list of persons.
+     * @param fireStations   The list of fire stations.
+     * @param medicalRecords The list of medical records.
+     * @param clock          The clock giving the current date.
+     */
+    public DataRepository(List<Person> persons, List<FireStation> fireStations, List<MedicalRecord> medicalRecords,
+                          Clock clock) {
+        this.clock = clock;
+        this.dataLoader = null;
+        this.source = null;
+        this.snapshotStore = null;
+        this.journal = null;
+        this.dataset = new Dataset(persons, fireStations, medicalRecords, -1, -1, today());
+    }
+
+    private int today() {
+        return (int) LocalDate.now(clock).toEpochDay();
+    }
+
+    /**
+     * Moves the classification of the persons as children or adults to the current date of the clock.
+     * Only the children who turned 19 since the previous date are reclassified.
+     *
+     * @return the number of persons who became adults, or -1 if the clock moved back and every person was
+     *         classified again.
+     */
+    public int rollOverAgeBrackets() {
+        int today = today();
+        synchronized (this) {
+            return dataset.rollOver(today);
+        }
+    }
+
+    /**
+     * Loads the data file into a {@link SafetyNetData} object. The file is streamed, unless the loader is configured
+     * to load in parallel and the data is a plain file on disk, whose sections can then be read from their own positions.
+     *
+     * @return the loaded data.
+     * @throws IOException if there is an error reading the file or parsing the data.
+     */
+    private SafetyNetData loadData() throws IOException {
+        try (InputStream inputStream = new BufferedInputStream(source.getInputStream(), BUFFER_SIZE)) {
+            boolean gzip = isGzip(inputStream);
+            if (!gzip && dataLoader.isParallel() && source.isFile()) {
+                return dataLoader.load(source.getFile().toPath());
+            }
+            return dataLoader.load(gzip ? new GZIPInputStream(inputStream, BUFFER_SIZE) : inputStream);
+        }
+    }
+
+    /**
+     * Tells whether the stream is gzip-compressed, recognized by its first bytes rather than by the file name,
+     * without consuming them.
+     *
+     * @param inputStream a stream supporting mark and reset.
+     * @return true if the stream starts with the gzip magic number.
+     * @throws IOException if the stream cannot be read.
+     */
+    private static boolean isGzip(InputStream inputStream) throws IOException {
+        inputStream.mark(2);
+        int magic = inputStream.read() | (inputStream.read() << 8);
+        inputStream.reset();
+        return magic == GZIP_MAGIC;
+    }
+
+    private static long contentLength(Resource source) {
+        try {
+            return source.contentLength();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private static long lastModified(Resource source) {
+        try {
+            return source.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Reloads the data file if it changed since the current dataset was loaded.
+     * The new dataset is built on the calling thread while readers and writers keep using the current one,
+     * then published atomically. The reloaded file replaces the data, including the writes made before the reload
+     * started. The writes made while the file is read are applied to the current dataset and kept aside, then applied
+     * again to the new dataset before it is published, so that none of them is lost. The journal is truncated up to
+     * the writes made before the reload, so that the next start does not replay them on top of the new file. When
+     * snapshots are enabled, a snapshot of the new dataset, which holds every write journaled so far, is then written
+     * and the journal truncated up to it.
+     * A journal stopped by a write failure drops the writes that did not reach the disk and accepts writes again.
+     *
+     * @return true if a new dataset was published, false if the file did not change.
+     * @throws IOException if the file cannot be read or parsed, in which case the current dataset is kept.
+     */
+    public boolean reload() throws IOException {
+        if (source == null) {
+            return false;
+        }
+        synchronized (snapshotLock) {
+            long sourceLength = contentLength(source);
+            long sourceLastModified = lastModified(source);
+            Dataset current = dataset;
+            if (sourceLength == current.getSourceLength() && sourceLastModified == current.getSourceLastModified()) {
+                return false;
+            }
+
+            long reloadSequence; // Last journal entry replaced by the file, the later ones are kept in the backlog
+            synchronized (this) {
+                reloadBacklog = new ArrayList<>();
+                reloadSequence = journal.isEnabled() ? journal.getLastSequence() : 0;
+            }
+            boolean recovered = false;
+            try {
+                Dataset reloaded = new Dataset(loadData(), sourceLength, sourceLastModified, today());
+                synchronized (this) {
+                    if (journal.isEnabled() && journal.hasFailed()) {
+                        // The writes that did not reach the disk are replaced by the file like the others
+                        journal.recover(journal.getLastSequence(), entry -> { });
+                        recovered = true;
+                        logger.warn("Journal accepts writes again after the reload of the data file");
+                    }
+                    for (JournalEntry entry : reloadBacklog) {
+                        apply(reloaded, entry);
+                    }
+                    dataset = reloaded;
+                    logger.info("Data file {} reloaded, {} writes made meanwhile applied again", source.getDescription(),
+                            reloadBacklog.size());
+                }
+            } finally {
+                synchronized (this) {
+                    reloadBacklog = null;
+                }
+            }
+
+            if (journal.isEnabled()) {
+                // The writes made before the reload are replaced by the file and must not be replayed on the next start
+                if (!recovered) {
+                    journal.sync(reloadSequence);
+                }
+                journal.truncate(reloadSequence);
+            }
+            if (snapshotStore.isEnabled()) {
+                writeSnapshot();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Writes a binary snapshot of the current data, so that the next start does not need to parse the JSON file
+     * nor replay the journal entries it contains. The journal is then truncated up to the snapshot.
+     * The data is copied while writes are held back, then written to disk while writes continue.
+     *
+     * @throws IOException if the snapshot cannot be written.
+     * @throws IllegalStateException if snapshots are disabled.
+     */
+    public void saveSnapshot() throws IOException {
+        if (snapshotStore == null) {
+            throw new IllegalStateException("Snapshots are disabled");
+        }
+        synchronized (snapshotLock) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Compacts the journal into a new snapshot if writes were recorded since the last one.
+     * Does nothing when snapshots or the journal are disabled.
+     *
+     * @return true if a snapshot was written.
+     * @throws IOException if the snapshot cannot be written or the journal cannot be truncated.
+     */
+    public boolean compact() throws IOException {
+        if (snapshotStore == null || !snapshotStore.isEnabled() || !journal.isEnabled()) {
+            return false;
+        }
+        synchronized (snapshotLock) {
+            if (journal.getLastSequence() == snapshotSequence) {
+                return false;
+            }
+            writeSnapshot();
+            return true;
+        }
+    }
+
+    /**
+     * Copies the data at a consistent point, writes it as a snapshot and truncates the journal up to that point.
+     * Must be called while holding the snapshot lock.
+     */
+    private void writeSnapshot() throws IOException {
+        Dataset current;
+        SafetyNetData data;
+        long journalSequence;
+        synchronized (this) {
+            current = dataset;
+            data = current.copy();
+            journalSequence = journal.isEnabled() ? journal.getLastSequence() : 0;
+        }
+        if (journalSequence > 0) {
+            journal.sync(journalSequence); // Only writes forced to disk may be saved
+        }
+        snapshotStore.write(new Snapshot(data, journalSequence), current.getSourceLength(), current.getSourceLastModified());
+        snapshotSequence = journalSequence;
+        if (journal.isEnabled()) {
+            journal.truncate(journalSequence);
+        }
+    }
+
+    /**
+     * Returns the current dataset. Callers reading several collections should read them from one dataset,
+     * so that a reload happening in between cannot mix two versions of the data.
+     *
+     * @return the current dataset.
+     */
+    public Dataset getDataset() {
+        return dataset;
+    }
+
+    /**
+     * Returns the list of persons of the current dataset.
+     *
+     * @return an immutable copy of the list of all persons, which later writes do not affect.
+     */
+    public List<Person> getPersons() {
+        synchronized (this) {
+            return dataset.getPersons();
+        }
+    }
+
+    /**
+     * Returns the persons of the current dataset with the given email, looked up in the email index.
+     *
+     * @param email the email to look up.
+     * @return an immutable list of the persons, empty if none has the email.
+     */
+    public List<Person> getPersonsByEmail(String email) {
+        return dataset.getPersonsByEmail(email);
+    }
+
+    /**
+     * Returns the distinct emails of the persons of the current dataset living in the given city.
+     *
+     * @param city the city to look up.
+     * @return an immutable list of the emails, empty if nobody lives in the city.
+     */
+    public List<String> getEmailsByCity(String city) {
+        return dataset.getEmailsByCity(city);
+    }
+
+    /**
+     * Returns the persons of the current dataset with the given last name, ignoring case.
+     *
+     * @param lastName the last name to look up.
+     * @return an immutable list of the persons, empty if none has the last name.
+     */
+    public List<Person> getPersonsByLastName(String lastName) {
+        return dataset.getPersonsByLastName(lastName);
+    }
+
+    /**
+     * Returns the persons of the current dataset whose last name starts with the given prefix, ignoring case.
+     *
+     * @param prefix the beginning of the last name to look up.
+     * @return a list of the persons sorted by last name, empty if no last name starts with the prefix.
+     */
+    public List<Person> getPersonsByLastNamePrefix(String prefix) {
+        return dataset.getPersonsByLastNamePrefix(prefix);
+    }
+
+    /**
+     * Searches the addresses of the current dataset that are similar to the given text, in the trigram index.
+     *
+     * @param query the text to look for, possibly misspelled or incomplete.
+     * @param limit the maximum number of addresses to return.
+     * @return the most similar addresses, best first, empty if none is similar enough.
+     */
+    public List<AddressMatch> searchAddresses(String query, int limit) {
+        return dataset.searchAddresses(query, limit);
+    }
+
+    /**
+     * Returns the current day of the age classification, which follows the clock of the repository.
+     * Ages computed for this day agree with the children listed by {@link #getChildrenByAddress(String)}.
+     *
+     * @return the epoch day of the current date.
+     */
+    public int getToday() {
+        return dataset.getToday();
+    }
+
+    /**
+     * Returns the residents of the given address who are children, aged 18 or less, looked up in the age classification.
+     *
+     * @param address the address to look up.
+     * @return an immutable list of the children, empty if none lives there.
+     */
+    public List<Person> getChildrenByAddress(String address) {
+        return dataset.getChildrenByAddress(address);
+    }
+
+    /**
+     * Returns the persons of the current dataset living at the given address, looked up in the address index.
+     *
+     * @param address the address to look up.
+     * @return an immutable list of the residents, empty if nobody lives there.
+     */
+    public List<Person> getPersonsByAddress(String address) {
+        return dataset.getPersonsByAddress(address);
+    }
+
+    /**
+     * Returns the medical record linked to a person of the current dataset.
+     *
+     * @param person a person returned by this repository.
+     * @return the medical record with the same first and last name, or null if the person has none.
+     */
+    public MedicalRecord getMedicalRecord(Person person) {
+        return dataset.getMedicalRecord(person);
+    }
+
+    /**
+     * Returns the persons of the current dataset who have no medical record.
+     *
+     * @return an unmodifiable, live view of the persons without a medical record.
+     */
+    public Set<Person> getOrphans() {
+        return dataset.getOrphans();
+    }
+
+    /**
+     * Returns the list of fire stations of the current dataset.
+     *
+     * @return an immutable copy of the list of all fire stations, which later writes do not affect.
+     */
+    public List<FireStation> getFireStations() {
+        synchronized (this) {
+            return dataset.getFireStations();
+        }
+    }
+
+    /**
+     * Returns the fire stations of the current dataset with the given number, looked up in the station index.
+     *
+     * @param station the station number to look up.
+     * @return an immutable list of the fire stations, one per covered address, empty if the number is unknown.
+     */
+    public List<FireStation> getFireStationsByNumber(int station) {
+        return dataset.getFireStationsByNumber(station);
+    }
+
+    /**
+     * Returns the fire stations of the current dataset covering the given address, looked up in the address index.
+     *
+     * @param address the address to look up.
+     * @return an immutable list of the fire stations, empty if the address is not covered.
+     */
+    public List<FireStation> getFireStationsByAddress(String address) {
+        return dataset.getFireStationsByAddress(address);
+    }
+
+    /**
+     * Returns the list of medical records of the current dataset.
+     *
+     * @return an immutable copy of the list of all medical records, which later writes do not affect.
+     */
+    public List<MedicalRecord> getMedicalRecords() {
+        synchronized (this) {
+            return dataset.getMedicalRecords();
+        }
+    }
+
+    /**
+     * Returns the medical record of the current dataset for the given person name, looked up in the name index.
+     *
+     * @param firstName the first name of the person.
+     * @param lastName  the last name of the person.
+     * @return the medical record, or null if there is none.
+     */
+    public MedicalRecord getMedicalRecordByName(String firstName, String lastName) {
+        return dataset.getMedicalRecordByName(firstName, lastName);
+    }
+
+    /**
+     * Returns the medical records of the current dataset with the given allergy and medication, looked up in the
+     * allergy and medication indexes.
+     *
+     * @param allergy    the allergy to look up, or null to match any allergy.
+     * @param medication the medication to look up, with or without its dose, or null to match any medication.
+     * @return the matching medical records, empty if none matches or if both terms are null.
+     */
+    public List<MedicalRecord> getMedicalRecordsByTerms(String allergy, String medication) {
+        return dataset.getMedicalRecordsByTerms(allergy, medication);
+    }
+
+    /**
+     * Returns the persons of the current dataset linked to the given medical record.
+     *
+     * @param medicalRecord a medical record returned by this repository.
+     * @return the persons whose medical record it is, empty if none.
+     */
+    public List<Person> getPersonsByMedicalRecord(MedicalRecord medicalRecord) {
+        return dataset.getPersonsByMedicalRecord(medicalRecord);
+    }
+
+    /**
+     * Copies the sections of the current dataset at a single point, for callers that walk the whole data while
+     * writes continue. The copy is made while holding the repository lock, so that it never observes a write in
+     * progress, and later writes or reloads do not affect it. Only the references to the elements are copied.
+     *
+     * @return a copy of the persons, fire stations and medical records of the current dataset.
+     */
+    public SafetyNetData copyData() {
+        synchronized (this) {
+            return dataset.copy();
+        }
+    }
+
+    /**
+     * Adds a person if no person with the same email already exists.
+     *
+     * @param person the person to add.
+     * @return true if the person was added, false if a person with the same email already exists.
+     */
+    public boolean addPerson(Person person) {
+        long sequence;
+        synchronized (this) {
+            checkWritable();
+            if (!dataset.addPerson(person)) {
+                return false;
+            }
+            sequence = record(JournalEntry.addPerson(person));
+        }
+        awaitDurable(sequence);
+        return true;
+    }
+
+    /**
+     * Replaces the first person with the given email.
+     *
+     * @param email         the email of the person to replace.
+     * @param updatedPerson the new person.
+     * @return the new person, or null if no person has the given email.
+     */
+    public Person updatePerson(String email, Person updatedPerson) {
+        long sequence;
+        synchronized (this) {
+            checkWritable();
+            if (dataset.updatePerson(email, updatedPerson) == null) {
+                return null;
+            }
+            sequence = record(JournalEntry.updatePerson(email, updatedPerson));
+        }
+        awaitDurable(sequence);
+        return updatedPerson;
+    }
+
+    /**
+     * Deletes every person with the given email.
+     *
+     * @param email the email of the persons to delete.
+     * @return true if at least one person was deleted.
+     */
+    public boolean deletePerson(String email) {
+        long sequence;
+        synchronized (this) {
+            checkWritable();
+            if (!dataset.deletePerson(email)) {
+                return false;
+            }
+            sequence = record(JournalEntry.deletePerson(email));
+        }
+        awaitDurable(sequence);
+        return true;
+    }
+
+    /**
+     * Adds a fire station if the same address and station number are not already mapped.
+     *
+     * @param fireStation the fire station to add.
+     * @return true if the fire station was added, false if it already exists.
+     */
+    public boolean addFireStation(FireStation fireStation) {
+        long sequence;
+        synchronized (this) {
+            checkWritable();
+            if (!dataset.addFireStation(fireStation)) {
+                return false;
+            }
+            sequence = record(JournalEntry.addFireStation(fireStation));
+        }
+        awaitDurable(sequence);
+        return true;
+    }
+
+    /**
+     * Replaces the fire station with the given address and station number.
+     *
+     * @param address            the address of the fire station to replace.
+     * @param station            the station number of the fire station to replace.
+     * @param updatedFireStation the new fire station.
+     * @return the new fire station, or null if no fire station matches.
+     */
+    public FireStation updateFireStation(String address, int station, FireStation updatedFireStation) {
+        long sequence;
+        synchronized (this) {
+            checkWritable();
+            if (dataset.updateFireStation(address, station, updatedFireStation) == null) {
+                return null;
+            }
+            sequence = record(JournalEntry.updateFireStation(address, station, updatedFireStation));
+        }
+        awaitDurable(sequence);
+        return updatedFireStation;
+    }
+
+    /**
+     * Deletes the fire station with the given address and station number.
+     *
+     * @param address the address of the fire station to delete.
+     * @param station the station number of the fire station to delete.
+     * @return true if the fire station was deleted.
+     */
+    public boolean deleteFireStation(String address, int station) {
+        long sequence;
+        synchronized (this) {
+            checkWritable();
+            if (!dataset.deleteFireStation(address, station)) {
+                return false;
+            }
+            sequence = record(JournalEntry.deleteFireStation(address, station));
+        }
+        awaitDurable(sequence);
+        return true;
+    }
+
+    /**
+     * Adds a medical record if no record with the same first and last name already exists.
+     *
+     * @param medicalRecord the medical record to add.
+     * @return true if the medical record was added, false if it already exists.
+     */
+    public boolean addMedicalRecord(MedicalRecord medicalRecord) {
+        long sequence;
+        synchronized (this) {
+            checkWritable();
+            if (!dataset.addMedicalRecord(medicalRecord)) {
+                return false;
+            }
+            sequence = record(JournalEntry.addMedicalRecord(medicalRecord));
+        }
+        awaitDurable(sequence);
+        return true;
+    }
+
+    /**
+     * Replaces the medical record with the given first and last name.
+     *
+     * @param firstName            the first name of the medical record to replace.
+     * @param lastName             the last name of the medical record to replace.
+     * @param updatedMedicalRecord the new medical record.
+     * @return the new medical record, or null if no record matches.
+     */
+    public MedicalRecord updateMedicalRecord(String firstName, String lastName, MedicalRecord updatedMedicalRecord) {
+        long sequence;
+        synchronized (this) {
+            checkWritable();
+            if (dataset.updateMedicalRecord(firstName, lastName, updatedMedicalRecord) == null) {
+                return null;
+            }
+            sequence = record(JournalEntry.updateMedicalRecord(firstName, lastName, updatedMedicalRecord));
+        }
+        awaitDurable(sequence);
+        return updatedMedicalRecord;
+    }
+
+    /**
+     * Deletes the medical records with the given first and last name.
+     *
+     * @param firstName the first name of the medical record to delete.
+     * @param lastName  the last name of the medical record to delete.
+     * @return true if a medical record was deleted.
+     */
+    public boolean deleteMedicalRecord(String firstName, String lastName) {
+        long sequence;
+        synchronized (this) {
+            checkWritable();
+            if (!dataset.deleteMedicalRecord(firstName, lastName)) {
+                return false;
+            }
+            sequence = record(JournalEntry.deleteMedicalRecord(firstName, lastName));
+        }
+        awaitDurable(sequence);
+        return true;
+    }
+
+    /**
+     * Adds a batch of persons, fire stations and medical records under a single lock acquisition,
+     * then waits once for the journal to make the whole batch durable. The allergies and medications of the batch
+     * are indexed together at the end, with one copy per term.
+     * Each record is checked for duplicates as {@link #addPerson(Person)}, {@link #addFireStation(FireStation)}
+     * and {@link #addMedicalRecord(MedicalRecord)} would, including against the records added before it in the batch.
+     *
+     * @param records the records to add, each one a {@link Person}, a {@link FireStation} or a {@link MedicalRecord}.
+     * @return for each record, true if it was added, false if it already exists.
+     * @throws IllegalArgumentException if a record has another type.
+     */
+    public boolean[] addAll(List<?> records) {
+        for (Object record : records) {
+            if (!(record instanceof Person || record instanceof FireStation || record instanceof MedicalRecord)) {
+                throw new IllegalArgumentException("Unsupported record type: " + record);
+            }
+        }
+        boolean[] added = new boolean[records.size()];
+        long sequence = 0;
+        synchronized (this) {
+            checkWritable();
+            Dataset dataset = this.dataset;
+            dataset.beginBulk();
+            try {
+                for (int i = 0; i < added.length; i++) {
+                    Object record = records.get(i);
+                    JournalEntry entry;
+                    if (record instanceof Person person) {
+                        added[i] = dataset.addPerson(person);
+                        entry = JournalEntry.addPerson(person);
+                    } else if (record instanceof FireStation fireStation) {
+                        added[i] = dataset.addFireStation(fireStation);
+                        entry = JournalEntry.addFireStation(fireStation);
+                    } else {
+                        MedicalRecord medicalRecord = (MedicalRecord) record;
+                        added[i] = dataset.addMedicalRecord(medicalRecord);
+                        entry = JournalEntry.addMedicalRecord(medicalRecord);
+                    }
+                    if (added[i]) {
+                        sequence = record(entry);
+                    }
+                }
+            } finally {
+                dataset.endBulk();
+            }
+        }
+        awaitDurable(sequence);
+        return added;
+    }
+
+    /**
+     * Appends an applied write to the journal, and keeps it for the new dataset while a reload reads the file.
+     * Must be called while holding the repository lock.
+     *
+     * @return the sequence number of the entry, or 0 when the journal is disabled.
+     */
+    private long record(JournalEntry entry) {
+        if (reloadBacklog != null) {
+            reloadBacklog.add(entry);
+        }
+        return journal != null && journal.isEnabled() ? journal.append(entry) : 0;
+    }
+
+    /**
+     * Refuses a write while the journal is stopped by a write failure, before the write is applied.
+     * Must be called while holding the repository lock.
+     *
+     * @throws UncheckedIOException if the journal has failed and the data was not reloaded since.
+     */
+    private void checkWritable() {
+        if (journal != null && journal.isEnabled() && journal.hasFailed()) {
+            throw new UncheckedIOException("Writes are refused until the data file is reloaded",
+                    new IOException("The journal is unavailable after a write failure"));
+        }
+    }
+
+    /**
+     * Waits until the journal entry with the given sequence number is on disk. If the journal cannot be written,
+     * the failure is reported to the caller; the write stays applied in memory, and the journal refuses every
+     * further write, until the data file is reloaded.
+     */
+    private void awaitDurable(long sequence) {
+        if (sequence == 0) {
+            return;
+        }
+        try {
+            journal.sync(sequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write the journal", e);
+        }
+    }
+
+    /**
+     * Applies a journal entry replayed on startup, or a write made during a reload, to the given dataset.
+     *
+     * @param current the dataset to apply the entry to.
+     * @param entry   the entry to apply.
+     */
+    private static void apply(Dataset current, JournalEntry entry) {
+        switch (entry.getOperation()) {
+            case ADD_PERSON -> current.addPerson(entry.getPerson());
+            case UPDATE_PERSON -> current.updatePerson(entry.getEmail(), entry.getPerson());
+            case DELETE_PERSON -> current.deletePerson(entry.getEmail());
+            case ADD_FIRE_STATION -> current.addFireStation(entry.getFireStation());
+            case UPDATE_FIRE_STATION -> current.updateFireStation(entry.getAddress(), entry.getStation(), entry.getFireStation());
+            case DELETE_FIRE_STATION -> current.deleteFireStation(entry.getAddress(), entry.getStation());
+            case ADD_MEDICAL_RECORD -> current.addMedicalRecord(entry.getMedicalRecord());
+            case UPDATE_MEDICAL_RECORD -> current.updateMedicalRecord(entry.getFirstName(), entry.getLastName(), entry.getMedicalRecord());
+            case DELETE_MEDICAL_RECORD -> current.deleteMedicalRecord(entry.getFirstName(), entry.getLastName());
+        }
+    }
+}
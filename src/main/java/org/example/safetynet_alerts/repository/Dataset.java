@@ -0,0 +1,743 @@
+package org.example.safetynet_alerts.repository;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.safetynet_alerts.models.AddressMatch;
+import org.example.safetynet_alerts.models.FireStation;
+import org.example.safetynet_alerts.models.MedicalRecord;
+import org.example.safetynet_alerts.models.Person;
+import org.example.safetynet_alerts.models.SafetyNetData;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Complete set of persons, fire stations and medical records loaded from one version of the data file.
+ * <p>
+ * A dataset is fully built before the {@link DataRepository} publishes it, so a reader holding a dataset
+ * always sees every section of the same file. Its collections are only modified by the repository,
+ * while holding its lock, through the write methods of this class, which keep the key indexes in step with them.
+ * The lookup methods can be called without holding the lock and still return a consistent result: the indexes are
+ * copied on write and published once complete, so a lookup sees each index as it was either before or after a write,
+ * never half updated. Only the full lists of the sections, {@link #getPersons()}, {@link #getFireStations()} and
+ * {@link #getMedicalRecords()}, must be read while holding the lock. The lists themselves are never given out:
+ * readers get an immutable copy, made while holding the lock and shared until the next write.
+ * <p>
+ * Addresses go through an {@link AddressDictionary}, which holds one {@code String} instance per distinct address,
+ * and the address indexes are arrays keyed by the address IDs. The persons and fire stations themselves are never
+ * modified by the indexing, since they may be shared with the caller.
+ * <p>
+ * Each person is linked to its medical record, matched by first and last name, when the dataset is built and again
+ * on every write that may change the match, so that queries joining persons with their records follow a reference
+ * instead of looking the name up. Persons without a medical record are kept in a separate set.
+ * <p>
+ * Medical records are also indexed by allergy and by medication name, ignoring case and, for medications,
+ * the dose written after a colon, so that the persons with a given allergy or treatment can be found without
+ * reading every record. The keys of each record are also kept as codes of a {@link TermDictionary} that belongs to
+ * the dataset, so that a query on both an allergy and a medication filters the records by comparing ints.
+ * <p>
+ * Each section keeps its elements in the order they were added: a deletion leaves the others in place, and an update
+ * takes the position of the replaced element. Persons sharing an email and medical records sharing a name are indexed
+ * in the order of their list, so that the "first" one a write or a lookup picks is the first one in the list. The list order is what a snapshot saves and
+ * what the journal replays, so the same request picks the same element after a restart.
+ * <p>
+ * Each address and station number pair is mapped once: duplicate pairs of the loaded data are dropped when the
+ * dataset is built, and the writes never create one, so the station indexes hold distinct mappings.
+ * <p>
+ * The persons linked to a medical record are classified as children or adults for the current day by
+ * {@link AgeBrackets}, which the repository moves forward at each day rollover.
+ */
+public final class Dataset {
+
+    private static final Logger logger = LogManager.getLogger(Dataset.class); // Logger initialization
+
+    private final SectionList<Person> persons;
+    private final SectionList<FireStation> fireStations;
+    private final SectionList<MedicalRecord> medicalRecords;
+    private final long sourceLength; // Length of the data file the dataset was loaded from
+    private final long sourceLastModified; // Last modification time of the data file the dataset was loaded from
+    private final MultiIndex<String, Person> personsByEmail = new MultiIndex<>(); // Persons sharing each email
+    private final CountingIndex<String, String> emailsByCity = new CountingIndex<>(); // Distinct emails of each city
+    private final AddressDictionary addresses = new AddressDictionary(); // ID and canonical instance of each address
+    private final IdIndex<Person> personsByAddress = new IdIndex<>(); // Residents of each address ID
+    private final PrefixIndex<Person> personsByLastName = new PrefixIndex<>(); // Persons of each last name, ignoring case
+    private final MultiIndex<NameKey, Person> personsByName = new MultiIndex<>(); // Persons of each name, to relink them
+    private final Map<Person, MedicalRecord> medicalRecordLinks = new ConcurrentHashMap<>(); // Record of each linked person
+    private final Set<Person> orphans = ConcurrentHashMap.newKeySet(); // Persons without a medical record
+    private final IntMultiIndex<FireStation> fireStationsByNumber = new IntMultiIndex<>(); // Addresses of each station
+    private final IdIndex<FireStation> fireStationsByAddress = new IdIndex<>(); // Stations of each address ID
+    private final MultiIndex<NameKey, MedicalRecord> medicalRecordsByName = new MultiIndex<>(); // Records of each name
+    private final MultiIndex<String, MedicalRecord> medicalRecordsByAllergy = new MultiIndex<>(); // Records of each allergy
+    private final MultiIndex<String, MedicalRecord> medicalRecordsByMedication = new MultiIndex<>(); // Records of each medication name
+    private final TermDictionary terms = new TermDictionary(); // Code of each allergy and medication name
+    private final Map<MedicalRecord, TermCodes> termCodes = new ConcurrentHashMap<>(); // Term codes of each record
+    private final AgeBrackets ageBrackets; // Children of each address for the current day
+
+    private record NameKey(String firstName, String lastName) {
+    }
+
+    private record TermCodes(int[] allergies, int[] medications) {
+    }
+
+    /**
+     * Constructor that builds a dataset from loaded data.
+     *
+     * @param data               The loaded persons, fire stations and medical records.
+     * @param sourceLength       The length of the data file, or -1 if unknown.
+     * @param sourceLastModified The last modification time of the data file, or -1 if unknown.
+     * @param today              The epoch day of the current date, for the age classification.
+     */
+    Dataset(SafetyNetData data, long sourceLength, long sourceLastModified, int today) {
+        this(data.getPersons(), data.getFirestations(), data.getMedicalrecords(), sourceLength, sourceLastModified, today);
+    }
+
+    /**
+     * Constructor that builds a dataset around already loaded collections and indexes them.
+     *
+     * @param persons            The list of persons.
+     * @param fireStations       The list of fire stations, copied without its duplicate mappings.
+     * @param medicalRecords     The list of medical records.
+     * @param sourceLength       The length of the data file, or -1 if unknown.
+     * @param sourceLastModified The last modification time of the data file, or -1 if unknown.
+     * @param today              The epoch day of the current date, for the age classification.
+     */
+    Dataset(List<Person> persons, List<FireStation> fireStations, List<MedicalRecord> medicalRecords,
+            long sourceLength, long sourceLastModified, int today) {
+        this.persons = new SectionList<>(persons.size());
+        this.fireStations = new SectionList<>(fireStations.size());
+        this.medicalRecords = new SectionList<>(medicalRecords.size());
+        this.sourceLength = sourceLength;
+        this.sourceLastModified = sourceLastModified;
+        this.ageBrackets = new AgeBrackets(today);
+        beginBulk();
+        for (MedicalRecord medicalRecord : medicalRecords) {
+            this.medicalRecords.add(medicalRecord);
+            medicalRecordsByName.add(keyOf(medicalRecord), medicalRecord);
+            indexTerms(medicalRecord);
+        }
+        for (Person person : persons) {
+            this.persons.add(person);
+            indexPerson(person);
+        }
+        int dropped = 0;
+        for (FireStation fireStation : fireStations) {
+            if (findFireStation(fireStation.getAddress(), fireStation.getStation()) == null) {
+                this.fireStations.add(fireStation);
+                indexFireStation(fireStation);
+            } else {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            logger.warn("{} duplicate fire station mappings dropped", dropped);
+        }
+        endBulk();
+    }
+
+    private static NameKey keyOf(MedicalRecord medicalRecord) {
+        return new NameKey(medicalRecord.getFirstName(), medicalRecord.getLastName());
+    }
+
+    private static NameKey keyOf(Person person) {
+        return new NameKey(person.getFirstName(), person.getLastName());
+    }
+
+    /**
+     * Returns the list of persons. Must be called while holding the repository lock.
+     * The copy is made on the first call after a write to the persons and shared until the next one.
+     *
+     * @return an immutable copy of the list of all persons, which later writes do not affect.
+     */
+    public List<Person> getPersons() {
+        return persons.copy();
+    }
+
+    /**
+     * Returns the persons with the given email. Several persons of the same family may share an email.
+     *
+     * @param email the email to look up.
+     * @return an immutable list of the persons, in the order of the list of persons, empty if none has the email.
+     */
+    public List<Person> getPersonsByEmail(String email) {
+        return personsByEmail.get(email);
+    }
+
+    /**
+     * Returns the distinct emails of the persons living in the given city.
+     *
+     * @param city the city to look up.
+     * @return an immutable list of the emails, in the order they were first added, empty if nobody lives there.
+     */
+    public List<String> getEmailsByCity(String city) {
+        return emailsByCity.get(city);
+    }
+
+    /**
+     * Returns the persons living at the given address.
+     *
+     * @param address the address to look up.
+     * @return an immutable list of the residents, in the order they were added, empty if nobody lives there.
+     */
+    public List<Person> getPersonsByAddress(String address) {
+        return personsByAddress.get(addresses.idOf(address));
+    }
+
+    /**
+     * Returns the persons with the given last name, ignoring case.
+     *
+     * @param lastName the last name to look up.
+     * @return an immutable list of the persons, in the order they were added, empty if none has the last name.
+     */
+    public List<Person> getPersonsByLastName(String lastName) {
+        return personsByLastName.get(lastName);
+    }
+
+    /**
+     * Returns the persons whose last name starts with the given prefix, ignoring case.
+     *
+     * @param prefix the beginning of the last name to look up.
+     * @return a list of the persons, sorted by last name, empty if no last name starts with the prefix.
+     */
+    public List<Person> getPersonsByLastNamePrefix(String prefix) {
+        return personsByLastName.getByPrefix(prefix);
+    }
+
+    /**
+     * Searches the addresses of the persons and fire stations that are similar to the given text.
+     * Addresses whose last resident and station were deleted are not returned.
+     *
+     * @param query the text to look for, possibly misspelled or incomplete.
+     * @param limit the maximum number of addresses to return.
+     * @return the most similar addresses, best first, empty if none is similar enough.
+     */
+    public List<AddressMatch> searchAddresses(String query, int limit) {
+        return addresses.search(query, id -> !personsByAddress.get(id).isEmpty()
+                        || !fireStationsByAddress.get(id).isEmpty(), limit).stream()
+                .map(match -> new AddressMatch(addresses.address(match.id()), match.score()))
+                .toList();
+    }
+
+    /**
+     * Returns the residents of the given address who are children, aged 18 or less, on the current day
+     * of the age classification. Residents without a medical record or a valid birthdate are never children.
+     *
+     * @param address the address to look up.
+     * @return an immutable list of the children, empty if none lives there.
+     */
+    public List<Person> getChildrenByAddress(String address) {
+        return ageBrackets.getChildren(addresses.idOf(address));
+    }
+
+    /**
+     * Returns the current day of the age classification, so that the ages shown with the children are computed
+     * for the same day the children were classified on.
+     *
+     * @return the epoch day of the current date.
+     */
+    public int getToday() {
+        return ageBrackets.today();
+    }
+
+    /**
+     * Moves the age classification to the given day. Moving forward only reclassifies the children who turned 19
+     * since the previous day; moving back, after a clock adjustment, classifies every person again.
+     *
+     * @param day the epoch day of the current date.
+     * @return the number of persons whose classification changed when moving forward, or -1 after a full
+     *         reclassification.
+     */
+    int rollOver(int day) {
+        if (day >= ageBrackets.today()) {
+            return ageBrackets.rollOver(day);
+        }
+        ageBrackets.clear(day);
+        for (Map.Entry<Person, MedicalRecord> link : medicalRecordLinks.entrySet()) {
+            Person person = link.getKey();
+            ageBrackets.classify(person, addresses.idOf(person.getAddress()), link.getValue().getBirthEpochDay());
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the medical record linked to the given person.
+     *
+     * @param person a person of this dataset.
+     * @return the medical record with the same first and last name, or null if the person has none.
+     */
+    public MedicalRecord getMedicalRecord(Person person) {
+        return medicalRecordLinks.get(person);
+    }
+
+    /**
+     * Returns the persons who have no medical record with their first and last name.
+     *
+     * @return an unmodifiable, live view of the persons without a medical record.
+     */
+    public Set<Person> getOrphans() {
+        return Collections.unmodifiableSet(orphans);
+    }
+
+    /**
+     * Returns the list of fire stations. Must be called while holding the repository lock.
+     * The copy is made on the first call after a write to the fire stations and shared until the next one.
+     *
+     * @return an immutable copy of the list of all fire stations, which later writes do not affect.
+     */
+    public List<FireStation> getFireStations() {
+        return fireStations.copy();
+    }
+
+    /**
+     * Returns the fire stations with the given number, one per address the station covers.
+     *
+     * @param station the station number to look up.
+     * @return an immutable list of the fire stations, in the order they were added, empty if the number is unknown.
+     */
+    public List<FireStation> getFireStationsByNumber(int station) {
+        return fireStationsByNumber.get(station);
+    }
+
+    /**
+     * Returns the fire stations covering the given address.
+     *
+     * @param address the address to look up.
+     * @return an immutable list of the fire stations, in the order they were added, empty if the address is not covered.
+     */
+    public List<FireStation> getFireStationsByAddress(String address) {
+        return fireStationsByAddress.get(addresses.idOf(address));
+    }
+
+    /**
+     * Returns the list of medical records. Must be called while holding the repository lock.
+     * The copy is made on the first call after a write to the medical records and shared until the next one.
+     *
+     * @return an immutable copy of the list of all medical records, which later writes do not affect.
+     */
+    public List<MedicalRecord> getMedicalRecords() {
+        return medicalRecords.copy();
+    }
+
+    /**
+     * Returns the medical record of the person with the given first and last name.
+     *
+     * @param firstName the first name of the person.
+     * @param lastName  the last name of the person.
+     * @return the first medical record of the list with that name, or null if there is none.
+     */
+    public MedicalRecord getMedicalRecordByName(String firstName, String lastName) {
+        return firstMedicalRecord(new NameKey(firstName, lastName));
+    }
+
+    /**
+     * Returns the medical records with the given allergy and the given medication, ignoring case.
+     * A medication matches every dose of it: "insulin" and "insulin:20ml" both match "Insulin:10ml".
+     * The smaller of the two index entries is read and its records are checked against the other term.
+     *
+     * @param allergy    the allergy to look up, or null to match any allergy.
+     * @param medication the medication to look up, or null to match any medication.
+     * @return the matching medical records, empty if none matches or if both terms are null.
+     */
+    public List<MedicalRecord> getMedicalRecordsByTerms(String allergy, String medication) {
+        if (allergy == null && medication == null) {
+            return List.of();
+        }
+        if (medication == null) {
+            return medicalRecordsByAllergy.get(allergyKey(allergy));
+        }
+        if (allergy == null) {
+            return medicalRecordsByMedication.get(medicationKey(medication));
+        }
+        String allergyKey = allergyKey(allergy);
+        String medicationKey = medicationKey(medication);
+        List<MedicalRecord> withAllergy = medicalRecordsByAllergy.get(allergyKey);
+        List<MedicalRecord> withMedication = medicalRecordsByMedication.get(medicationKey);
+        if (withAllergy.size() <= withMedication.size()) {
+            int medicationCode = terms.codeOf(medicationKey);
+            return withAllergy.stream()
+                    .filter(medicalRecord -> hasCode(medicalRecord, medicationCode, true))
+                    .toList();
+        }
+        int allergyCode = terms.codeOf(allergyKey);
+        return withMedication.stream()
+                .filter(medicalRecord -> hasCode(medicalRecord, allergyCode, false))
+                .toList();
+    }
+
+    /**
+     * Returns the persons linked to the given medical record.
+     *
+     * @param medicalRecord a medical record of this dataset.
+     * @return the persons whose medical record it is, empty if none.
+     */
+    public List<Person> getPersonsByMedicalRecord(MedicalRecord medicalRecord) {
+        return personsByName.get(keyOf(medicalRecord)).stream()
+                .filter(person -> medicalRecordLinks.get(person) == medicalRecord)
+                .toList();
+    }
+
+    /**
+     * Returns the length of the data file the dataset was loaded from.
+     *
+     * @return the file length, or -1 if unknown.
+     */
+    public long getSourceLength() {
+        return sourceLength;
+    }
+
+    /**
+     * Returns the last modification time of the data file the dataset was loaded from.
+     *
+     * @return the modification time, or -1 if unknown.
+     */
+    public long getSourceLastModified() {
+        return sourceLastModified;
+    }
+
+    /**
+     * Copies the collections into a new {@link SafetyNetData}. Must be called while holding the repository lock.
+     *
+     * @return an immutable copy of the data that later writes do not affect.
+     */
+    SafetyNetData copy() {
+        SafetyNetData data = new SafetyNetData();
+        data.setPersons(getPersons());
+        data.setFirestations(getFireStations());
+        data.setMedicalrecords(getMedicalRecords());
+        return data;
+    }
+
+    /**
+     * Adds a person if no person with the same email exists.
+     *
+     * @param person the person to add.
+     * @return true if the person was added.
+     */
+    boolean addPerson(Person person) {
+        if (personsByEmail.contains(person.getEmail())) {
+            return false;
+        }
+        persons.add(person);
+        indexPerson(person);
+        return true;
+    }
+
+    /**
+     * Replaces the first person of the list with the given email, keeping its position in the list.
+     *
+     * @param email         the email of the person to replace.
+     * @param updatedPerson the new person.
+     * @return the new person, or null if no person has the given email.
+     */
+    Person updatePerson(String email, Person updatedPerson) {
+        List<Person> matches = personsByEmail.get(email);
+        if (matches.isEmpty()) {
+            return null;
+        }
+        Person person = matches.get(0);
+        unindexPerson(person);
+        persons.replace(person, updatedPerson);
+        indexPerson(updatedPerson);
+        return updatedPerson;
+    }
+
+    /**
+     * Deletes every person with the given email. The other persons keep their order.
+     *
+     * @param email the email of the persons to delete.
+     * @return true if at least one person was deleted.
+     */
+    boolean deletePerson(String email) {
+        List<Person> removed = personsByEmail.get(email);
+        for (Person person : removed) {
+            unindexPerson(person);
+            persons.remove(person);
+        }
+        return !removed.isEmpty();
+    }
+
+    private void indexPerson(Person person) {
+        personsByEmail.add(person.getEmail(), person, persons.order());
+        emailsByCity.add(person.getCity(), person.getEmail());
+        if (person.getAddress() != null) {
+            int addressId = addresses.intern(person.getAddress());
+            personsByAddress.add(addressId, person);
+        }
+        personsByLastName.add(person.getLastName(), person);
+        NameKey key = keyOf(person);
+        personsByName.add(key, person);
+        link(person, firstMedicalRecord(key));
+    }
+
+    private void unindexPerson(Person person) {
+        personsByEmail.remove(person.getEmail(), person);
+        emailsByCity.remove(person.getCity(), person.getEmail());
+        personsByAddress.remove(addresses.idOf(person.getAddress()), person);
+        personsByLastName.remove(person.getLastName(), person);
+        personsByName.remove(keyOf(person), person);
+        medicalRecordLinks.remove(person);
+        orphans.remove(person);
+        ageBrackets.remove(person);
+    }
+
+    private void link(Person person, MedicalRecord medicalRecord) {
+        ageBrackets.remove(person);
+        if (medicalRecord != null) {
+            medicalRecordLinks.put(person, medicalRecord);
+            orphans.remove(person);
+            ageBrackets.classify(person, addresses.idOf(person.getAddress()), medicalRecord.getBirthEpochDay());
+        } else {
+            orphans.add(person);
+            medicalRecordLinks.remove(person);
+        }
+    }
+
+    /**
+     * Links the persons with the given name to the first medical record now held for that name.
+     */
+    private void relink(NameKey key) {
+        MedicalRecord medicalRecord = firstMedicalRecord(key);
+        for (Person person : personsByName.get(key)) {
+            link(person, medicalRecord);
+        }
+    }
+
+    private MedicalRecord firstMedicalRecord(NameKey key) {
+        List<MedicalRecord> matches = medicalRecordsByName.get(key);
+        return matches.isEmpty() ? null : matches.get(0);
+    }
+
+    /**
+     * Adds a fire station if the same address and station number are not already mapped.
+     *
+     * @param fireStation the fire station to add.
+     * @return true if the fire station was added.
+     */
+    boolean addFireStation(FireStation fireStation) {
+        if (findFireStation(fireStation.getAddress(), fireStation.getStation()) != null) {
+            return false;
+        }
+        fireStations.add(fireStation);
+        indexFireStation(fireStation);
+        return true;
+    }
+
+    /**
+     * Replaces the fire station with the given address and station number, keeping its position in the list.
+     * If the new address and station number are already mapped by another fire station, the replaced mapping is
+     * deleted instead, so that no pair is mapped twice.
+     *
+     * @param address            the address of the fire station to replace.
+     * @param station            the station number of the fire station to replace.
+     * @param updatedFireStation the new fire station.
+     * @return the new fire station, or null if no fire station matches.
+     */
+    FireStation updateFireStation(String address, int station, FireStation updatedFireStation) {
+        FireStation fireStation = findFireStation(address, station);
+        if (fireStation == null) {
+            return null;
+        }
+        FireStation existing = findFireStation(updatedFireStation.getAddress(), updatedFireStation.getStation());
+        if (existing != null && existing != fireStation) {
+            removeFireStation(fireStation);
+            return updatedFireStation;
+        }
+        fireStations.replace(fireStation, updatedFireStation);
+        unindexFireStation(fireStation);
+        indexFireStation(updatedFireStation);
+        return updatedFireStation;
+    }
+
+    /**
+     * Deletes the fire station with the given address and station number. The other fire stations keep their order.
+     *
+     * @param address the address of the fire station to delete.
+     * @param station the station number of the fire station to delete.
+     * @return true if a fire station was deleted.
+     */
+    boolean deleteFireStation(String address, int station) {
+        FireStation fireStation = findFireStation(address, station);
+        if (fireStation == null) {
+            return false;
+        }
+        removeFireStation(fireStation);
+        return true;
+    }
+
+    private void removeFireStation(FireStation fireStation) {
+        unindexFireStation(fireStation);
+        fireStations.remove(fireStation);
+    }
+
+    private FireStation findFireStation(String address, int station) {
+        for (FireStation fireStation : fireStationsByAddress.get(addresses.idOf(address))) {
+            if (fireStation.getStation() == station) {
+                return fireStation;
+            }
+        }
+        return null;
+    }
+
+    private void indexFireStation(FireStation fireStation) {
+        fireStationsByNumber.add(fireStation.getStation(), fireStation);
+        int addressId = addresses.intern(fireStation.getAddress());
+        fireStationsByAddress.add(addressId, fireStation);
+    }
+
+    private void unindexFireStation(FireStation fireStation) {
+        fireStationsByNumber.remove(fireStation.getStation(), fireStation);
+        fireStationsByAddress.remove(addresses.idOf(fireStation.getAddress()), fireStation);
+    }
+
+    private static String allergyKey(String allergy) {
+        return allergy.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String medicationKey(String medication) {
+        int dose = medication.indexOf(':');
+        return (dose >= 0 ? medication.substring(0, dose) : medication).trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the codes of the distinct index keys of the allergies or medications of a record, skipping null terms.
+     */
+    private int[] termCodes(List<String> values, boolean medications) {
+        if (values == null) {
+            return new int[0];
+        }
+        Set<String> keys = new HashSet<>();
+        for (String value : values) {
+            if (value != null) {
+                keys.add(medications ? medicationKey(value) : allergyKey(value));
+            }
+        }
+        return keys.stream().mapToInt(terms::intern).toArray();
+    }
+
+    /**
+     * Checks whether a record has the allergy or medication of the given code. A record deleted after the caller
+     * read it from an index has no codes left and matches nothing.
+     */
+    private boolean hasCode(MedicalRecord medicalRecord, int code, boolean medication) {
+        TermCodes codes = termCodes.get(medicalRecord);
+        if (codes == null) {
+            return false;
+        }
+        for (int recordCode : medication ? codes.medications() : codes.allergies()) {
+            if (recordCode == code) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Starts a bulk write: until {@link #endBulk()}, the allergies and medications of the added records are grouped
+     * per term, and the added fire stations per station number, and indexed once at the end, instead of copying
+     * the elements of a common key on each addition. The added records are only found by term, and the added
+     * fire stations by number, once the bulk write ends.
+     */
+    void beginBulk() {
+        medicalRecordsByAllergy.beginBulk();
+        medicalRecordsByMedication.beginBulk();
+        fireStationsByNumber.beginBulk();
+    }
+
+    /**
+     * Ends a bulk write started by {@link #beginBulk()}, indexing the terms of the records and the numbers of the
+     * fire stations added since.
+     */
+    void endBulk() {
+        medicalRecordsByAllergy.endBulk();
+        medicalRecordsByMedication.endBulk();
+        fireStationsByNumber.endBulk();
+    }
+
+    private void indexTerms(MedicalRecord medicalRecord) {
+        // The codes are stored before the record can be found by term, for the queries filtering on them
+        TermCodes codes = new TermCodes(termCodes(medicalRecord.getAllergies(), false),
+                termCodes(medicalRecord.getMedications(), true));
+        termCodes.put(medicalRecord, codes);
+        for (int code : codes.allergies()) {
+            medicalRecordsByAllergy.add(terms.key(code), medicalRecord);
+        }
+        for (int code : codes.medications()) {
+            medicalRecordsByMedication.add(terms.key(code), medicalRecord);
+        }
+    }
+
+    private void unindexTerms(MedicalRecord medicalRecord) {
+        TermCodes codes = termCodes.get(medicalRecord);
+        for (int code : codes.allergies()) {
+            medicalRecordsByAllergy.remove(terms.key(code), medicalRecord);
+        }
+        for (int code : codes.medications()) {
+            medicalRecordsByMedication.remove(terms.key(code), medicalRecord);
+        }
+        termCodes.remove(medicalRecord);
+    }
+
+    /**
+     * Adds a medical record if no record with the same first and last name exists.
+     *
+     * @param medicalRecord the medical record to add.
+     * @return true if the medical record was added.
+     */
+    boolean addMedicalRecord(MedicalRecord medicalRecord) {
+        NameKey key = keyOf(medicalRecord);
+        if (medicalRecordsByName.contains(key)) {
+            return false;
+        }
+        medicalRecords.add(medicalRecord);
+        medicalRecordsByName.add(key, medicalRecord);
+        indexTerms(medicalRecord);
+        relink(key);
+        return true;
+    }
+
+    /**
+     * Replaces the first medical record of the list with the given first and last name, keeping its position in the list.
+     *
+     * @param firstName            the first name of the medical record to replace.
+     * @param lastName             the last name of the medical record to replace.
+     * @param updatedMedicalRecord the new medical record.
+     * @return the new medical record, or null if no record matches.
+     */
+    MedicalRecord updateMedicalRecord(String firstName, String lastName, MedicalRecord updatedMedicalRecord) {
+        MedicalRecord medicalRecord = getMedicalRecordByName(firstName, lastName);
+        if (medicalRecord == null) {
+            return null;
+        }
+        medicalRecords.replace(medicalRecord, updatedMedicalRecord);
+        NameKey key = new NameKey(firstName, lastName);
+        medicalRecordsByName.remove(key, medicalRecord);
+        medicalRecordsByName.add(keyOf(updatedMedicalRecord), updatedMedicalRecord, medicalRecords.order());
+        unindexTerms(medicalRecord);
+        indexTerms(updatedMedicalRecord);
+        relink(key);
+        relink(keyOf(updatedMedicalRecord));
+        return updatedMedicalRecord;
+    }
+
+    /**
+     * Deletes the medical records with the given first and last name. The other records keep their order.
+     *
+     * @param firstName the first name of the medical record to delete.
+     * @param lastName  the last name of the medical record to delete.
+     * @return true if a medical record was deleted.
+     */
+    boolean deleteMedicalRecord(String firstName, String lastName) {
+        NameKey key = new NameKey(firstName, lastName);
+        List<MedicalRecord> removed = medicalRecordsByName.removeAll(key);
+        for (MedicalRecord medicalRecord : removed) {
+            unindexTerms(medicalRecord);
+            medicalRecords.remove(medicalRecord);
+        }
+        relink(key);
+        return !removed.isEmpty();
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.safetynet_alerts.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Index from a dense int ID, such as the address IDs of the {@link AddressDictionary}, to the elements of a
+ * {@link Dataset} collection that have it. A lookup is an array access.
+ * <p>
+ * The elements of an ID are held in an immutable list that is replaced, never modified, on each write,
+ * so readers can look an ID up without holding the repository lock. Writes are only made while holding
+ * the repository lock. Elements are compared by identity.
+ *
+ * @param <V> The type of the indexed elements.
+ */
+final class IdIndex<V> {
+
+    private volatile AtomicReferenceArray<List<V>> slots = new AtomicReferenceArray<>(64);
+
+    /**
+     * Returns the elements with the given ID, in the order they were added.
+     *
+     * @param id The ID to look up.
+     * @return an immutable list of the elements, empty if none has the ID.
+     */
+    List<V> get(int id) {
+        AtomicReferenceArray<List<V>> current = slots;
+        if (id < 0 || id >= current.length()) {
+            return List.of();
+        }
+        List<V> elements = current.get(id);
+        return elements != null ? elements : List.of();
+    }
+
+    /**
+     * Adds an element under the given ID.
+     *
+     * @param id      The ID of the element, not negative.
+     * @param element The element to add.
+     */
+    void add(int id, V element) {
+        List<V> elements = new ArrayList<>(get(id));
+        elements.add(element);
+        AtomicReferenceArray<List<V>> current = slots;
+        if (id >= current.length()) {
+            AtomicReferenceArray<List<V>> grown = new AtomicReferenceArray<>(Math.max(id + 1, current.length() * 2));
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            slots = current = grown;
+        }
+        current.set(id, Collections.unmodifiableList(elements));
+    }
+
+    /**
+     * Removes an element from the given ID.
+     *
+     * @param id      The ID the element was added under.
+     * @param element The element to remove.
+     */
+    void remove(int id, V element) {
+        List<V> elements = get(id);
+        if (elements.isEmpty()) {
+            return;
+        }
+        List<V> copy = new ArrayList<>(elements.size());
+        for (V existing : elements) {
+            if (existing != element) {
+                copy.add(existing);
+            }
+        }
+        slots.set(id, copy.isEmpty() ? null : Collections.unmodifiableList(copy));
+    }
+}
@@ -0,0 +1,158 @@
+package org.example.safetynet_alerts.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index from a primitive int key to the elements of a {@link Dataset} collection that have it,
+ * several elements possibly sharing the same key.
+ * <p>
+ * The keys are stored in an open-addressing table of ints, so a lookup neither boxes the key nor allocates.
+ * The table and the element lists are immutable and replaced as a whole on each write, which lets readers
+ * look a key up without holding the repository lock. This suits keys with few distinct values, such as
+ * fire station numbers, whose writes are rare; writes are only made while holding the repository lock.
+ * Bulk writes are made between {@link #beginBulk()} and {@link #endBulk()}: the added elements are grouped by key
+ * and the table is rebuilt once at the end, instead of once per element. Until then, readers do not see them.
+ * Elements are compared by identity.
+ *
+ * @param <V> The type of the indexed elements.
+ */
+final class IntMultiIndex<V> {
+
+    private volatile Table table = new Table(new int[8], new Object[8]);
+    private Map<Integer, List<V>> pending; // Elements added since beginBulk, grouped by key, null outside a bulk write
+
+    /**
+     * Immutable open-addressing table. A slot is empty when its value is null.
+     */
+    private record Table(int[] keys, Object[] values) {
+
+        int slot(int key) {
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (values[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+
+    private static int mix(int key) {
+        int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Returns the elements with the given key, in the order they were added.
+     *
+     * @param key The key to look up.
+     * @return an immutable list of the elements, empty if none has the key.
+     */
+    @SuppressWarnings("unchecked")
+    List<V> get(int key) {
+        Table current = table;
+        Object elements = current.values[current.slot(key)];
+        return elements != null ? (List<V>) elements : List.of();
+    }
+
+    /**
+     * Adds an element under the given key.
+     *
+     * @param key     The key of the element.
+     * @param element The element to add.
+     */
+    void add(int key, V element) {
+        if (pending != null) {
+            pending.computeIfAbsent(key, k -> new ArrayList<>()).add(element);
+            return;
+        }
+        List<V> elements = new ArrayList<>(get(key));
+        elements.add(element);
+        put(Map.of(key, elements));
+    }
+
+    /**
+     * Removes an element from the given key.
+     *
+     * @param key     The key the element was added under.
+     * @param element The element to remove.
+     */
+    void remove(int key, V element) {
+        if (pending != null) {
+            publishPending();
+        }
+        List<V> elements = new ArrayList<>(get(key));
+        elements.removeIf(existing -> existing == element);
+        put(Map.of(key, elements));
+    }
+
+    /**
+     * Starts a bulk write: the elements added until {@link #endBulk()} are grouped by key instead of rebuilding
+     * the table for each of them.
+     */
+    void beginBulk() {
+        pending = new HashMap<>();
+    }
+
+    /**
+     * Ends a bulk write, publishing the elements added since {@link #beginBulk()} with a single rebuild of the table.
+     */
+    void endBulk() {
+        publishPending();
+        pending = null;
+    }
+
+    private void publishPending() {
+        Map<Integer, List<V>> changes = new HashMap<>();
+        for (Map.Entry<Integer, List<V>> group : pending.entrySet()) {
+            List<V> elements = new ArrayList<>(get(group.getKey()));
+            elements.addAll(group.getValue());
+            changes.put(group.getKey(), elements);
+        }
+        pending.clear();
+        if (!changes.isEmpty()) {
+            put(changes);
+        }
+    }
+
+    /**
+     * Publishes a new table in which each changed key holds the given elements, or is absent if there are none.
+     */
+    private void put(Map<Integer, List<V>> changes) {
+        Table current = table;
+        int count = 0;
+        for (List<V> elements : changes.values()) {
+            if (!elements.isEmpty()) {
+                count++;
+            }
+        }
+        for (int i = 0; i < current.keys.length; i++) {
+            if (current.values[i] != null && !changes.containsKey(current.keys[i])) {
+                count++;
+            }
+        }
+        int capacity = 8;
+        while (capacity < count * 2) {
+            capacity <<= 1;
+        }
+        Table next = new Table(new int[capacity], new Object[capacity]);
+        for (int i = 0; i < current.keys.length; i++) {
+            if (current.values[i] != null && !changes.containsKey(current.keys[i])) {
+                int slot = next.slot(current.keys[i]);
+                next.keys[slot] = current.keys[i];
+                next.values[slot] = current.values[i];
+            }
+        }
+        for (Map.Entry<Integer, List<V>> change : changes.entrySet()) {
+            if (!change.getValue().isEmpty()) {
+                int slot = next.slot(change.getKey());
+                next.keys[slot] = change.getKey();
+                next.values[slot] = Collections.unmodifiableList(change.getValue());
+            }
+        }
+        table = next;
+    }
+}
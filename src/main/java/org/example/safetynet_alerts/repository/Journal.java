@@ -0,0 +1,489 @@
+package org.example.safetynet_alerts.repository;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead journal of the writes made through the services.
+ * <p>
+ * Each write is recorded as a frame made of the payload length, a CRC32 checksum, a sequence number and the
+ * encoded {@link JournalEntry}. Appending only copies the frame into an in-memory batch; {@link #sync(long)}
+ * then makes it durable. When several writers wait at the same time, the first one writes the whole pending
+ * batch and forces it to disk once for all of them (group commit), while the others wait for it to finish.
+ * <p>
+ * On startup the journal is replayed over the loaded data. A frame that is truncated or fails its checksum
+ * marks the end of the journal, which is cut there before new frames are appended. Once a snapshot contains
+ * the data up to some sequence number, {@link #truncate(long)} drops the frames it covers, so that the journal
+ * only grows with the writes made since the last snapshot.
+ * <p>
+ * A write failure stops the journal: the entries that are not on disk cannot be trusted, and their writers are told
+ * so. {@link #recover(long, Consumer)} then cuts the file back to the last entry forced to disk and replays it, so that
+ * the caller can rebuild its data without the failed writes, and the journal accepts writes again. The sequence
+ * numbers of the discarded entries are not reused, and waiting for one of them fails.
+ */
+@Component
+public class Journal implements Closeable {
+
+    private static final Logger logger = LogManager.getLogger(Journal.class); // Logger initialization
+    private static final int FRAME_HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+    private final Path path; // Location of the journal file, null when the journal is disabled
+    private final Object lock = new Object();
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream(); // Frames not yet written to disk
+    private FileChannel channel;
+    private long lastSequence; // Sequence number of the last appended entry
+    private long durableSequence; // Sequence number of the last entry forced to disk
+    private long durableLength; // Length of the file up to the last entry forced to disk, owned by the flushing writer
+    private final NavigableMap<Long, Long> discarded = new TreeMap<>(); // First and last sequence numbers of each range of discarded entries
+    private boolean flushing; // True while a writer is forcing a batch to disk or the journal is being truncated
+    private IOException failure; // First write failure, after which the journal refuses new writes
+
+    /**
+     * Constructor that initializes the Journal with the configured journal location.
+     *
+     * @param path The path of the journal file. An empty value disables the journal.
+     */
+    public Journal(@Value("${safetynet.journal.path:}") String path) {
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+    }
+
+    /**
+     * Indicates whether the journal is enabled.
+     *
+     * @return true if a journal location is configured.
+     */
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * Replays the entries recorded after the given sequence number and opens the journal for appending.
+     *
+     * @param afterSequence The sequence number already contained in the loaded data.
+     * @param consumer      The consumer applying each replayed entry.
+     * @return the number of replayed entries.
+     * @throws IOException if the journal cannot be read or opened.
+     */
+    public int open(long afterSequence, Consumer<JournalEntry> consumer) throws IOException {
+        if (path == null) {
+            throw new IllegalStateException("The journal is disabled");
+        }
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Replay replay = replay(afterSequence, consumer);
+        synchronized (lock) {
+            lastSequence = replay.lastSequence();
+            durableSequence = replay.lastSequence();
+        }
+        logger.info("Journal {} opened, {} entries replayed", path, replay.entries());
+        return replay.entries();
+    }
+
+    /**
+     * Result of a replay.
+     *
+     * @param entries      The number of replayed entries.
+     * @param lastSequence The sequence number of the last entry of the file, or the starting one if none is newer.
+     */
+    private record Replay(int entries, long lastSequence) {
+    }
+
+    /**
+     * Opens the journal file, replays the entries recorded after the given sequence number, cuts a damaged tail
+     * and positions the file for appending.
+     */
+    private Replay replay(long afterSequence, Consumer<JournalEntry> consumer) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        int replayed = 0;
+        long sequence = afterSequence;
+        long validLength = 0;
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+        while (true) {
+            header.clear();
+            if (readFully(header, validLength) < FRAME_HEADER_SIZE) {
+                break;
+            }
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            long frameSequence = header.getLong();
+            if (length < 0 || validLength + FRAME_HEADER_SIZE + length > channel.size()) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            readFully(payload, validLength + FRAME_HEADER_SIZE);
+            if (checksum(frameSequence, payload.array()) != checksum) {
+                break;
+            }
+            if (frameSequence > sequence) {
+                if (replayed == 0 && frameSequence > sequence + 1) {
+                    logger.info("Journal {} starts at sequence {}, the entries before it were compacted into a snapshot "
+                            + "or replaced by a reload of the data file", path, frameSequence);
+                }
+                consumer.accept(JournalEntry.readFrom(new DataInputStream(new ByteArrayInputStream(payload.array()))));
+                sequence = frameSequence;
+                replayed++;
+            }
+            validLength += FRAME_HEADER_SIZE + length;
+        }
+
+        if (validLength < channel.size()) {
+            logger.warn("Journal {} has an incomplete tail, truncating it at {} bytes", path, validLength);
+            channel.truncate(validLength);
+        }
+        channel.position(validLength);
+        durableLength = validLength;
+        return new Replay(replayed, sequence);
+    }
+
+    private int readFully(ByteBuffer buffer, long position) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the sequence number of the last appended entry.
+     *
+     * @return the last sequence number.
+     */
+    public long getLastSequence() {
+        synchronized (lock) {
+            return lastSequence;
+        }
+    }
+
+    /**
+     * Appends an entry to the pending batch. The entry is not durable until {@link #sync(long)} returns.
+     * Callers must append in the same order as they apply the writes to the data.
+     *
+     * @param entry The entry to append.
+     * @return the sequence number assigned to the entry.
+     * @throws IllegalStateException if the journal is not open.
+     */
+    public long append(JournalEntry entry) {
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try {
+            entry.writeTo(new DataOutputStream(payload));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to encode journal entry", e);
+        }
+        byte[] bytes = payload.toByteArray();
+
+        synchronized (lock) {
+            if (channel == null) {
+                throw new IllegalStateException("The journal is not open");
+            }
+            long sequence = ++lastSequence;
+            ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+            header.putInt(bytes.length).putInt(checksum(sequence, bytes)).putLong(sequence);
+            pending.write(header.array(), 0, FRAME_HEADER_SIZE);
+            pending.write(bytes, 0, bytes.length);
+            return sequence;
+        }
+    }
+
+    /**
+     * Waits until the entry with the given sequence number is on disk.
+     * If no other writer is flushing, the caller writes every pending entry and forces the file once.
+     *
+     * @param sequence The sequence number returned by {@link #append(JournalEntry)}.
+     * @throws IOException if the journal cannot be written, or has failed before.
+     */
+    public void sync(long sequence) throws IOException {
+        byte[] batch;
+        long batchSequence;
+        boolean interrupted = false;
+        synchronized (lock) {
+            try {
+                while (true) {
+                    if (isDiscarded(sequence)) {
+                        throw new IOException("The journal entry " + sequence + " was discarded after a write failure");
+                    }
+                    if (durableSequence >= sequence) {
+                        return;
+                    }
+                    if (failure != null) {
+                        throw new IOException("The journal is unavailable after a write failure", failure);
+                    }
+                    if (!flushing) {
+                        break;
+                    }
+                    // The entry is written by the flushing writer whether or not the caller waits: giving up on an
+                    // interrupt would report as failed a write that is made durable
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            flushing = true;
+            batch = pending.toByteArray();
+            pending.reset();
+            batchSequence = lastSequence;
+        }
+
+        IOException error = null;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(batch);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+            durableLength = channel.position();
+        } catch (IOException e) {
+            logger.error("Journal write failed: {}", e.getMessage());
+            error = e;
+        }
+
+        synchronized (lock) {
+            flushing = false;
+            if (error != null) {
+                failure = error;
+            } else {
+                durableSequence = batchSequence;
+            }
+            lock.notifyAll();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Removes the entries up to the given sequence number, once they are contained in a snapshot.
+     * The remaining entries are copied to a new file that atomically replaces the journal. Writers keep appending
+     * in the meantime; only their wait for durability is held until the copy is done.
+     *
+     * @param upToSequence The last sequence number contained in the snapshot.
+     * @throws IOException if the journal cannot be rewritten.
+     */
+    public void truncate(long upToSequence) throws IOException {
+        synchronized (lock) {
+            while (true) {
+                if (failure != null) {
+                    throw new IOException("The journal is unavailable after a write failure", failure);
+                }
+                if (!flushing) {
+                    break;
+                }
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the journal");
+                }
+            }
+            if (channel == null) {
+                throw new IllegalStateException("The journal is not open");
+            }
+            flushing = true;
+        }
+
+        IOException error = null;
+        try {
+            long start = firstFrameAfter(upToSequence);
+            if (start > 0) {
+                long size = channel.size();
+                Path temporary = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+                try {
+                    try (FileChannel target = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                        long position = start;
+                        while (position < size) {
+                            position += channel.transferTo(position, size - position, target);
+                        }
+                        target.force(true);
+                    }
+                    channel.close();
+                    Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                    durableLength = size - start;
+                    channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    channel.position(channel.size());
+                } finally {
+                    Files.deleteIfExists(temporary);
+                }
+                logger.info("Journal {} truncated up to sequence {}, {} bytes removed", path, upToSequence, start);
+            }
+        } catch (IOException e) {
+            logger.error("Journal truncation failed: {}", e.getMessage());
+            error = e;
+        }
+
+        synchronized (lock) {
+            flushing = false;
+            if (error != null && !channel.isOpen()) {
+                failure = error;
+            }
+            lock.notifyAll();
+        }
+        if (error != null) {
+            throw error;
+        }
+    }
+
+    /**
+     * Indicates whether a write failure stopped the journal, until {@link #recover(long, Consumer)} succeeds.
+     *
+     * @return true if the journal refuses writes.
+     */
+    public boolean hasFailed() {
+        synchronized (lock) {
+            return failure != null;
+        }
+    }
+
+    /**
+     * Restarts the journal after a write failure. The file is cut back to the last entry forced to disk, the entries
+     * recorded after the given sequence number are replayed, and the entries that were not on disk are discarded:
+     * waiting for them fails, and their sequence numbers are not reused.
+     *
+     * @param afterSequence The sequence number already contained in the data the entries are replayed onto.
+     * @param consumer      The consumer applying each replayed entry.
+     * @return the number of replayed entries.
+     * @throws IOException if the journal cannot be cut or read, in which case it still refuses writes.
+     */
+    public int recover(long afterSequence, Consumer<JournalEntry> consumer) throws IOException {
+        synchronized (lock) {
+            while (flushing) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the journal");
+                }
+            }
+            if (channel == null) {
+                throw new IllegalStateException("The journal is not open");
+            }
+            flushing = true;
+        }
+
+        IOException error = null;
+        Replay replay = null;
+        try {
+            channel.close();
+            try (FileChannel file = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                file.truncate(durableLength);
+                file.force(true);
+            }
+            replay = replay(afterSequence, consumer);
+        } catch (IOException e) {
+            logger.error("Journal recovery failed: {}", e.getMessage());
+            error = e;
+        }
+
+        long firstDiscarded;
+        long lastDiscarded;
+        synchronized (lock) {
+            flushing = false;
+            firstDiscarded = durableSequence + 1;
+            lastDiscarded = lastSequence;
+            if (error == null) {
+                if (lastDiscarded >= firstDiscarded) {
+                    discarded.put(firstDiscarded, lastDiscarded);
+                }
+                pending.reset();
+                failure = null;
+            } else if (failure == null) {
+                failure = error;
+            }
+            lock.notifyAll();
+        }
+        if (error != null) {
+            throw error;
+        }
+        logger.warn("Journal {} recovered, entries {} to {} discarded", path, firstDiscarded, lastDiscarded);
+        return replay.entries();
+    }
+
+    /**
+     * Indicates whether the entry with the given sequence number was discarded by a recovery.
+     * Must be called while holding the lock.
+     */
+    private boolean isDiscarded(long sequence) {
+        Map.Entry<Long, Long> range = discarded.floorEntry(sequence);
+        return range != null && sequence <= range.getValue();
+    }
+
+    /**
+     * Finds the offset of the first frame written after the given sequence number.
+     * Must be called while holding the right to write to the file.
+     */
+    private long firstFrameAfter(long sequence) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_SIZE);
+        while (position + FRAME_HEADER_SIZE <= size) {
+            header.clear();
+            readFully(header, position);
+            header.flip();
+            int length = header.getInt();
+            header.getInt();
+            if (header.getLong() > sequence) {
+                break;
+            }
+            position += FRAME_HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private static int checksum(long sequence, byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(ByteBuffer.allocate(Long.BYTES).putLong(sequence).array());
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Writes the pending entries and closes the journal file.
+     *
+     * @throws IOException if the pending entries cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        long sequence;
+        synchronized (lock) {
+            sequence = isDiscarded(lastSequence) ? durableSequence : lastSequence;
+        }
+        try {
+            sync(sequence);
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.example.safetynet_alerts.repository;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Background task that periodically compacts the {@link Journal} into a new snapshot.
+ * It runs on the scheduler thread, so the writers only wait for the short copy of the data,
+ * never for the snapshot to be written to disk.
+ */
+@Component
+public class JournalCompactor {
+
+    private static final Logger logger = LogManager.getLogger(JournalCompactor.class); // Logger initialization
+    private final DataRepository dataRepository;
+
+    /**
+     * Constructor that initializes the JournalCompactor with the injected DataRepository.
+     *
+     * @param dataRepository The DataRepository instance injected by Spring.
+     */
+    public JournalCompactor(DataRepository dataRepository) {
+        this.dataRepository = dataRepository;
+    }
+
+    /**
+     * Writes a snapshot and truncates the journal if writes were recorded since the last compaction.
+     * Failures are logged and retried on the next run.
+     */
+    @Scheduled(fixedDelayString = "${safetynet.compaction.interval:PT5M}",
+            initialDelayString = "${safetynet.compaction.interval:PT5M}")
+    public void compact() {
+        try {
+            if (dataRepository.compact()) {
+                logger.info("Journal compacted into a new snapshot");
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Journal compaction failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package org.example.safetynet_alerts.repository;
+
+import org.example.safetynet_alerts.models.FireStation;
+import org.example.safetynet_alerts.models.MedicalRecord;
+import org.example.safetynet_alerts.models.Person;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents one write recorded in the {@link Journal}: the operation, the key it was applied to
+ * and, for additions and updates, the new value.
+ */
+public final class JournalEntry {
+
+    /**
+     * The kinds of writes that can be recorded.
+     */
+    public enum Operation {
+        ADD_PERSON,
+        UPDATE_PERSON,
+        DELETE_PERSON,
+        ADD_FIRE_STATION,
+        UPDATE_FIRE_STATION,
+        DELETE_FIRE_STATION,
+        ADD_MEDICAL_RECORD,
+        UPDATE_MEDICAL_RECORD,
+        DELETE_MEDICAL_RECORD
+    }
+
+    private static final int NULL_VALUE = -1;
+
+    private final Operation operation;
+    private final String email; // Key of person updates and deletions
+    private final String address; // Key of fire station updates and deletions
+    private final int station; // Key of fire station updates and deletions
+    private final String firstName; // Key of medical record updates and deletions
+    private final String lastName; // Key of medical record updates and deletions
+    private final Person person;
+    private final FireStation fireStation;
+    private final MedicalRecord medicalRecord;
+
+    private JournalEntry(Operation operation, String email, String address, int station, String firstName,
+                         String lastName, Person person, FireStation fireStation, MedicalRecord medicalRecord) {
+        this.operation = operation;
+        this.email = email;
+        this.address = address;
+        this.station = station;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.person = person;
+        this.fireStation = fireStation;
+        this.medicalRecord = medicalRecord;
+    }
+
+    static JournalEntry addPerson(Person person) {
+        return new JournalEntry(Operation.ADD_PERSON, null, null, 0, null, null, person, null, null);
+    }
+
+    static JournalEntry updatePerson(String email, Person person) {
+        return new JournalEntry(Operation.UPDATE_PERSON, email, null, 0, null, null, person, null, null);
+    }
+
+    static JournalEntry deletePerson(String email) {
+        return new JournalEntry(Operation.DELETE_PERSON, email, null, 0, null, null, null, null, null);
+    }
+
+    static JournalEntry addFireStation(FireStation fireStation) {
+        return new JournalEntry(Operation.ADD_FIRE_STATION, null, null, 0, null, null, null, fireStation, null);
+    }
+
+    static JournalEntry updateFireStation(String address, int station, FireStation fireStation) {
+        return new JournalEntry(Operation.UPDATE_FIRE_STATION, null, address, station, null, null, null, fireStation, null);
+    }
+
+    static JournalEntry deleteFireStation(String address, int station) {
+        return new JournalEntry(Operation.DELETE_FIRE_STATION, null, address, station, null, null, null, null, null);
+    }
+
+    static JournalEntry addMedicalRecord(MedicalRecord medicalRecord) {
+        return new JournalEntry(Operation.ADD_MEDICAL_RECORD, null, null, 0, null, null, null, null, medicalRecord);
+    }
+
+    static JournalEntry updateMedicalRecord(String firstName, String lastName, MedicalRecord medicalRecord) {
+        return new JournalEntry(Operation.UPDATE_MEDICAL_RECORD, null, null, 0, firstName, lastName, null, null, medicalRecord);
+    }
+
+    static JournalEntry deleteMedicalRecord(String firstName, String lastName) {
+        return new JournalEntry(Operation.DELETE_MEDICAL_RECORD, null, null, 0, firstName, lastName, null, null, null);
+    }
+
+    /**
+     * Returns the recorded operation.
+     *
+     * @return The recorded operation.
+     */
+    public Operation getOperation() {
+        return operation;
+    }
+
+    /**
+     * Returns the email of the updated or deleted person.
+     *
+     * @return The email of the updated or deleted person, or null.
+     */
+    public String getEmail() {
+        return email;
+    }
+
+    /**
+     * Returns the address of the updated or deleted fire station.
+     *
+     * @return The address of the updated or deleted fire station, or null.
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * Returns the station number of the updated or deleted fire station.
+     *
+     * @return The station number of the updated or deleted fire station.
+     */
+    public int getStation() {
+        return station;
+    }
+
+    /**
+     * Returns the first name of the updated or deleted medical record.
+     *
+     * @return The first name of the updated or deleted medical record, or null.
+     */
+    public String getFirstName() {
+        return firstName;
+    }
+
+    /**
+     * Returns the last name of the updated or deleted medical record.
+     *
+     * @return The last name of the updated or deleted medical record, or null.
+     */
+    public String getLastName() {
+        return lastName;
+    }
+
+    /**
+     * Returns the added or updated person.
+     *
+     * @return The added or updated person, or null.
+     */
+    public Person getPerson() {
+        return person;
+    }
+
+    /**
+     * Returns the added or updated fire station.
+     *
+     * @return The added or updated fire station, or null.
+     */
+    public FireStation getFireStation() {
+        return fireStation;
+    }
+
+    /**
+     * Returns the added or updated medical record.
+     *
+     * @return The added or updated medical record, or null.
+     */
+    public MedicalRecord getMedicalRecord() {
+        return medicalRecord;
+    }
+
+    /**
+     * Writes the operation followed by the fields it uses.
+     *
+     * @param out The stream receiving the encoded entry.
+     * @throws IOException if the entry cannot be written.
+     */
+    void writeTo(DataOutputStream out) throws IOException {
+        out.writeByte(operation.ordinal());
+        switch (operation) {
+            case ADD_PERSON -> writePerson(out, person);
+            case UPDATE_PERSON -> {
+                writeString(out, email);
+                writePerson(out, person);
+            }
+            case DELETE_PERSON -> writeString(out, email);
+            case ADD_FIRE_STATION -> writeFireStation(out, fireStation);
+            case UPDATE_FIRE_STATION -> {
+                writeString(out, address);
+                out.writeInt(station);
+                writeFireStation(out, fireStation);
+            }
+            case DELETE_FIRE_STATION -> {
+                writeString(out, address);
+                out.writeInt(station);
+            }
+            case ADD_MEDICAL_RECORD -> writeMedicalRecord(out, medicalRecord);
+            case UPDATE_MEDICAL_RECORD -> {
+                writeString(out, firstName);
+                writeString(out, lastName);
+                writeMedicalRecord(out, medicalRecord);
+            }
+            case DELETE_MEDICAL_RECORD -> {
+                writeString(out, firstName);
+                writeString(out, lastName);
+            }
+        }
+    }
+
+    /**
+     * Reads an entry written by {@link #writeTo(DataOutputStream)}.
+     *
+     * @param in The stream containing the encoded entry.
+     * @return the decoded entry.
+     * @throws IOException if the entry cannot be read.
+     */
+    static JournalEntry readFrom(DataInputStream in) throws IOException {
+        Operation operation = Operation.values()[in.readUnsignedByte()];
+        return switch (operation) {
+            case ADD_PERSON -> addPerson(readPerson(in));
+            case UPDATE_PERSON -> updatePerson(readString(in), readPerson(in));
+            case DELETE_PERSON -> deletePerson(readString(in));
+            case ADD_FIRE_STATION -> addFireStation(readFireStation(in));
+            case UPDATE_FIRE_STATION -> updateFireStation(readString(in), in.readInt(), readFireStation(in));
+            case DELETE_FIRE_STATION -> deleteFireStation(readString(in), in.readInt());
+            case ADD_MEDICAL_RECORD -> addMedicalRecord(readMedicalRecord(in));
+            case UPDATE_MEDICAL_RECORD -> updateMedicalRecord(readString(in), readString(in), readMedicalRecord(in));
+            case DELETE_MEDICAL_RECORD -> deleteMedicalRecord(readString(in), readString(in));
+        };
+    }
+
+    private static void writePerson(DataOutputStream out, Person person) throws IOException {
+        writeString(out, person.getFirstName());
+        writeString(out, person.getLastName());
+        writeString(out, person.getAddress());
+        writeString(out, person.getCity());
+        out.writeInt(person.getZip());
+        writeString(out, person.getPhone());
+        writeString(out, person.getEmail());
+    }
+
+    private static Person readPerson(DataInputStream in) throws IOException {
+        return new Person(readString(in), readString(in), readString(in), readString(in), in.readInt(),
+                readString(in), readString(in));
+    }
+
+    private static void writeFireStation(DataOutputStream out, FireStation fireStation) throws IOException {
+        writeString(out, fireStation.getAddress());
+        out.writeInt(fireStation.getStation());
+    }
+
+    private static FireStation readFireStation(DataInputStream in) throws IOException {
+        return new FireStation(readString(in), in.readInt());
+    }
+
+    private static void writeMedicalRecord(DataOutputStream out, MedicalRecord medicalRecord) throws IOException {
+        writeString(out, medicalRecord.getFirstName());
+        writeString(out, medicalRecord.getLastName());
+        writeString(out, medicalRecord.getBirthDate());
+        writeStrings(out, medicalRecord.getMedications());
+        writeStrings(out, medicalRecord.getAllergies());
+    }
+
+    private static MedicalRecord readMedicalRecord(DataInputStream in) throws IOException {
+        return new MedicalRecord(readString(in), readString(in), readString(in), readStrings(in), readStrings(in));
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_VALUE);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL_VALUE) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(NULL_VALUE);
+            return;
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static List<String> readStrings(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        if (size == NULL_VALUE) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+}
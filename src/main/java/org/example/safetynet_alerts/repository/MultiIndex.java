@@ -0,0 +1,171 @@
+package org.example.safetynet_alerts.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hash index from a key to the elements of a {@link Dataset} collection that have it, several elements
+ * possibly sharing the same key.
+ * <p>
+ * The elements of a key are held in an immutable list that is replaced, never modified, on each write,
+ * so readers can look a key up without holding the repository lock and always get a consistent list.
+ * Writes are only made while holding the repository lock, and cost a copy of the elements of a single key.
+ * Null keys are allowed. Elements are compared by identity.
+ * <p>
+ * Copying the elements of a key on each write makes adding k elements under the same key quadratic in k.
+ * Bulk writes are therefore made between {@link #beginBulk()} and {@link #endBulk()}: the added elements are grouped
+ * in mutable lists, and each group is published with a single copy at the end. Until then, readers do not see
+ * the added elements.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the indexed elements.
+ */
+final class MultiIndex<K, V> {
+
+    private static final Object NULL_KEY = new Object(); // Stands for the null key, which the map does not accept
+
+    private final Map<Object, List<V>> entries = new ConcurrentHashMap<>();
+    private Map<Object, List<V>> pending; // Elements added since beginBulk, grouped by key, null outside a bulk write
+
+    private static Object wrap(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+
+    /**
+     * Returns the elements with the given key, in the order they were added, or in the order given when adding them.
+     *
+     * @param key The key to look up.
+     * @return an immutable list of the elements, empty if none has the key.
+     */
+    List<V> get(K key) {
+        return entries.getOrDefault(wrap(key), List.of());
+    }
+
+    /**
+     * Indicates whether at least one element has the given key.
+     *
+     * @param key The key to look up.
+     * @return true if the key is indexed.
+     */
+    boolean contains(K key) {
+        return entries.containsKey(wrap(key));
+    }
+
+    /**
+     * Adds an element under the given key.
+     *
+     * @param key     The key of the element.
+     * @param element The element to add.
+     */
+    void add(K key, V element) {
+        if (pending != null) {
+            pending.computeIfAbsent(wrap(key), k -> new ArrayList<>()).add(element);
+            return;
+        }
+        entries.compute(wrap(key), (k, elements) -> {
+            if (elements == null) {
+                return List.of(element);
+            }
+            List<V> copy = new ArrayList<>(elements.size() + 1);
+            copy.addAll(elements);
+            copy.add(element);
+            return Collections.unmodifiableList(copy);
+        });
+    }
+
+    /**
+     * Adds an element under the given key, at its place in the given order among the elements of the key, which
+     * must already be in that order. The element is expected near the end, so its place is looked for from there.
+     *
+     * @param key     The key of the element.
+     * @param element The element to add.
+     * @param order   The order of the elements of the key.
+     */
+    void add(K key, V element, Comparator<? super V> order) {
+        if (pending != null) {
+            publishPending();
+        }
+        entries.compute(wrap(key), (k, elements) -> {
+            if (elements == null) {
+                return List.of(element);
+            }
+            int index = elements.size();
+            while (index > 0 && order.compare(elements.get(index - 1), element) > 0) {
+                index--;
+            }
+            List<V> copy = new ArrayList<>(elements.size() + 1);
+            copy.addAll(elements.subList(0, index));
+            copy.add(element);
+            copy.addAll(elements.subList(index, elements.size()));
+            return Collections.unmodifiableList(copy);
+        });
+    }
+
+    /**
+     * Removes an element from the given key.
+     *
+     * @param key     The key the element was added under.
+     * @param element The element to remove.
+     */
+    void remove(K key, V element) {
+        if (pending != null) {
+            publishPending();
+        }
+        entries.computeIfPresent(wrap(key), (k, elements) -> {
+            List<V> copy = new ArrayList<>(elements.size());
+            for (V existing : elements) {
+                if (existing != element) {
+                    copy.add(existing);
+                }
+            }
+            return copy.isEmpty() ? null : Collections.unmodifiableList(copy);
+        });
+    }
+
+    /**
+     * Removes every element of the given key.
+     *
+     * @param key The key to remove.
+     * @return the removed elements, empty if none had the key.
+     */
+    List<V> removeAll(K key) {
+        if (pending != null) {
+            publishPending();
+        }
+        List<V> removed = entries.remove(wrap(key));
+        return removed != null ? removed : List.of();
+    }
+
+    /**
+     * Starts a bulk write: the elements added until {@link #endBulk()} are grouped by key instead of being copied
+     * into the index one by one.
+     */
+    void beginBulk() {
+        pending = new HashMap<>();
+    }
+
+    /**
+     * Ends a bulk write, publishing the elements of each key added since {@link #beginBulk()} with a single copy.
+     */
+    void endBulk() {
+        publishPending();
+        pending = null;
+    }
+
+    private void publishPending() {
+        for (Map.Entry<Object, List<V>> group : pending.entrySet()) {
+            entries.merge(group.getKey(), Collections.unmodifiableList(group.getValue()), (elements, added) -> {
+                List<V> copy = new ArrayList<>(elements.size() + added.size());
+                copy.addAll(elements);
+                copy.addAll(added);
+                return Collections.unmodifiableList(copy);
+            });
+        }
+        pending.clear();
+    }
+}
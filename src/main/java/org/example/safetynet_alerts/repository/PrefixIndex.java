@@ -0,0 +1,102 @@
+package org.example.safetynet_alerts.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Sorted, case-insensitive index from a name to the elements of a {@link Dataset} collection that have it,
+ * answering both exact and prefix lookups.
+ * <p>
+ * Names are folded to lower case and kept in a skip list, so an exact lookup costs one search and a prefix lookup
+ * one search plus a walk over the matching names. As in {@link MultiIndex}, the elements of a name are held in an
+ * immutable list that is replaced on each write, so readers do not hold the repository lock. Null names are not
+ * indexed. Elements are compared by identity.
+ *
+ * @param <V> The type of the indexed elements.
+ */
+final class PrefixIndex<V> {
+
+    private final ConcurrentNavigableMap<String, List<V>> entries = new ConcurrentSkipListMap<>();
+
+    private static String fold(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns the elements whose name is equal to the given one, ignoring case.
+     *
+     * @param name The name to look up.
+     * @return an immutable list of the elements, in the order they were added, empty if none has the name.
+     */
+    List<V> get(String name) {
+        return name == null ? List.of() : entries.getOrDefault(fold(name), List.of());
+    }
+
+    /**
+     * Returns the elements whose name starts with the given prefix, ignoring case.
+     *
+     * @param prefix The prefix to look up.
+     * @return a list of the elements, sorted by name then in the order they were added, empty if no name matches.
+     */
+    List<V> getByPrefix(String prefix) {
+        if (prefix == null) {
+            return List.of();
+        }
+        String folded = fold(prefix);
+        List<V> matches = new ArrayList<>();
+        for (Map.Entry<String, List<V>> entry : entries.tailMap(folded).entrySet()) {
+            if (!entry.getKey().startsWith(folded)) {
+                break;
+            }
+            matches.addAll(entry.getValue());
+        }
+        return matches;
+    }
+
+    /**
+     * Adds an element under the given name.
+     *
+     * @param name    The name of the element, ignored if null.
+     * @param element The element to add.
+     */
+    void add(String name, V element) {
+        if (name == null) {
+            return;
+        }
+        entries.compute(fold(name), (k, elements) -> {
+            if (elements == null) {
+                return List.of(element);
+            }
+            List<V> copy = new ArrayList<>(elements.size() + 1);
+            copy.addAll(elements);
+            copy.add(element);
+            return Collections.unmodifiableList(copy);
+        });
+    }
+
+    /**
+     * Removes an element from the given name.
+     *
+     * @param name    The name the element was added under.
+     * @param element The element to remove.
+     */
+    void remove(String name, V element) {
+        if (name == null) {
+            return;
+        }
+        entries.computeIfPresent(fold(name), (k, elements) -> {
+            List<V> copy = new ArrayList<>(elements.size());
+            for (V existing : elements) {
+                if (existing != element) {
+                    copy.add(existing);
+                }
+            }
+            return copy.isEmpty() ? null : Collections.unmodifiableList(copy);
+        });
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.safetynet_alerts.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * List of the elements of one section of a {@link Dataset}, such as its persons, kept in the order they were added
+ * whatever the deletions, with the position of each element.
+ * <p>
+ * A deleted element leaves an empty slot instead of shifting the elements after it, which would change the position
+ * of each of them. The empty slots are dropped all at once when they make up half of the list, which keeps the order
+ * of the remaining elements and makes a deletion cost a constant amortized time.
+ * <p>
+ * The list is only read and written while holding the repository lock. Readers get an immutable copy of the elements,
+ * made on the first read after a write and shared until the next one. Elements are compared by identity.
+ *
+ * @param <T> The type of the elements.
+ */
+final class SectionList<T> {
+
+    private static final int MIN_COMPACTION = 64; // Empty slots below which the list is never compacted
+
+    private final List<T> slots; // Elements in order, null for the slot of a deleted element
+    private final Map<T, Integer> positions = new IdentityHashMap<>(); // Index of each element in the slots
+    private final Comparator<T> order = Comparator.comparingInt(positions::get);
+    private int emptySlots;
+    private List<T> copy; // Immutable copy of the elements given to readers, null until read after a write
+
+    /**
+     * Constructor that initializes an empty list.
+     *
+     * @param capacity The number of elements the list is expected to hold.
+     */
+    SectionList(int capacity) {
+        slots = new ArrayList<>(capacity);
+    }
+
+    /**
+     * Returns the order of the elements in the list, which only compares elements of the list.
+     *
+     * @return a comparator ranking first the element added first.
+     */
+    Comparator<T> order() {
+        return order;
+    }
+
+    /**
+     * Adds an element at the end of the list.
+     *
+     * @param element The element to add.
+     */
+    void add(T element) {
+        positions.put(element, slots.size());
+        slots.add(element);
+        copy = null;
+    }
+
+    /**
+     * Replaces an element of the list, the replacement taking its position.
+     *
+     * @param element     The element to replace.
+     * @param replacement The new element.
+     */
+    void replace(T element, T replacement) {
+        int position = positions.remove(element);
+        slots.set(position, replacement);
+        positions.put(replacement, position);
+        copy = null;
+    }
+
+    /**
+     * Removes an element of the list, without moving the elements after it.
+     *
+     * @param element The element to remove.
+     */
+    void remove(T element) {
+        slots.set(positions.remove(element), null);
+        emptySlots++;
+        copy = null;
+        if (emptySlots >= MIN_COMPACTION && emptySlots * 2 >= slots.size()) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int kept = 0;
+        for (int i = 0; i < slots.size(); i++) {
+            T element = slots.get(i);
+            if (element != null) {
+                slots.set(kept, element);
+                positions.put(element, kept++);
+            }
+        }
+        slots.subList(kept, slots.size()).clear();
+        emptySlots = 0;
+    }
+
+    /**
+     * Returns the elements of the list.
+     *
+     * @return an immutable copy of the elements, in order, which later writes do not affect.
+     */
+    List<T> copy() {
+        if (copy == null) {
+            List<T> elements = new ArrayList<>(slots.size() - emptySlots);
+            for (T element : slots) {
+                if (element != null) {
+                    elements.add(element);
+                }
+            }
+            copy = Collections.unmodifiableList(elements);
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.safetynet_alerts.repository;
+
+import org.example.safetynet_alerts.models.SafetyNetData;
+
+/**
+ * Represents the content of a binary snapshot: the data it holds and the sequence number of the last
+ * {@link Journal} entry included in that data.
+ */
+public final class Snapshot {
+
+    private final SafetyNetData data;
+    private final long journalSequence;
+
+    /**
+     * Constructs a Snapshot with the given data and journal position.
+     *
+     * @param data            The persons, fire stations and medical records of the snapshot.
+     * @param journalSequence The sequence number of the last journal entry included in the data.
+     */
+    public Snapshot(SafetyNetData data, long journalSequence) {
+        this.data = data;
+        this.journalSequence = journalSequence;
+    }
+
+    /**
+     * Returns the data of the snapshot.
+     *
+     * @return the persons, fire stations and medical records.
+     */
+    public SafetyNetData getData() {
+        return data;
+    }
+
+    /**
+     * Returns the sequence number of the last journal entry included in the data.
+     * Entries with a greater sequence number must be replayed on top of the snapshot.
+     *
+     * @return the journal sequence number.
+     */
+    public long getJournalSequence() {
+        return journalSequence;
+    }
+}
@@ -0,0 +1,286 @@
+package org.example.safetynet_alerts.repository;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.safetynet_alerts.models.FireStation;
+import org.example.safetynet_alerts.models.MedicalRecord;
+import org.example.safetynet_alerts.models.Person;
+import org.example.safetynet_alerts.models.SafetyNetData;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Component responsible for writing and reading binary snapshots of the loaded data.
+ * A snapshot stores every distinct string once in a string table, followed by the persons, fire stations and
+ * medical records encoded as references into that table. It is read back through {@link FileChannel#map}, so a
+ * restart does not need to parse the JSON data file again.
+ * <p>
+ * The header records the length and last modification time of the data file the snapshot was built from,
+ * and the sequence number of the last {@link Journal} entry it contains.
+ * A snapshot whose header does not match the current data file is considered stale and is ignored.
+ */
+@Component
+public class SnapshotStore {
+
+    private static final Logger logger = LogManager.getLogger(SnapshotStore.class); // Logger initialization
+    private static final int MAGIC = 0x534E4153; // "SNAS"
+    private static final int VERSION = 2;
+    private static final int NULL_STRING = -1;
+
+    private final Path path; // Location of the snapshot file, null when snapshots are disabled
+
+    /**
+     * Constructor that initializes the SnapshotStore with the configured snapshot location.
+     *
+     * @param path The path of the snapshot file. An empty value disables snapshots.
+     */
+    public SnapshotStore(@Value("${safetynet.snapshot.path:}") String path) {
+        this.path = path == null || path.isBlank() ? null : Path.of(path);
+    }
+
+    /**
+     * Indicates whether snapshots are enabled.
+     *
+     * @return true if a snapshot location is configured.
+     */
+    public boolean isEnabled() {
+        return path != null;
+    }
+
+    /**
+     * Reads the snapshot if it exists and was built from the given data file.
+     *
+     * @param sourceLength       The length of the current data file.
+     * @param sourceLastModified The last modification time of the current data file.
+     * @return the snapshot, or null if there is no usable snapshot.
+     */
+    public Snapshot read(long sourceLength, long sourceLastModified) {
+        if (path == null || !Files.isRegularFile(path)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                logger.warn("Snapshot {} is too large to be mapped, falling back to the data file", path);
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                logger.warn("Snapshot {} has an unknown format, falling back to the data file", path);
+                return null;
+            }
+            if (buffer.getLong() != sourceLength || buffer.getLong() != sourceLastModified) {
+                logger.info("Snapshot {} is stale, falling back to the data file", path);
+                return null;
+            }
+            long journalSequence = buffer.getLong();
+            SafetyNetData data = decode(buffer);
+            logger.info("Snapshot loaded from {}: {} persons, {} fire stations, {} medical records", path,
+                    data.getPersons().size(), data.getFirestations().size(), data.getMedicalrecords().size());
+            return new Snapshot(data, journalSequence);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Unable to read snapshot {}, falling back to the data file: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the given data.
+     * The file is written next to its final location and then atomically moved in place,
+     * so a crash while writing never leaves a truncated snapshot behind.
+     *
+     * @param snapshot           The data to write and its journal position.
+     * @param sourceLength       The length of the data file the data was built from.
+     * @param sourceLastModified The last modification time of the data file the data was built from.
+     * @throws IOException if the snapshot cannot be written.
+     * @throws IllegalStateException if snapshots are disabled.
+     */
+    public void write(Snapshot snapshot, long sourceLength, long sourceLastModified) throws IOException {
+        if (path == null) {
+            throw new IllegalStateException("Snapshots are disabled");
+        }
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileOutputStream fileOutputStream = new FileOutputStream(temporary.toFile());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOutputStream, 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(sourceLength);
+                out.writeLong(sourceLastModified);
+                out.writeLong(snapshot.getJournalSequence());
+                encode(snapshot.getData(), out);
+                out.flush();
+                fileOutputStream.getChannel().force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        logger.info("Snapshot written to {}", path);
+    }
+
+    /**
+     * Encodes the string table followed by the persons, fire stations and medical records.
+     */
+    private static void encode(SafetyNetData data, DataOutputStream out) throws IOException {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (Person person : data.getPersons()) {
+            intern(ids, strings, person.getFirstName(), person.getLastName(), person.getAddress(),
+                    person.getCity(), person.getPhone(), person.getEmail());
+        }
+        for (FireStation fireStation : data.getFirestations()) {
+            intern(ids, strings, fireStation.getAddress());
+        }
+        for (MedicalRecord medicalRecord : data.getMedicalrecords()) {
+            intern(ids, strings, medicalRecord.getFirstName(), medicalRecord.getLastName(), medicalRecord.getBirthDate());
+            intern(ids, strings, medicalRecord.getMedications());
+            intern(ids, strings, medicalRecord.getAllergies());
+        }
+
+        out.writeInt(strings.size());
+        for (String string : strings) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        out.writeInt(data.getPersons().size());
+        for (Person person : data.getPersons()) {
+            writeString(out, ids, person.getFirstName());
+            writeString(out, ids, person.getLastName());
+            writeString(out, ids, person.getAddress());
+            writeString(out, ids, person.getCity());
+            out.writeInt(person.getZip());
+            writeString(out, ids, person.getPhone());
+            writeString(out, ids, person.getEmail());
+        }
+
+        out.writeInt(data.getFirestations().size());
+        for (FireStation fireStation : data.getFirestations()) {
+            writeString(out, ids, fireStation.getAddress());
+            out.writeInt(fireStation.getStation());
+        }
+
+        out.writeInt(data.getMedicalrecords().size());
+        for (MedicalRecord medicalRecord : data.getMedicalrecords()) {
+            writeString(out, ids, medicalRecord.getFirstName());
+            writeString(out, ids, medicalRecord.getLastName());
+            writeString(out, ids, medicalRecord.getBirthDate());
+            writeStrings(out, ids, medicalRecord.getMedications());
+            writeStrings(out, ids, medicalRecord.getAllergies());
+        }
+    }
+
+    /**
+     * Decodes a snapshot body. Repeated values share the same {@link String} instance.
+     */
+    private static SafetyNetData decode(ByteBuffer buffer) {
+        String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        List<Person> persons = new ArrayList<>();
+        for (int i = buffer.getInt(); i > 0; i--) {
+            persons.add(new Person(
+                    readString(buffer, strings),
+                    readString(buffer, strings),
+                    readString(buffer, strings),
+                    readString(buffer, strings),
+                    buffer.getInt(),
+                    readString(buffer, strings),
+                    readString(buffer, strings)
+            ));
+        }
+
+        List<FireStation> fireStations = new ArrayList<>();
+        for (int i = buffer.getInt(); i > 0; i--) {
+            fireStations.add(new FireStation(readString(buffer, strings), buffer.getInt()));
+        }
+
+        List<MedicalRecord> medicalRecords = new ArrayList<>();
+        for (int i = buffer.getInt(); i > 0; i--) {
+            medicalRecords.add(new MedicalRecord(
+                    readString(buffer, strings),
+                    readString(buffer, strings),
+                    readString(buffer, strings),
+                    readStrings(buffer, strings),
+                    readStrings(buffer, strings)
+            ));
+        }
+
+        SafetyNetData data = new SafetyNetData();
+        data.setPersons(persons);
+        data.setFirestations(fireStations);
+        data.setMedicalrecords(medicalRecords);
+        return data;
+    }
+
+    private static void intern(Map<String, Integer> ids, List<String> strings, String... values) {
+        for (String value : values) {
+            if (value != null && !ids.containsKey(value)) {
+                ids.put(value, strings.size());
+                strings.add(value);
+            }
+        }
+    }
+
+    private static void intern(Map<String, Integer> ids, List<String> strings, List<String> values) {
+        if (values != null) {
+            intern(ids, strings, values.toArray(String[]::new));
+        }
+    }
+
+    private static void writeString(DataOutputStream out, Map<String, Integer> ids, String value) throws IOException {
+        out.writeInt(value == null ? NULL_STRING : ids.get(value));
+    }
+
+    private static void writeStrings(DataOutputStream out, Map<String, Integer> ids, List<String> values) throws IOException {
+        if (values == null) {
+            out.writeInt(NULL_STRING);
+            return;
+        }
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, ids, value);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer, String[] strings) {
+        int id = buffer.getInt();
+        return id == NULL_STRING ? null : strings[id];
+    }
+
+    private static List<String> readStrings(ByteBuffer buffer, String[] strings) {
+        int size = buffer.getInt();
+        if (size == NULL_STRING) {
+            return null;
+        }
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(buffer, strings));
+        }
+        return values;
+    }
+}
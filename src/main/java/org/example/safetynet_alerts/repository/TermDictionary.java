@@ -0,0 +1,62 @@
+package org.example.safetynet_alerts.repository;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary giving each distinct allergy or medication key of a {@link Dataset} a dense int code.
+ * <p>
+ * The dataset keeps the codes of the terms of each medical record, so that a query on both an allergy and
+ * a medication compares ints instead of normalizing the terms of every candidate record. The dictionary belongs
+ * to its dataset and is dropped with it on reload. Codes are never reused: a key stays in the dictionary after
+ * its last record is deleted. Keys are only added while holding the repository lock; lookups need no lock.
+ */
+final class TermDictionary {
+
+    static final int UNKNOWN = -1; // Code returned for a key that is not in the dictionary
+
+    private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] keys = new String[64]; // Key of each code
+    private int size; // Number of codes given, guarded by the repository lock
+
+    /**
+     * Returns the code of a key, adding it to the dictionary if needed.
+     *
+     * @param key The normalized allergy or medication, not null.
+     * @return the code of the key.
+     */
+    int intern(String key) {
+        Integer code = codes.get(key);
+        if (code != null) {
+            return code;
+        }
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        keys[size] = key;
+        codes.put(key, size);
+        return size++;
+    }
+
+    /**
+     * Returns the code of a key without adding it.
+     *
+     * @param key The normalized allergy or medication to look up.
+     * @return the code of the key, or {@link #UNKNOWN} if it is not in the dictionary.
+     */
+    int codeOf(String key) {
+        Integer code = codes.get(key);
+        return code != null ? code : UNKNOWN;
+    }
+
+    /**
+     * Returns the key of a code.
+     *
+     * @param code The code of the key.
+     * @return the normalized allergy or medication.
+     */
+    String key(int code) {
+        return keys[code];
+    }
+}
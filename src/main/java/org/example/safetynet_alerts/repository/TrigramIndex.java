@@ -0,0 +1,218 @@
+package org.example.safetynet_alerts.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntPredicate;
+
+/**
+ * Trigram index over the texts of an ID space, such as the addresses of the {@link AddressDictionary},
+ * answering fuzzy searches ranked by similarity.
+ * <p>
+ * Texts are folded to lower case and split into words on any character that is not a letter or a digit; each word
+ * is padded with two spaces in front and one behind and cut into its three-character sequences. A text matches a
+ * query when it shares at least half of the query trigrams, which tolerates typos and missing words, and matches
+ * are ranked by the Dice coefficient of the two trigram sets. A search only reads the posting lists of the query
+ * trigrams, and only allocates counts for the texts it reads there.
+ * <p>
+ * Texts are only added, while holding the repository lock, and each posting list is appended to in place and
+ * published through a volatile size, so searches need no lock.
+ */
+final class TrigramIndex {
+
+    private static final double MIN_QUERY_COVERAGE = 0.5; // Share of the query trigrams a match must contain
+
+    private final Map<String, Postings> postings = new ConcurrentHashMap<>(); // IDs of the texts holding each trigram
+    private volatile int[] trigramCounts = new int[64]; // Number of distinct trigrams of each text
+
+    /**
+     * A text found by a search.
+     *
+     * @param id    The ID of the text.
+     * @param score The similarity of the text to the query, between 0 and 1.
+     */
+    record Match(int id, double score) {
+    }
+
+    /**
+     * Growable list of IDs with a single writer. The size is written after the IDs it covers, so a reader
+     * that reads the size first sees at least that many IDs.
+     */
+    private static final class Postings {
+        private volatile int[] ids = new int[4];
+        private volatile int size;
+
+        void add(int id) {
+            int[] current = ids;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+            }
+            current[size] = id;
+            ids = current;
+            size++;
+        }
+    }
+
+    /**
+     * Returns the distinct trigrams of a text.
+     *
+     * @param text The text to cut.
+     * @return the set of trigrams, empty if the text has no letter or digit.
+     */
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * Indexes a text. Each ID must be added once, in increasing order from 0.
+     *
+     * @param id   The ID of the text.
+     * @param text The text to index.
+     */
+    void add(int id, String text) {
+        Set<String> trigrams = trigrams(text);
+        int[] counts = trigramCounts;
+        if (id >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(counts.length * 2, id + 1));
+        }
+        counts[id] = trigrams.size();
+        trigramCounts = counts;
+        for (String trigram : trigrams) {
+            postings.computeIfAbsent(trigram, k -> new Postings()).add(id);
+        }
+    }
+
+    /**
+     * Searches the texts similar to a query.
+     *
+     * @param query  The text to look for.
+     * @param filter The condition the ID of a match must meet to be returned.
+     * @param limit  The maximum number of matches to return.
+     * @return the best matches, by decreasing score then by ID, empty if the query has no letter or digit.
+     */
+    List<Match> search(String query, IntPredicate filter, int limit) {
+        Set<String> queryTrigrams = trigrams(query);
+        int[] counts = trigramCounts;
+        int[][] lists = new int[queryTrigrams.size()][]; // Posting lists of the query trigrams, as of the search start
+        int[] sizes = new int[queryTrigrams.size()];
+        int listCount = 0;
+        int touched = 0;
+        for (String trigram : queryTrigrams) {
+            Postings list = postings.get(trigram);
+            if (list == null) {
+                continue;
+            }
+            sizes[listCount] = list.size;
+            lists[listCount] = list.ids;
+            touched += sizes[listCount++];
+        }
+
+        SharedCounts shared = new SharedCounts(touched, counts.length); // Trigrams each text shares with the query
+        for (int l = 0; l < listCount; l++) {
+            int[] ids = lists[l];
+            for (int i = 0; i < sizes[l]; i++) {
+                int id = ids[i];
+                if (id < counts.length) { // Otherwise added after the search started
+                    shared.increment(id);
+                }
+            }
+        }
+
+        int minShared = (int) Math.ceil(queryTrigrams.size() * MIN_QUERY_COVERAGE);
+        List<Match> matches = new ArrayList<>();
+        for (int i = 0; i < shared.size(); i++) {
+            int id = shared.id(i);
+            int count = shared.count(i);
+            if (count >= minShared && counts[id] > 0 && filter.test(id)) {
+                matches.add(new Match(id, 2.0 * count / (queryTrigrams.size() + counts[id])));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(Match::score).reversed().thenComparingInt(Match::id));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    /**
+     * Number of query trigrams held by each text a search reads from the posting lists, with the list of those texts.
+     * <p>
+     * A selective query only reads a few IDs, so the counts are kept in an open-addressing table sized for them
+     * rather than in an array covering the whole ID space. A query reading a large share of the IDs, for which
+     * such an array costs no more than the reads, counts them in an array indexed by ID.
+     */
+    private static final class SharedCounts {
+        private static final int DENSE_RATIO = 16; // Share of the ID space from which an array indexed by ID is used
+
+        private final int[] keys; // ID held by each slot, -1 for a free slot, null when the counts are indexed by ID
+        private final int[] counts; // Count of each slot, or of each ID
+        private final int shift; // Keeps the top bits of the hash, as many as the table needs
+        private int[] entries = new int[16]; // Slot, or ID, of each text counted, in the order they were met
+        private int size;
+
+        /**
+         * Constructor that sizes the counts for the given number of reads.
+         *
+         * @param reads   The number of IDs the search reads, duplicates included.
+         * @param idSpace The number of IDs.
+         */
+        SharedCounts(int reads, int idSpace) {
+            if (reads >= idSpace / DENSE_RATIO) {
+                keys = null;
+                counts = new int[idSpace];
+                shift = 0;
+            } else {
+                int capacity = Integer.highestOneBit(Math.max(reads, 1)) << 2; // At most half full
+                keys = new int[capacity];
+                Arrays.fill(keys, -1);
+                counts = new int[capacity];
+                shift = Integer.numberOfLeadingZeros(capacity) + 1;
+            }
+        }
+
+        void increment(int id) {
+            int slot = id;
+            if (keys != null) {
+                slot = (id * 0x9E3779B9) >>> shift;
+                while (keys[slot] != id) {
+                    if (keys[slot] < 0) {
+                        keys[slot] = id;
+                        break;
+                    }
+                    slot = (slot + 1) & (keys.length - 1);
+                }
+            }
+            if (counts[slot]++ == 0) {
+                if (size == entries.length) {
+                    entries = Arrays.copyOf(entries, size * 2);
+                }
+                entries[size++] = slot;
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        int id(int index) {
+            return keys != null ? keys[entries[index]] : entries[index];
+        }
+
+        int count(int index) {
+            return counts[entries[index]];
+        }
+    }
+}
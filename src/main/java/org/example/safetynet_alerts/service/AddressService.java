@@ -0,0 +1,42 @@
+package org.example.safetynet_alerts.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.safetynet_alerts.models.AddressMatch;
+import org.example.safetynet_alerts.repository.DataRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Service class responsible for searching the addresses known from the persons and the fire stations,
+ * so that callers can find the exact address to pass to the address-based queries.
+ */
+@Service
+public class AddressService {
+
+    private static final Logger logger = LogManager.getLogger(AddressService.class); // Logger initialization
+    private final DataRepository dataRepository; // Repository holding the current dataset
+
+    /**
+     * Constructor that initializes the AddressService with the injected DataRepository.
+     *
+     * @param dataRepository The DataRepository instance injected by Spring.
+     */
+    public AddressService(DataRepository dataRepository) {
+        this.dataRepository = dataRepository;
+    }
+
+    /**
+     * Searches the known addresses that are similar to the given text, tolerating typos and missing words.
+     *
+     * @param query the text to look for.
+     * @param limit the maximum number of addresses to return.
+     * @return the most similar addresses, best first, or an empty list if none is similar enough.
+     */
+    public List<AddressMatch> searchAddresses(String query, int limit) {
+        List<AddressMatch> matches = dataRepository.searchAddresses(query, limit);
+        logger.debug("{} addresses found for: {}", matches.size(), query);
+        return matches;
+    }
+}
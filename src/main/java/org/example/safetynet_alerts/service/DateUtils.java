@@ -1,25 +1,36 @@
 package org.example.safetynet_alerts.service;
 
-import java.text.DateFormat;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.time.LocalDate;
-import java.time.Period;
-import java.time.ZoneId;
-import java.util.Date;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 import java.util.Locale;
 
 /**
  * Utility class for handling date-related operations.
  * Provides methods for calculating age based on a given birthdate and other date-related utility functions.
+ * <p>
+ * Birthdates are parsed once into an epoch day, the number of days since 1970-01-01, which
+ * {@link org.example.safetynet_alerts.models.MedicalRecord} keeps alongside the original text. Ages are then
+ * computed from the epoch day and the epoch day of the current date with integer arithmetic only. The current date
+ * is given by the caller, so that an age agrees with the day the repository classifies children on.
  */
 public class DateUtils {
 
+    /**
+     * Epoch day standing for a birthdate that is missing or cannot be parsed.
+     */
+    public static final int UNKNOWN_DATE = Integer.MIN_VALUE;
+
+    private static final DateTimeFormatter FORMAT = DateTimeFormatter.ofPattern("d/M/u", Locale.ENGLISH)
+            .withResolverStyle(ResolverStyle.LENIENT); // Out of range days and months carry over, as with SimpleDateFormat
+
     private DateUtils() {
         throw new IllegalStateException("Utility class");
     }
+
     /**
-     * Calculates the age of a person based on their birthdate.
+     * Calculates the age of a person based on their birthdate, on the current date of the system clock.
      * The birthdate should be provided in the format "dd/MM/yyyy".
      *
      * @param birthDate The birthdate of the person as a String in the format "dd/MM/yyyy".
@@ -30,31 +41,57 @@ public class DateUtils {
         if (birthDate == null) {
             throw new IllegalArgumentException("The birth date cannot be null.");
         }
+        return calculateAge(parseEpochDay(birthDate), (int) LocalDate.now().toEpochDay());
+    }
 
-        Date date = parseDate(birthDate);
-
-        // Convert java.util.Date into java.time.LocalDate
-        LocalDate birthLocalDate = date.toInstant()
-                .atZone(ZoneId.systemDefault())
-                .toLocalDate();
+    /**
+     * Calculates the age of a person from their birthdate parsed by {@link #parseEpochDay(String)}.
+     * The result is the number of whole years between the birthdate and the given day, negative for a later birthdate.
+     *
+     * @param birthEpochDay The birthdate of the person as an epoch day.
+     * @param todayEpochDay The current date as an epoch day.
+     * @return The calculated age of the person in years.
+     * @throws IllegalArgumentException if the birthdate is {@link #UNKNOWN_DATE}.
+     */
+    public static int calculateAge(int birthEpochDay, int todayEpochDay) {
+        if (birthEpochDay == UNKNOWN_DATE) {
+            throw new IllegalArgumentException("Invalid date format. Expected format: dd/MM/yyyy.");
+        }
+        // The difference of two dates written as yyyyMMdd, divided by 10000, is the number of whole years between them
+        return (civilDate(todayEpochDay) - civilDate(birthEpochDay)) / 10000;
+    }
 
-        // Calculate age in years
-        return Period.between(birthLocalDate, LocalDate.now()).getYears();
+    /**
+     * Converts an epoch day into its civil date written as the number yyyyMMdd,
+     * with the civil-from-days algorithm of H. Hinnant.
+     */
+    private static int civilDate(int epochDay) {
+        int z = epochDay + 719468;
+        int era = (z >= 0 ? z : z - 146096) / 146097;
+        int dayOfEra = z - era * 146097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 10000 + month * 100 + day;
     }
 
     /**
-     * Parses a birthdate string into a {@link Date} object.
-     * The expected format for the birthdate string is "dd/MM/yyyy".
+     * Parses a birthdate string into an epoch day.
+     * The expected format for the birthdate string is "dd/MM/yyyy"; leading zeros may be omitted.
+     * As with the lenient {@link java.text.SimpleDateFormat} used before, a day or month out of range carries over
+     * to the next months or years, so that "02/18/2012" is read as June 2, 2013.
      *
      * @param birthDate The birthdate string to be parsed.
-     * @return The corresponding {@link Date} object.
+     * @return The number of days from 1970-01-01 to the birthdate.
      * @throws IllegalArgumentException if the date format is invalid.
      */
-    private static Date parseDate(String birthDate) {
-        DateFormat format = new SimpleDateFormat("dd/MM/yyyy", Locale.ENGLISH);
+    public static int parseEpochDay(String birthDate) {
         try {
-            return format.parse(birthDate);
-        } catch (ParseException e) {
+            return (int) LocalDate.parse(birthDate, FORMAT).toEpochDay();
+        } catch (DateTimeParseException e) {
             throw new IllegalArgumentException("Invalid date format. Expected format: dd/MM/yyyy. Provided: " + birthDate, e);
         }
     }
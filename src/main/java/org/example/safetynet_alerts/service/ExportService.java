@@ -0,0 +1,113 @@
+package org.example.safetynet_alerts.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.safetynet_alerts.models.SafetyNetData;
+import org.example.safetynet_alerts.repository.DataRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Service class responsible for exporting the whole dataset as a stream.
+ * <p>
+ * The persons, fire stations and medical records are copied from the {@link DataRepository} once, at the start of
+ * the export, and written straight to the output. The export is therefore a consistent view of one dataset: writes
+ * and reloads made while it runs are not included. Only the references to the records are copied, so the copy costs
+ * a few bytes per record rather than a serialized copy of the data.
+ * <p>
+ * Two formats are available: newline-delimited JSON, one {@code {"person": {...}}}, {@code {"firestation": {...}}}
+ * or {@code {"medicalrecord": {...}}} object per line as accepted by the {@link ImportService}, and a single JSON
+ * object holding the {@code persons}, {@code firestations} and {@code medicalrecords} arrays like the data file.
+ */
+@Service
+public class ExportService {
+
+    private static final Logger logger = LogManager.getLogger(ExportService.class); // Logger initialization
+    private final DataRepository dataRepository; // Repository holding the current dataset
+    private final ObjectMapper objectMapper; // ObjectMapper injected via constructor
+
+    /**
+     * Constructor that initializes the ExportService with the injected DataRepository and ObjectMapper.
+     *
+     * @param dataRepository The DataRepository instance injected by Spring.
+     * @param objectMapper   The ObjectMapper instance injected by Spring.
+     */
+    public ExportService(DataRepository dataRepository, ObjectMapper objectMapper) {
+        this.dataRepository = dataRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the dataset as newline-delimited JSON.
+     *
+     * @param outputStream The stream receiving the UTF-8 encoded records. It is not closed.
+     * @throws IOException if the output cannot be written.
+     */
+    public void exportNdjson(OutputStream outputStream) throws IOException {
+        long start = System.nanoTime();
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            SafetyNetData data = dataRepository.copyData();
+            long count = writeLines(generator, "person", data.getPersons())
+                    + writeLines(generator, "firestation", data.getFirestations())
+                    + writeLines(generator, "medicalrecord", data.getMedicalrecords());
+            logger.info("Exported {} records as NDJSON in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Writes the dataset as a single JSON object with one array per section.
+     *
+     * @param outputStream The stream receiving the UTF-8 encoded document. It is not closed.
+     * @throws IOException if the output cannot be written.
+     */
+    public void exportJson(OutputStream outputStream) throws IOException {
+        long start = System.nanoTime();
+        try (JsonGenerator generator = createGenerator(outputStream)) {
+            SafetyNetData data = dataRepository.copyData();
+            generator.writeStartObject();
+            long count = writeArray(generator, "persons", data.getPersons())
+                    + writeArray(generator, "firestations", data.getFirestations())
+                    + writeArray(generator, "medicalrecords", data.getMedicalrecords());
+            generator.writeEndObject();
+            logger.info("Exported {} records as JSON in {} ms", count, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return generator;
+    }
+
+    /**
+     * Writes each element of a section as a one-field object followed by a line feed.
+     */
+    private long writeLines(JsonGenerator generator, String type, List<?> section) throws IOException {
+        for (Object element : section) {
+            generator.writeStartObject();
+            generator.writeFieldName(type);
+            generator.writeObject(element);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+        return section.size();
+    }
+
+    /**
+     * Writes the elements of a section as a named array.
+     */
+    private long writeArray(JsonGenerator generator, String name, List<?> section) throws IOException {
+        generator.writeArrayFieldStart(name);
+        for (Object element : section) {
+            generator.writeObject(element);
+        }
+        generator.writeEndArray();
+        return section.size();
+    }
+}
@@ -1,60 +1,31 @@
 package org.example.safetynet_alerts.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 import org.example.safetynet_alerts.models.FireStation;
-import org.example.safetynet_alerts.models.FireStationsData;
-import org.springframework.core.io.ClassPathResource;
+import org.example.safetynet_alerts.repository.DataRepository;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * Service class responsible for handling operations related to fire stations.
- * This includes loading fire station data from a JSON file, retrieving fire stations by various criteria,
+ * This includes retrieving fire stations by various criteria,
  * adding, updating, and deleting fire stations.
  */
 @Service
 public class FireStationService {
 
     private static final Logger logger = LogManager.getLogger(FireStationService.class); // Logger initialization
-    private List<FireStation> fireStations;
-    private final ObjectMapper objectMapper; // Injection of ObjectMapper via constructor
+    private final DataRepository dataRepository; // Repository holding the current dataset, through which every write goes
 
     /**
-     * Constructor that initializes the FireStationService by injecting the ObjectMapper and loading the fire stations data.
+     * Constructor that initializes the FireStationService with the fire stations held by the injected DataRepository.
      *
-     * @param objectMapper The ObjectMapper instance injected by Spring.
-     * @throws IllegalArgumentException if there is an error during the loading of fire stations data.
+     * @param dataRepository The DataRepository instance injected by Spring.
      */
-    public FireStationService(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
-        try {
-            loadFireStations();
-        } catch (Exception e) {
-            logger.error("Error loading JSON data: {}", e.getMessage());
-            throw new IllegalArgumentException("Unable to load JSON data", e);
-        }
-    }
-
-    /**
-     * Loads the fire stations data from the `data.json` file.
-     * The JSON data is parsed and mapped into a {@link FireStationsData} object.
-     *
-     * @throws IOException if there is an error reading the file or parsing the data.
-     */
-    private void loadFireStations() throws IOException {
-        FireStationsData data = objectMapper.readValue(
-                new ClassPathResource("data.json").getInputStream(),
-                FireStationsData.class
-        );
-
-        fireStations = data.getFirestations();
-        logger.info("Data loaded: {}", fireStations);
+    public FireStationService(DataRepository dataRepository) {
+        this.dataRepository = dataRepository;
     }
 
     /**
@@ -63,7 +34,7 @@ public class FireStationService {
      * @return a list of all {@link FireStation} objects.
      */
     public List<FireStation> getAllFireStations() {
-        return fireStations;
+        return dataRepository.getFireStations();
     }
 
     /**
@@ -73,10 +44,7 @@ public class FireStationService {
      * @return a list of {@link FireStation} objects that match the given station number.
      */
     public List<FireStation> getFireStationByNumber(int station) {
-        return fireStations.stream()
-                .filter(fireStation -> fireStation.getStation() == station)
-                .distinct()
-                .collect(Collectors.toList());
+        return dataRepository.getFireStationsByNumber(station);
     }
 
     /**
@@ -86,8 +54,7 @@ public class FireStationService {
      * @return a list of addresses corresponding to the given station number.
      */
     public List<String> getAddressByFireStationsNumber(int station) {
-        return fireStations.stream()
-                .filter(fireStation -> fireStation.getStation() == station)
+        return dataRepository.getFireStationsByNumber(station).stream()
                 .map(FireStation::getAddress)
                 .toList();
     }
@@ -99,9 +66,7 @@ public class FireStationService {
      * @return a list of {@link FireStation} objects that match the given address.
      */
     public List<FireStation> getFireStationByAddress(String address) {
-        return fireStations.stream()
-                .filter(fireStation -> Objects.equals(fireStation.getAddress(), address))
-                .toList();
+        return dataRepository.getFireStationsByAddress(address);
     }
 
     /**
@@ -112,16 +77,11 @@ public class FireStationService {
      * @return true if the fire station was successfully added, false if it already exists.
      */
     public boolean addFireStation(FireStation fireStation) {
-        boolean exists = fireStations.stream()
-                .anyMatch(existing -> existing.getAddress().equals(fireStation.getAddress()) &&
-                        existing.getStation() == fireStation.getStation());
-
-        if (exists) {
+        if (!dataRepository.addFireStation(fireStation)) {
             logger.error("A FireStation with this address and station number already exists: {}", fireStation);
             return false;
         }
 
-        fireStations.add(fireStation);
         logger.info("FireStation added: {}", fireStation);
         return true;
     }
@@ -137,12 +97,10 @@ public class FireStationService {
      * @throws IllegalArgumentException if the fire station is not found for the given address and station number.
      */
     public FireStation updateFireStation(String address, int station, FireStation updatedFireStation) {
-        for (int i = 0; i < fireStations.size(); i++) {
-            if (fireStations.get(i).getAddress().equals(address) && fireStations.get(i).getStation() == station) {
-                fireStations.set(i, updatedFireStation);
-                logger.info("FireStation updated: {}", updatedFireStation);
-                return fireStations.get(i);
-            }
+        FireStation fireStation = dataRepository.updateFireStation(address, station, updatedFireStation);
+        if (fireStation != null) {
+            logger.info("FireStation updated: {}", updatedFireStation);
+            return fireStation;
         }
         throw new IllegalArgumentException("FireStation not found for the address and station number: "
                 + address + " " + station);
@@ -156,7 +114,7 @@ public class FireStationService {
      * @return true if the fire station was successfully removed, false otherwise.
      */
     public boolean deleteFireStation(int station, String address) {
-        boolean removed = fireStations.removeIf(fireStation -> fireStation.getStation() == station && fireStation.getAddress().equals(address));
+        boolean removed = dataRepository.deleteFireStation(address, station);
         if (removed) {
             logger.info("FireStation deleted for address: {}", address + " " + station);
         } else {
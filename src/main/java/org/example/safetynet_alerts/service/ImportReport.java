@@ -0,0 +1,95 @@
+package org.example.safetynet_alerts.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of a bulk import: how many records were added, and why the other lines were rejected.
+ */
+public class ImportReport {
+
+    private int imported; // Number of records added
+    private final List<Failure> failures = new ArrayList<>(); // Rejected lines, in input order
+
+    /**
+     * Represents a rejected line of the import.
+     */
+    public static class Failure {
+
+        private final int line; // Line number in the input, starting at 1
+        private final String message; // Reason why the line was rejected
+
+        /**
+         * Constructor to create a Failure for a rejected line.
+         *
+         * @param line    The line number in the input, starting at 1.
+         * @param message The reason why the line was rejected.
+         */
+        public Failure(int line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        /**
+         * Returns the line number in the input.
+         *
+         * @return The line number, starting at 1.
+         */
+        public int getLine() {
+            return line;
+        }
+
+        /**
+         * Returns the reason why the line was rejected.
+         *
+         * @return The failure message.
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    /**
+     * Returns the number of records added.
+     *
+     * @return The number of imported records.
+     */
+    public int getImported() {
+        return imported;
+    }
+
+    /**
+     * Returns the number of rejected lines.
+     *
+     * @return The number of failures.
+     */
+    public int getFailed() {
+        return failures.size();
+    }
+
+    /**
+     * Returns the rejected lines, in input order.
+     *
+     * @return The list of failures.
+     */
+    public List<Failure> getFailures() {
+        return failures;
+    }
+
+    /**
+     * Records that a record was added.
+     */
+    void addImported() {
+        imported++;
+    }
+
+    /**
+     * Records that a line was rejected.
+     *
+     * @param line    The line number in the input, starting at 1.
+     * @param message The reason why the line was rejected.
+     */
+    void addFailure(int line, String message) {
+        failures.add(new Failure(line, message));
+    }
+}
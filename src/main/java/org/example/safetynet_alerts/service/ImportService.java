@@ -0,0 +1,152 @@
+package org.example.safetynet_alerts.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.safetynet_alerts.models.FireStation;
+import org.example.safetynet_alerts.models.MedicalRecord;
+import org.example.safetynet_alerts.models.Person;
+import org.example.safetynet_alerts.repository.DataRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Service class responsible for importing persons, fire stations and medical records in bulk.
+ * <p>
+ * The input is newline-delimited JSON: each line is an object with a single field, {@code person},
+ * {@code firestation} or {@code medicalrecord}, holding the record in the same form as the data file, e.g.
+ * {@code {"person": {"firstName": "John", ...}}}. Blank lines are ignored. The input is streamed, and the parsed
+ * records are handed to the {@link DataRepository} in chunks, each one added under a single lock acquisition with
+ * its duplicate checks answered by the dataset indexes and made durable by a single journal sync.
+ * A line that cannot be parsed, or whose record already exists, is reported without stopping the import.
+ */
+@Service
+public class ImportService {
+
+    private static final Logger logger = LogManager.getLogger(ImportService.class); // Logger initialization
+    private final DataRepository dataRepository; // Repository holding the current dataset, through which every write goes
+    private final ObjectMapper objectMapper; // ObjectMapper injected via constructor
+    private final int chunkSize; // Number of records committed together
+
+    /**
+     * Constructor that initializes the ImportService with the injected DataRepository and ObjectMapper.
+     *
+     * @param dataRepository The DataRepository instance injected by Spring.
+     * @param objectMapper   The ObjectMapper instance injected by Spring.
+     * @param chunkSize      The number of records committed together, at least 1.
+     */
+    public ImportService(DataRepository dataRepository, ObjectMapper objectMapper,
+                         @Value("${safetynet.import.chunk-size:1000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Import chunk size must be at least 1.");
+        }
+        this.dataRepository = dataRepository;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports the records of a newline-delimited JSON stream.
+     *
+     * @param inputStream The UTF-8 encoded input.
+     * @return the report of the imported records and rejected lines.
+     * @throws IOException if the input cannot be read.
+     */
+    public ImportReport importRecords(InputStream inputStream) throws IOException {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport();
+        List<Object> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkLines = new ArrayList<>(chunkSize);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                chunk.add(parseLine(line));
+                chunkLines.add(lineNumber);
+            } catch (JsonProcessingException e) {
+                report.addFailure(lineNumber, e.getOriginalMessage());
+            } catch (IllegalArgumentException e) {
+                report.addFailure(lineNumber, e.getMessage());
+            }
+            if (chunk.size() == chunkSize) {
+                commit(chunk, chunkLines, report);
+            }
+        }
+        commit(chunk, chunkLines, report);
+        report.getFailures().sort(Comparator.comparingInt(ImportReport.Failure::getLine));
+        logger.info("Imported {} records in {} ms, {} lines rejected", report.getImported(),
+                (System.nanoTime() - start) / 1_000_000, report.getFailed());
+        return report;
+    }
+
+    /**
+     * Parses one line into a person, a fire station or a medical record.
+     *
+     * @param line The JSON object of the line.
+     * @return the parsed record.
+     * @throws JsonProcessingException  if the line is not valid JSON or does not match the record type.
+     * @throws IllegalArgumentException if the line does not hold exactly one known record type, as an object.
+     */
+    private Object parseLine(String line) throws JsonProcessingException {
+        JsonNode node = objectMapper.readTree(line);
+        if (node == null || !node.isObject() || node.size() != 1) {
+            throw new IllegalArgumentException("Expected an object with a single person, firestation or medicalrecord field.");
+        }
+        String type = node.fieldNames().next();
+        if (!node.get(type).isObject()) {
+            throw new IllegalArgumentException("Expected an object as the " + type + " record.");
+        }
+        return switch (type) {
+            case "person" -> objectMapper.treeToValue(node.get(type), Person.class);
+            case "firestation" -> objectMapper.treeToValue(node.get(type), FireStation.class);
+            case "medicalrecord" -> objectMapper.treeToValue(node.get(type), MedicalRecord.class);
+            default -> throw new IllegalArgumentException("Unknown record type: " + type);
+        };
+    }
+
+    /**
+     * Adds the pending chunk to the repository and reports the records that already existed.
+     */
+    private void commit(List<Object> chunk, List<Integer> chunkLines, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        boolean[] added = dataRepository.addAll(chunk);
+        for (int i = 0; i < added.length; i++) {
+            if (added[i]) {
+                report.addImported();
+            } else {
+                report.addFailure(chunkLines.get(i), "Duplicate " + describe(chunk.get(i)));
+            }
+        }
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private static String describe(Object record) {
+        if (record instanceof Person person) {
+            return "person with email " + person.getEmail();
+        }
+        if (record instanceof FireStation fireStation) {
+            return "fire station " + fireStation.getStation() + " at " + fireStation.getAddress();
+        }
+        MedicalRecord medicalRecord = (MedicalRecord) record;
+        return "medical record for " + medicalRecord.getFirstName() + " " + medicalRecord.getLastName();
+    }
+}
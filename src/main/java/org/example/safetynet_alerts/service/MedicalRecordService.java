@@ -1,59 +1,31 @@
 package org.example.safetynet_alerts.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.safetynet_alerts.models.MedicalRecord;
-import org.example.safetynet_alerts.models.MedicalRecordData;
-import org.springframework.core.io.ClassPathResource;
+import org.example.safetynet_alerts.repository.DataRepository;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * Service class responsible for handling operations related to medical records.
- * This includes loading medical records data from a JSON file, retrieving medical records by first and last names,
+ * This includes retrieving medical records by first and last names,
  * adding, updating, and deleting medical records.
  */
 @Service
 public class MedicalRecordService {
 
     private static final Logger logger = LogManager.getLogger(MedicalRecordService.class); // Logger initialization
-    private List<MedicalRecord> medicalRecordList;
-    private final ObjectMapper objectMapper; // Injection of ObjectMapper via constructor
+    private final DataRepository dataRepository; // Repository holding the current dataset, through which every write goes
 
     /**
-     * Constructor that initializes the MedicalRecordService by injecting the ObjectMapper and loading the medical records data.
+     * Constructor that initializes the MedicalRecordService with the medical records held by the injected DataRepository.
      *
-     * @param objectMapper The ObjectMapper instance injected by Spring.
-     * @throws IllegalArgumentException if there is an error during the loading of medical records data.
+     * @param dataRepository The DataRepository instance injected by Spring.
      */
-    public MedicalRecordService(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
-        try {
-            loadMedicalRecordList();
-        } catch (Exception e) {
-            logger.error("Error loading JSON data: {}", e.getMessage());
-            throw new IllegalArgumentException("Unable to load JSON data", e);
-        }
-    }
-
-    /**
-     * Loads the medical records data from the `data.json` file.
-     * The JSON data is parsed and mapped into a {@link MedicalRecordData} object.
-     *
-     * @throws IOException if there is an error reading the file or parsing the data.
-     */
-    private void loadMedicalRecordList() throws IOException {
-        MedicalRecordData data = objectMapper.readValue(
-                new ClassPathResource("data.json").getInputStream(),
-                MedicalRecordData.class
-        );
-
-        medicalRecordList = data.getMedicalrecords();
-        logger.info("Data loaded: {}", medicalRecordList.size());
+    public MedicalRecordService(DataRepository dataRepository) {
+        this.dataRepository = dataRepository;
     }
 
     /**
@@ -62,7 +34,7 @@ public class MedicalRecordService {
      * @return a list of all {@link MedicalRecord} objects.
      */
     public List<MedicalRecord> getAllMedicalRecordList() {
-        return medicalRecordList;
+        return dataRepository.getMedicalRecords();
     }
 
     /**
@@ -74,12 +46,27 @@ public class MedicalRecordService {
      *         or null if no record is found.
      */
     public MedicalRecord getMedicalRecordByFirstnameAndLastname(String firstname, String lastname) {
-        return medicalRecordList.stream()
-                .filter(fireStation -> Objects.equals(fireStation.getFirstName(), firstname) &&
-                        Objects.equals(fireStation.getLastName(), lastname)
-                )
-                .findAny()
-                .orElse(null);
+        return dataRepository.getMedicalRecordByName(firstname, lastname);
+    }
+
+    /**
+     * Retrieves the medical records listing the given allergy, ignoring case.
+     *
+     * @param allergy The allergy to look for.
+     * @return a list of the matching {@link MedicalRecord} objects, empty if none lists the allergy.
+     */
+    public List<MedicalRecord> getMedicalRecordsByAllergy(String allergy) {
+        return dataRepository.getMedicalRecordsByTerms(allergy, null);
+    }
+
+    /**
+     * Retrieves the medical records listing the given medication at any dose, ignoring case.
+     *
+     * @param medication The medication to look for, with or without its dose.
+     * @return a list of the matching {@link MedicalRecord} objects, empty if none lists the medication.
+     */
+    public List<MedicalRecord> getMedicalRecordsByMedication(String medication) {
+        return dataRepository.getMedicalRecordsByTerms(null, medication);
     }
 
     /**
@@ -90,16 +77,11 @@ public class MedicalRecordService {
      * @return true if the medical record was successfully added, false if it already exists.
      */
     public boolean addMedicalRecord(MedicalRecord medicalRecord) {
-        boolean exists = medicalRecordList.stream()
-                .anyMatch(existing -> existing.getFirstName().equals(medicalRecord.getFirstName()) &&
-                        Objects.equals(existing.getLastName(), medicalRecord.getLastName()));
-
-        if (exists) {
+        if (!dataRepository.addMedicalRecord(medicalRecord)) {
             logger.error("A MedicalRecord with this first and last name already exists: {}", medicalRecord);
             return false;
         }
 
-        medicalRecordList.add(medicalRecord);
         logger.info("MedicalRecord added: {}", medicalRecord);
         return true;
     }
@@ -115,13 +97,10 @@ public class MedicalRecordService {
      * @throws IllegalArgumentException if the medical record is not found for the given first and last name.
      */
     public MedicalRecord updateMedicalRecord(String firstname, String lastname, MedicalRecord updatedMedicalRecord) {
-        for (int i = 0; i < medicalRecordList.size(); i++) {
-            if (medicalRecordList.get(i).getFirstName().equals(firstname) &&
-                    Objects.equals(medicalRecordList.get(i).getLastName(), lastname)) {
-                medicalRecordList.set(i, updatedMedicalRecord);
-                logger.info("MedicalRecord updated: {}", updatedMedicalRecord);
-                return medicalRecordList.get(i);
-            }
+        MedicalRecord medicalRecord = dataRepository.updateMedicalRecord(firstname, lastname, updatedMedicalRecord);
+        if (medicalRecord != null) {
+            logger.info("MedicalRecord updated: {}", updatedMedicalRecord);
+            return medicalRecord;
         }
         throw new IllegalArgumentException("MedicalRecord not found for the first and last name: "
                 + firstname + " " + lastname);
@@ -135,8 +114,7 @@ public class MedicalRecordService {
      * @return true if the medical record was successfully removed, false otherwise.
      */
     public boolean deleteMedicalRecord(String firstname, String lastname) {
-        boolean removed = medicalRecordList.removeIf(medicalRecord -> Objects.equals(medicalRecord.getFirstName(), firstname) &&
-                medicalRecord.getLastName().equals(lastname));
+        boolean removed = dataRepository.deleteMedicalRecord(firstname, lastname);
         if (removed) {
             logger.info("MedicalRecord deleted for the name: {}", firstname + " " + lastname);
         } else {
@@ -1,15 +1,13 @@
 package org.example.safetynet_alerts.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.safetynet_alerts.models.MedicalRecord;
 import org.example.safetynet_alerts.models.Person;
-import org.example.safetynet_alerts.models.PersonsData;
-import org.springframework.core.io.ClassPathResource;
+import org.example.safetynet_alerts.repository.DataRepository;
+import org.example.safetynet_alerts.repository.Dataset;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
 import java.util.*;
 
 /**
@@ -21,64 +19,39 @@ import java.util.*;
 public class PersonInfoService {
 
     private static final Logger logger = LogManager.getLogger(PersonInfoService.class); // Logger initialization
-    private List<Person> personList;
-    private final ObjectMapper objectMapper; // ObjectMapper injected via constructor
-    private final MedicalRecordService medicalRecordService;
+    private final DataRepository dataRepository; // Repository holding the current dataset
     private final FireStationService fireStationService;
 
     /**
-     * Constructor that initializes the PersonInfoService with injected dependencies for ObjectMapper,
-     * MedicalRecordService, and FireStationService. It also loads the person data from the JSON file.
+     * Constructor that initializes the PersonInfoService with injected dependencies for DataRepository
+     * and FireStationService. The person data is read from the shared repository, so the changes made through
+     * {@link PersonService} are visible here. The medical record of each person is the one the repository links to it.
      *
-     * @param objectMapper        The ObjectMapper instance injected by Spring.
-     * @param medicalRecordService The service for accessing medical records.
-     * @param fireStationService   The service for accessing fire station data.
-     * @throws IllegalArgumentException if there is an error loading the person data.
+     * @param dataRepository     The DataRepository instance injected by Spring.
+     * @param fireStationService The service for accessing fire station data.
      */
     public PersonInfoService(
-            ObjectMapper objectMapper,
-            MedicalRecordService medicalRecordService,
+            DataRepository dataRepository,
             FireStationService fireStationService
     ) {
-        this.objectMapper = objectMapper;
-        this.medicalRecordService = medicalRecordService;
+        this.dataRepository = dataRepository;
         this.fireStationService = fireStationService;
-        try {
-            loadPersonList();
-        } catch (Exception e) {
-            logger.error("Error loading JSON data: {}", e.getMessage());
-            throw new IllegalArgumentException("Unable to load JSON data", e);
-        }
-    }
-
-    /**
-     * Loads the list of persons from the `data.json` file.
-     * The JSON data is parsed and mapped into a {@link PersonsData} object.
-     *
-     * @throws IOException if there is an error reading the file or parsing the data.
-     */
-    private void loadPersonList() throws IOException {
-        PersonsData data = objectMapper.readValue(
-                new ClassPathResource("data.json").getInputStream(),
-                PersonsData.class
-        );
-        personList = data.getPersons();
-        logger.info("Data loaded: {}", personList.size());
     }
 
     /**
      * Retrieves information about a list of persons, including personal details and medical information.
+     * The ages are computed for the current day of the repository.
      *
      * @param persons A list of {@link Person} objects whose information is to be retrieved.
      * @return a list of maps containing personal information, age, medications, and allergies for each person.
      */
     public List<Map<String, Object>> getAllPersonInfo(List<Person> persons) {
+        int today = dataRepository.getToday();
         return persons.stream()
                 .map(person -> {
-                    MedicalRecord medicalRecord = medicalRecordService.getMedicalRecordByFirstnameAndLastname(
-                            person.getFirstName(), person.getLastName());
+                    MedicalRecord medicalRecord = dataRepository.getMedicalRecord(person);
                     int age = (medicalRecord != null && medicalRecord.getBirthDate() != null)
-                            ? DateUtils.calculateAge(medicalRecord.getBirthDate())
+                            ? DateUtils.calculateAge(medicalRecord.getBirthEpochDay(), today)
                             : 0; // Default value if birthdate is missing
 
                     return Map.of(
@@ -97,71 +70,112 @@ public class PersonInfoService {
 
     /**
      * Retrieves a list of children living at a specific address.
-     * It filters persons based on age and address, ensuring that only children (age <= 18) are included.
+     * The children (age <= 18) are read from the age classification kept by the repository for the current day,
+     * their ages are computed for that same day, and the residents of the address, grouped by the repository,
+     * are visited once to list their names.
+     * The family members of each child are these names without the child: the names are built once and shared,
+     * but each child gets its own list, so the output grows with the number of children times the number of residents.
+     * Residents without a medical record have no known age: they are never reported as children,
+     * but are listed among the family members.
      *
      * @param address The address where children need to be identified.
      * @return a list of maps containing information about each child and their family members.
      */
     public List<Map<String, Object>> getChildAlertByAddress(String address) {
-        List<Person> children = personList.stream()
-                .filter(person -> Objects.equals(person.getAddress(), address) &&
-                        DateUtils.calculateAge(medicalRecordService.getMedicalRecordByFirstnameAndLastname(person.getFirstName(), person.getLastName()).getBirthDate()) <= 18)
-                .toList();
-
+        List<Person> children = dataRepository.getChildrenByAddress(address);
         if (children.isEmpty()) {
             return Collections.emptyList();
         }
+        List<Person> residents = dataRepository.getPersonsByAddress(address);
+        int today = dataRepository.getToday();
 
-        return children.stream()
-                .map(child -> {
-                    List<Person> familyMembers = personList.stream()
-                            .filter(person -> Objects.equals(person.getAddress(), address) && !person.equals(child))
-                            .toList();
+        Map<Person, Integer> positions = new IdentityHashMap<>(children.size());
+        for (Person child : children) {
+            positions.put(child, -1);
+        }
+        List<String> names = new ArrayList<>(residents.size());
+        for (Person resident : residents) {
+            positions.replace(resident, names.size());
+            names.add(resident.getFirstName() + " " + resident.getLastName());
+        }
+        List<String> household = List.copyOf(names);
+
+        List<Map<String, Object>> result = new ArrayList<>(children.size());
+        for (Person child : children) {
+            MedicalRecord medicalRecord = dataRepository.getMedicalRecord(child);
+            if (medicalRecord == null) {
+                continue; // Unlinked by a concurrent write since the children were read
+            }
+            result.add(Map.of(
+                    "firstName", child.getFirstName(),
+                    "lastName", child.getLastName(),
+                    "age", DateUtils.calculateAge(medicalRecord.getBirthEpochDay(), today),
+                    "familyMembers", familyMembers(household, positions.get(child))
+            ));
+        }
+        return result;
+    }
 
-                    return Map.of(
-                            "firstName", child.getFirstName(),
-                            "lastName", child.getLastName(),
-                            "age", DateUtils.calculateAge(medicalRecordService.getMedicalRecordByFirstnameAndLastname(child.getFirstName(), child.getLastName()).getBirthDate()),
-                            "familyMembers", familyMembers.stream()
-                                    .map(familyMember -> familyMember.getFirstName() + " " + familyMember.getLastName())
-                                    .toList()
-                    );
-                })
-                .toList();
+    /**
+     * Returns the names of the residents of an address without one of them.
+     *
+     * @param household The names of every resident of the address.
+     * @param skipped   The position of the excluded resident, or -1 to keep every name.
+     * @return an unmodifiable list of the names, the given one when no resident is excluded.
+     */
+    private static List<String> familyMembers(List<String> household, int skipped) {
+        if (skipped < 0) {
+            return household;
+        }
+        List<String> familyMembers = new ArrayList<>(household.size() - 1);
+        familyMembers.addAll(household.subList(0, skipped));
+        familyMembers.addAll(household.subList(skipped + 1, household.size()));
+        return Collections.unmodifiableList(familyMembers);
     }
 
     /**
      * Retrieves information about persons covered by a specific fire station, identified by its station number.
      * It calculates the number of adults and children covered by the station and returns detailed information about them.
+     * The covered persons are read from a single dataset and each one is counted as a child (age <= 18) or an adult
+     * from their medical record, for the current day of the age classification, so the two counts always add up to
+     * the persons of known age.
+     * Persons without a medical record or a valid birthdate are listed but, having no known age,
+     * are counted neither as adults nor as children.
      *
      * @param stationNumber The number of the fire station whose coverage is to be checked.
      * @return a map containing information about the persons covered by the fire station,
      *         including their names, addresses, phone numbers, and the count of adults and children.
      */
     public Map<String, Object> getCoverageByFireStation(int stationNumber) {
-        List<String> addresses = fireStationService.getAddressByFireStationsNumber(stationNumber);
+        List<String> addresses = fireStationService.getAddressByFireStationsNumber(stationNumber).stream()
+                .distinct()
+                .toList();
 
-        List<Person> coveredPersons = personList.stream()
-                .filter(person -> addresses.contains(person.getAddress()))
+        // The persons and their ages are read from one dataset, so that both counts describe the same persons
+        Dataset dataset = dataRepository.getDataset();
+        List<Person> coveredPersons = addresses.stream()
+                .flatMap(address -> dataset.getPersonsByAddress(address).stream())
                 .toList();
 
-        long adultsCount = coveredPersons.stream()
-                .filter(person -> {
-                    MedicalRecord medicalRecord = medicalRecordService.getMedicalRecordByFirstnameAndLastname(
-                            person.getFirstName(), person.getLastName());
-                    logger.info("MedicalRecord BirthDate: {}", medicalRecord.getBirthDate());
-
-                    int age = medicalRecord.getBirthDate() != null
-                            ? DateUtils.calculateAge(medicalRecord.getBirthDate())
-                            : -1;
-                    if(age == -1){
-                        throw new IllegalArgumentException("Birthdate cannot be null.");
-                    }
-                    return age > 18;
-                })
-                .count();
+        int today = dataset.getToday();
+        long childrenCount = 0;
+        long adultsCount = 0;
+        for (Person person : coveredPersons) {
+            MedicalRecord medicalRecord = dataset.getMedicalRecord(person);
+            if (medicalRecord == null || medicalRecord.getBirthEpochDay() == DateUtils.UNKNOWN_DATE) {
+                continue;
+            }
+            if (DateUtils.calculateAge(medicalRecord.getBirthEpochDay(), today) <= 18) {
+                childrenCount++;
+            } else {
+                adultsCount++;
+            }
+        }
         logger.info("Adults count: {}", adultsCount);
-        long childrenCount = coveredPersons.size() - adultsCount;
+        long unknownCount = coveredPersons.size() - childrenCount - adultsCount;
+        if (unknownCount > 0) {
+            logger.warn("{} covered persons have no medical record or birthdate, age unknown", unknownCount);
+        }
 
         List<Map<String, String>> personDetails = coveredPersons.stream()
                 .map(person -> Map.of(
@@ -180,4 +194,26 @@ public class PersonInfoService {
         return response;
     }
 
+    /**
+     * Retrieves information about the persons covered by a fire station who have the given allergy
+     * and take the given medication, as needed during hazmat or mass-casualty incidents.
+     * The persons are found through the allergy and medication indexes of the medical records, then kept
+     * if a fire station with the given number covers their address, so the cost follows the number of matching
+     * records rather than the number of persons.
+     *
+     * @param stationNumber The number of the fire station whose covered persons are searched.
+     * @param allergy       The allergy to look for, or null to match any allergy.
+     * @param medication    The medication to look for, with or without its dose, or null to match any medication.
+     * @return a list of maps containing the personal and medical information of each matching person.
+     */
+    public List<Map<String, Object>> getMedicalAlertByFireStation(int stationNumber, String allergy, String medication) {
+        List<Person> persons = dataRepository.getMedicalRecordsByTerms(allergy, medication).stream()
+                .flatMap(medicalRecord -> dataRepository.getPersonsByMedicalRecord(medicalRecord).stream())
+                .filter(person -> dataRepository.getFireStationsByAddress(person.getAddress()).stream()
+                        .anyMatch(fireStation -> fireStation.getStation() == stationNumber))
+                .toList();
+        logger.info("{} persons covered by station {} match allergy {} and medication {}",
+                persons.size(), stationNumber, allergy, medication);
+        return getAllPersonInfo(persons);
+    }
 }
@@ -1,16 +1,13 @@
 package org.example.safetynet_alerts.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.example.safetynet_alerts.models.*;
-import org.springframework.core.io.ClassPathResource;
+import org.example.safetynet_alerts.repository.DataRepository;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * Service class responsible for managing person data. It allows retrieving, adding, updating, and deleting
@@ -20,40 +17,18 @@ import java.util.Objects;
 public class PersonService {
 
     private static final Logger logger = LogManager.getLogger(PersonService.class); // Logger initialization
-    private List<Person> personList;
-    private final ObjectMapper objectMapper; // ObjectMapper injected via constructor
+    private final DataRepository dataRepository; // Repository holding the current dataset, through which every write goes
 
     /**
-     * Constructor that initializes the PersonService with an injected ObjectMapper.
-     * It loads the person data from the `data.json` file during initialization.
+     * Constructor that initializes the PersonService with the injected DataRepository.
+     * The person data is read from the repository, which loads the `data.json` file once for all services.
      *
-     * @param objectMapper The ObjectMapper instance injected by Spring.
-     * @throws IllegalArgumentException if there is an error loading the person data from the JSON file.
+     * @param dataRepository The DataRepository instance injected by Spring.
      */
     public PersonService(
-            ObjectMapper objectMapper
+            DataRepository dataRepository
     ) {
-        this.objectMapper = objectMapper;
-        try {
-            loadPersonList();
-        } catch (Exception e) {
-            logger.error("Error loading JSON data: {}", e.getMessage());
-            throw new IllegalArgumentException("Unable to load JSON data", e);
-        }
-    }
-
-    /**
-     * Loads the list of persons from the `data.json` file and maps it to a {@link PersonsData} object.
-     *
-     * @throws IOException if there is an error reading the file or parsing the data.
-     */
-    private void loadPersonList() throws IOException {
-        PersonsData data = objectMapper.readValue(
-                new ClassPathResource("data.json").getInputStream(),
-                PersonsData.class
-        );
-        personList = data.getPersons();
-        logger.info("Data loaded: {}", personList.size());
+        this.dataRepository = dataRepository;
     }
 
     /**
@@ -62,7 +37,7 @@ public class PersonService {
      * @return a list of all persons.
      */
     public List<Person> getAllPersonList() {
-        return personList;
+        return dataRepository.getPersons();
     }
 
     /**
@@ -72,35 +47,38 @@ public class PersonService {
      * @return the {@link Person} object with the given email, or null if no person is found.
      */
     public Person getPersonListByEmail(String email) {
-        return personList.stream()
-                .filter(person -> Objects.equals(person.getEmail(), email))
-                .findAny().orElse(null);
+        List<Person> persons = dataRepository.getPersonsByEmail(email);
+        return persons.isEmpty() ? null : persons.get(0);
     }
 
     /**
      * Retrieves a list of emails for all persons living in a specific city.
      *
      * @param city the city where persons need to be identified.
-     * @return a list of email addresses for persons living in the specified city.
+     * @return an immutable list of the distinct email addresses of persons living in the specified city.
      */
     public List<String> getAllEmailByCity(String city) {
-        return personList.stream()
-                .filter(person -> Objects.equals(person.getCity(), city))
-                .map(Person::getEmail)
-                .distinct()
-                .toList();
+        return dataRepository.getEmailsByCity(city);
     }
 
     /**
-     * Retrieves a list of persons who share the same last name.
+     * Retrieves a list of persons who share the same last name, ignoring case.
      *
      * @param lastname the last name of the persons to retrieve.
      * @return a list of persons with the given last name.
      */
     public List<Person> getAllPersonByLastname(String lastname) {
-        return personList.stream()
-                .filter(person -> Objects.equals(person.getLastName(), lastname))
-                .toList();
+        return dataRepository.getPersonsByLastName(lastname);
+    }
+
+    /**
+     * Retrieves a list of persons whose last name starts with the given prefix, ignoring case.
+     *
+     * @param prefix the beginning of the last name of the persons to retrieve.
+     * @return a list of persons sorted by last name, empty if no last name starts with the prefix.
+     */
+    public List<Person> getAllPersonByLastnamePrefix(String prefix) {
+        return dataRepository.getPersonsByLastNamePrefix(prefix);
     }
 
     /**
@@ -110,9 +88,7 @@ public class PersonService {
      * @return a list of persons living at the specified address.
      */
     public List<Person> getPersonsByAddress(String address) {
-        return personList.stream()
-                .filter(person -> Objects.equals(person.getAddress(), address))
-                .toList();
+        return dataRepository.getPersonsByAddress(address);
     }
 
     /**
@@ -126,7 +102,7 @@ public class PersonService {
             return Collections.emptyList();
         }
 
-        return personList.stream()
+        return dataRepository.getPersons().stream()
                 .map(Person::getPhone)
                 .distinct()
                 .toList();
@@ -139,15 +115,11 @@ public class PersonService {
      * @return true if the person was added successfully, false if a person with the same email already exists.
      */
     public boolean addPerson(Person person) {
-        boolean exists = personList.stream()
-                .anyMatch(existing -> existing.getEmail().equals(person.getEmail()));
-
-        if (exists) {
+        if (!dataRepository.addPerson(person)) {
             logger.error("A person with this email already exists: {}", person);
             return false;
         }
 
-        personList.add(person);
         logger.info("Person added: {}", person);
         return true;
     }
@@ -161,12 +133,10 @@ public class PersonService {
      * @throws IllegalArgumentException if no person is found with the given email.
      */
     public Person updatePerson(String email, Person updatedPerson) {
-        for (int i = 0; i < personList.size(); i++) {
-            if (personList.get(i).getEmail().equals(email)) {
-                personList.set(i, updatedPerson);
-                logger.info("Person updated: {}", updatedPerson);
-                return personList.get(i);
-            }
+        Person person = dataRepository.updatePerson(email, updatedPerson);
+        if (person != null) {
+            logger.info("Person updated: {}", updatedPerson);
+            return person;
         }
         throw new IllegalArgumentException("Person not found for email: " + email);
     }
@@ -178,7 +148,7 @@ public class PersonService {
      * @return true if the person was deleted successfully, false if no person with the given email was found.
      */
     public boolean deletePerson(String email) {
-        boolean removed = personList.removeIf(person -> Objects.equals(person.getEmail(), email));
+        boolean removed = dataRepository.deletePerson(email);
         if (removed) {
             logger.info("Person deleted for email: {}", email);
         } else {
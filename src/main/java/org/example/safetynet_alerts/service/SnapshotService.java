@@ -0,0 +1,41 @@
+package org.example.safetynet_alerts.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.example.safetynet_alerts.repository.DataRepository;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+
+/**
+ * Service class responsible for saving the current data as a binary snapshot on demand.
+ * The snapshot is read on the next start instead of the data file, and the journal is truncated up to it,
+ * so saving one before a planned restart shortens that start.
+ */
+@Service
+public class SnapshotService {
+
+    private static final Logger logger = LogManager.getLogger(SnapshotService.class); // Logger initialization
+    private final DataRepository dataRepository; // Repository holding the current dataset
+
+    /**
+     * Constructor that initializes the SnapshotService with the injected DataRepository.
+     *
+     * @param dataRepository The DataRepository instance injected by Spring.
+     */
+    public SnapshotService(DataRepository dataRepository) {
+        this.dataRepository = dataRepository;
+    }
+
+    /**
+     * Writes a snapshot of the current data.
+     *
+     * @throws IOException if the snapshot cannot be written.
+     * @throws IllegalStateException if snapshots are disabled.
+     */
+    public void saveSnapshot() throws IOException {
+        long start = System.nanoTime();
+        dataRepository.saveSnapshot();
+        logger.info("Snapshot saved on request in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+}
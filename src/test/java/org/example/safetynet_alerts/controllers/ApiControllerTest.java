@@ -1,5 +1,6 @@
 package org.example.safetynet_alerts.controllers;
 
+import org.example.safetynet_alerts.models.AddressMatch;
 import org.example.safetynet_alerts.models.FireStation;
 import org.example.safetynet_alerts.models.Person;
 import org.example.safetynet_alerts.service.*;
@@ -43,6 +44,9 @@ class ApiControllerTest {
     @MockBean
     private PersonInfoService personInfoService;
 
+    @MockBean
+    private AddressService addressService;
+
     private List<Person> mockPersons;
 
     /**
@@ -131,6 +135,37 @@ class ApiControllerTest {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    /**
+     * Tests the API endpoint for retrieving person information in prefix mode.
+     * @throws Exception if there is an issue with the test execution
+     */
+    @Test
+    void testGetPersonInfo_Prefix() throws Exception {
+        Mockito.when(personService.getAllPersonByLastnamePrefix("do"))
+                .thenReturn(mockPersons);
+        Mockito.when(personInfoService.getAllPersonInfo(mockPersons))
+                .thenReturn(List.of(Map.of("name", "John Doe", "age", 30)));
+
+        mockMvc.perform(get("/personInfo")
+                        .param("lastName", "do")
+                        .param("prefix", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("John Doe"));
+        Mockito.verify(personService, Mockito.never()).getAllPersonByLastname(anyString());
+    }
+
+    /**
+     * Tests the API endpoint for retrieving person information in prefix mode with a blank prefix.
+     * @throws Exception if there is an issue with the test execution
+     */
+    @Test
+    void testGetPersonInfo_BlankPrefix() throws Exception {
+        mockMvc.perform(get("/personInfo")
+                        .param("lastName", " ")
+                        .param("prefix", "true"))
+                .andExpect(status().isBadRequest());
+    }
+
     /**
      * Tests the API endpoint for retrieving fire stations affected by a flood.
      * @throws Exception if there is an issue with the test execution
@@ -303,4 +338,69 @@ class ApiControllerTest {
                 .andExpect(status().isNotFound())
                 .andExpect(jsonPath("$").isEmpty());
     }
+
+    /**
+     * Tests the API endpoint for retrieving the people covered by a station who have an allergy.
+     * @throws Exception if there is an issue with the test execution
+     */
+    @Test
+    void testGetMedicalAlert_Found() throws Exception {
+        Mockito.when(personInfoService.getMedicalAlertByFireStation(3, "peanut", null))
+                .thenReturn(List.of(Map.of("firstName", "John")));
+
+        mockMvc.perform(get("/medicalAlert")
+                        .param("station", "3")
+                        .param("allergy", "peanut"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].firstName").value("John"));
+    }
+
+    /**
+     * Tests the API endpoint for retrieving the people covered by a station without an allergy or a medication.
+     * @throws Exception if there is an issue with the test execution
+     */
+    @Test
+    void testGetMedicalAlert_BadRequest() throws Exception {
+        mockMvc.perform(get("/medicalAlert")
+                        .param("station", "3")
+                        .param("medication", ""))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Tests the API endpoint for searching addresses.
+     * @throws Exception if there is an issue with the test execution
+     */
+    @Test
+    void testSearchAddresses_Found() throws Exception {
+        Mockito.when(addressService.searchAddresses("1509 Culvr", 10))
+                .thenReturn(List.of(new AddressMatch("1509 Culver St", 0.75)));
+
+        mockMvc.perform(get("/addressSearch")
+                        .param("query", "1509 Culvr"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].address").value("1509 Culver St"))
+                .andExpect(jsonPath("$[0].score").value(0.75));
+    }
+
+    /**
+     * Tests the API endpoint for searching addresses when no address matches or the limit is invalid.
+     * @throws Exception if there is an issue with the test execution
+     */
+    @Test
+    void testSearchAddresses_NotFound() throws Exception {
+        Mockito.when(addressService.searchAddresses(anyString(), anyInt()))
+                .thenReturn(Collections.emptyList());
+
+        mockMvc.perform(get("/addressSearch")
+                        .param("query", "Unknown"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/addressSearch")
+                        .param("query", "Unknown")
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
 }
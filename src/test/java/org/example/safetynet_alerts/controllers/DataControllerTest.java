@@ -0,0 +1,172 @@
+package org.example.safetynet_alerts.controllers;
+
+import org.example.safetynet_alerts.service.ExportService;
+import org.example.safetynet_alerts.service.ImportReport;
+import org.example.safetynet_alerts.service.ImportService;
+import org.example.safetynet_alerts.service.SnapshotService;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the {@link DataController}.
+ * This class verifies the API endpoints operating on the whole dataset.
+ */
+class DataControllerTest {
+
+    @Mock
+    private SnapshotService snapshotService; // Mock of the SnapshotService
+
+    @Mock
+    private ImportService importService; // Mock of the ImportService
+
+    @Mock
+    private ExportService exportService; // Mock of the ExportService
+
+    @InjectMocks
+    private DataController dataController; // Controller to test
+
+    /**
+     * Default constructor.
+     * Initializes the necessary mocks for the tests.
+     */
+    public DataControllerTest() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Tests writing a snapshot successfully.
+     * Verifies that the HTTP status is 200.
+     *
+     * @throws IOException if an error occurs while writing the snapshot.
+     */
+    @Test
+    void postSnapshot_success() throws IOException {
+        ResponseEntity<Void> response = dataController.postSnapshot();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(snapshotService, times(1)).saveSnapshot();
+    }
+
+    /**
+     * Tests writing a snapshot when snapshots are disabled.
+     * Verifies that a 409 exception is thrown.
+     *
+     * @throws IOException if an error occurs while writing the snapshot.
+     */
+    @Test
+    void postSnapshot_disabled() throws IOException {
+        doThrow(new IllegalStateException("Snapshots are disabled")).when(snapshotService).saveSnapshot();
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> dataController.postSnapshot());
+
+        assertEquals(HttpStatus.CONFLICT, exception.getStatusCode());
+    }
+
+    /**
+     * Tests writing a snapshot when the file cannot be written.
+     * Verifies that a 500 exception is thrown.
+     *
+     * @throws IOException if an error occurs while writing the snapshot.
+     */
+    @Test
+    void postSnapshot_failure() throws IOException {
+        doThrow(new IOException("Disk full")).when(snapshotService).saveSnapshot();
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> dataController.postSnapshot());
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+    }
+
+    /**
+     * Tests importing records successfully.
+     * Verifies that the HTTP status is 200 and that the report is returned.
+     *
+     * @throws IOException if an error occurs while reading the body.
+     */
+    @Test
+    void postImport_success() throws IOException {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        ImportReport report = new ImportReport();
+        when(importService.importRecords(body)).thenReturn(report);
+
+        ResponseEntity<ImportReport> response = dataController.postImport(body);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(report, response.getBody());
+    }
+
+    /**
+     * Tests importing records when the body cannot be read.
+     * Verifies that a 500 exception is thrown.
+     *
+     * @throws IOException if an error occurs while reading the body.
+     */
+    @Test
+    void postImport_failure() throws IOException {
+        InputStream body = new ByteArrayInputStream(new byte[0]);
+        when(importService.importRecords(body)).thenThrow(new IOException("Connection reset"));
+
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> dataController.postImport(body));
+
+        assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, exception.getStatusCode());
+    }
+
+    /**
+     * Tests exporting the dataset as newline-delimited JSON.
+     * Verifies that the HTTP status is 200 and that the body streams through the NDJSON export.
+     *
+     * @throws IOException if an error occurs while writing the export.
+     */
+    @Test
+    void getExport_ndjson() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = dataController.getExport("ndjson");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        verify(exportService, times(1)).exportNdjson(output);
+        verify(exportService, never()).exportJson(any());
+    }
+
+    /**
+     * Tests exporting the dataset as a JSON object.
+     * Verifies that the body streams through the JSON export.
+     *
+     * @throws IOException if an error occurs while writing the export.
+     */
+    @Test
+    void getExport_json() throws IOException {
+        ResponseEntity<StreamingResponseBody> response = dataController.getExport("json");
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        response.getBody().writeTo(output);
+
+        verify(exportService, times(1)).exportJson(output);
+    }
+
+    /**
+     * Tests exporting the dataset in an unknown format.
+     * Verifies that a 400 exception is thrown.
+     */
+    @Test
+    void getExport_unknownFormat() {
+        ResponseStatusException exception = assertThrows(ResponseStatusException.class, () -> dataController.getExport("xml"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, exception.getStatusCode());
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.safetynet_alerts.models;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.safetynet_alerts.service.DateUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link MedicalRecord}.
+ * This class verifies how the medications, allergies and birthdate of a record are read and serialized.
+ */
+class MedicalRecordTest {
+
+    /**
+     * Tests serializing a record to JSON.
+     * Verifies that the medications and allergies are written as arrays of terms.
+     *
+     * @throws Exception if the record cannot be serialized.
+     */
+    @Test
+    void serialization_shouldWriteTerms() throws Exception {
+        MedicalRecord record = new MedicalRecord("John", "Boyd", "03/06/1984", List.of("aznol:350mg"), List.of());
+
+        String json = new ObjectMapper().writeValueAsString(record);
+
+        assertTrue(json.contains("\"medications\":[\"aznol:350mg\"]"));
+        assertTrue(json.contains("\"allergies\":[]"));
+    }
+
+    /**
+     * Tests the birthdate parsed when the record is created.
+     * Verifies the epoch day of a valid birthdate, the marker of a missing or invalid one, and that the
+     * epoch day is not serialized.
+     *
+     * @throws Exception if the record cannot be serialized.
+     */
+    @Test
+    void getBirthEpochDay_shouldParseBirthdateOnce() throws Exception {
+        MedicalRecord record = new MedicalRecord("John", "Boyd", "03/06/1984", List.of(), List.of());
+
+        assertEquals(LocalDate.of(1984, 6, 3).toEpochDay(), record.getBirthEpochDay());
+        assertEquals(DateUtils.UNKNOWN_DATE, new MedicalRecord("John", "Boyd", null, null, null).getBirthEpochDay());
+        assertEquals(DateUtils.UNKNOWN_DATE, new MedicalRecord("John", "Boyd", "1984-06-03", null, null).getBirthEpochDay());
+        assertFalse(new ObjectMapper().writeValueAsString(record).contains("EpochDay"));
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.safetynet_alerts.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link AddressDictionary}.
+ * This class verifies that each distinct address gets one ID and one canonical instance.
+ */
+class AddressDictionaryTest {
+
+    private final AddressDictionary dictionary = new AddressDictionary(); // Dictionary under test
+
+    /**
+     * Tests interning equal addresses held by different instances.
+     * Verifies that they get the same ID and that the first instance becomes the canonical one.
+     */
+    @Test
+    void intern_shouldGiveEqualAddressesTheSameId() {
+        String first = new String("1509 Culver St");
+        String second = new String("1509 Culver St");
+
+        int id = dictionary.intern(first);
+
+        assertEquals(id, dictionary.intern(second));
+        assertSame(first, dictionary.address(id));
+        assertNotEquals(id, dictionary.intern("29 15th St"));
+    }
+
+    /**
+     * Tests interning more addresses than the initial capacity.
+     * Verifies that every address keeps its ID and that unknown addresses are reported as such.
+     */
+    @Test
+    void intern_shouldKeepIdsAcrossGrowth() {
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, dictionary.intern(i + " Main St"));
+        }
+
+        assertEquals(999, dictionary.idOf("999 Main St"));
+        assertEquals("500 Main St", dictionary.address(500));
+        assertEquals(AddressDictionary.UNKNOWN, dictionary.idOf("1000 Main St"));
+        assertEquals(AddressDictionary.UNKNOWN, dictionary.idOf(null));
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.safetynet_alerts.repository;
+
+import org.example.safetynet_alerts.models.Person;
+import org.example.safetynet_alerts.service.DateUtils;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link AgeBrackets}.
+ * This class verifies that persons are listed as children until their 19th birthday, across day rollovers.
+ */
+class AgeBracketsTest {
+
+    private static final int TODAY = (int) LocalDate.of(2025, 6, 15).toEpochDay(); // Day of the classification
+
+    private final Person tenley = new Person("Tenley", "Boyd", "1509 Culver St", "Culver", 97451, "841-874-6512", "tenley@email.com");
+    private final Person john = new Person("John", "Boyd", "1509 Culver St", "Culver", 97451, "841-874-6512", "john@email.com");
+
+    /**
+     * Tests classifying a child, an adult and a person without a known birthdate.
+     * Verifies that only the child is listed under their address.
+     */
+    @Test
+    void classify_shouldListOnlyChildren() {
+        AgeBrackets ageBrackets = new AgeBrackets(TODAY);
+
+        ageBrackets.classify(tenley, 0, (int) LocalDate.of(2012, 2, 18).toEpochDay());
+        ageBrackets.classify(john, 0, (int) LocalDate.of(1984, 3, 6).toEpochDay());
+        ageBrackets.classify(new Person("Jacob", "Boyd", "1509 Culver St", "Culver", 97451, "841-874-6513", "jacob@email.com"),
+                0, DateUtils.UNKNOWN_DATE);
+
+        assertEquals(List.of(tenley), ageBrackets.getChildren(0));
+        assertTrue(ageBrackets.getChildren(1).isEmpty());
+
+        ageBrackets.remove(tenley);
+        ageBrackets.remove(john);
+        assertTrue(ageBrackets.getChildren(0).isEmpty());
+    }
+
+    /**
+     * Tests rolling the classification over the 19th birthday of a child.
+     * Verifies that the child is still listed the day before and no longer listed on the birthday.
+     */
+    @Test
+    void rollOver_shouldTurnChildIntoAdultOn19thBirthday() {
+        AgeBrackets ageBrackets = new AgeBrackets(TODAY);
+        ageBrackets.classify(tenley, 0, (int) LocalDate.of(2006, 6, 17).toEpochDay());
+
+        assertEquals(0, ageBrackets.rollOver(TODAY + 1));
+        assertEquals(List.of(tenley), ageBrackets.getChildren(0));
+
+        assertEquals(1, ageBrackets.rollOver(TODAY + 2));
+        assertTrue(ageBrackets.getChildren(0).isEmpty());
+        assertEquals(TODAY + 2, ageBrackets.today());
+    }
+
+    /**
+     * Tests the day a person born on February 29 stops being a child.
+     * Verifies that it is March 1 when their 19th birthday falls in a common year, as computed by {@link DateUtils}.
+     */
+    @Test
+    void adulthoodDay_shouldMoveFebruary29ToMarch1() {
+        assertEquals(LocalDate.of(2023, 3, 1).toEpochDay(), AgeBrackets.adulthoodDay((int) LocalDate.of(2004, 2, 29).toEpochDay()));
+        assertEquals(LocalDate.of(2025, 6, 17).toEpochDay(), AgeBrackets.adulthoodDay((int) LocalDate.of(2006, 6, 17).toEpochDay()));
+    }
+
+    /**
+     * Tests clearing the classification.
+     * Verifies that no child is listed anymore and that the new day is kept.
+     */
+    @Test
+    void clear_shouldRemoveEveryChild() {
+        AgeBrackets ageBrackets = new AgeBrackets(TODAY);
+        ageBrackets.classify(tenley, 0, (int) LocalDate.of(2012, 2, 18).toEpochDay());
+
+        ageBrackets.clear(TODAY - 1);
+
+        assertTrue(ageBrackets.getChildren(0).isEmpty());
+        assertEquals(TODAY - 1, ageBrackets.today());
+        assertEquals(0, ageBrackets.rollOver(TODAY + 10_000));
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.safetynet_alerts.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link CountingIndex}.
+ * This class verifies that the distinct values of a key are counted and that their cached list follows the writes.
+ */
+class CountingIndexTest {
+
+    private final CountingIndex<String, String> index = new CountingIndex<>(); // Index under test
+
+    /**
+     * Tests removing one of two elements sharing a value.
+     * Verifies that the value is kept until the last element holding it is removed.
+     */
+    @Test
+    void remove_shouldKeepValuesStillHeld() {
+        index.add("Culver", "jaboyd@email.com");
+        index.add("Culver", "jaboyd@email.com");
+        index.add("Culver", "drk@email.com");
+
+        index.remove("Culver", "jaboyd@email.com");
+        assertEquals(List.of("jaboyd@email.com", "drk@email.com"), index.get("Culver"));
+
+        index.remove("Culver", "jaboyd@email.com");
+        assertEquals(List.of("drk@email.com"), index.get("Culver"));
+
+        index.remove("Culver", "drk@email.com");
+        index.remove("Culver", "drk@email.com");
+        assertTrue(index.get("Culver").isEmpty());
+    }
+
+    /**
+     * Tests looking a key up several times.
+     * Verifies that the cached list is reused while only counts change, and replaced when a value is added.
+     */
+    @Test
+    void get_shouldCacheListUntilValuesChange() {
+        index.add("Culver", "jaboyd@email.com");
+        index.add(null, "unknown@email.com");
+        List<String> first = index.get("Culver");
+
+        index.add("Culver", "jaboyd@email.com");
+        assertSame(first, index.get("Culver"));
+
+        index.add("Culver", "drk@email.com");
+        assertEquals(List.of("jaboyd@email.com"), first);
+        assertEquals(List.of("jaboyd@email.com", "drk@email.com"), index.get("Culver"));
+        assertEquals(List.of("unknown@email.com"), index.get(null));
+        assertThrows(UnsupportedOperationException.class, () -> index.get("Culver").add("x@email.com"));
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.safetynet_alerts.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link DataFileWatcher}.
+ * This class verifies that the scheduled check reloads the repository only when watching is enabled.
+ */
+class DataFileWatcherTest {
+
+    @Mock
+    private DataRepository dataRepository; // Mocked DataRepository to reload
+
+    /**
+     * Setup before each test.
+     * Initializes mocks.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Tests a scheduled check when watching is enabled.
+     * Verifies that the repository is asked to reload.
+     *
+     * @throws IOException if an error occurs while reloading.
+     */
+    @Test
+    void checkForChanges_shouldReloadRepository() throws IOException {
+        new DataFileWatcher(dataRepository, true).checkForChanges();
+
+        verify(dataRepository, times(1)).reload();
+    }
+
+    /**
+     * Tests a scheduled check when watching is disabled.
+     * Verifies that the repository is not reloaded.
+     *
+     * @throws IOException if an error occurs while reloading.
+     */
+    @Test
+    void checkForChanges_shouldDoNothingIfDisabled() throws IOException {
+        new DataFileWatcher(dataRepository, false).checkForChanges();
+
+        verify(dataRepository, never()).reload();
+    }
+
+    /**
+     * Tests a scheduled check when the data file cannot be parsed.
+     * Verifies that the failure does not escape the scheduled task.
+     *
+     * @throws IOException if an error occurs while reloading.
+     */
+    @Test
+    void checkForChanges_shouldNotThrowIfReloadFails() throws IOException {
+        when(dataRepository.reload()).thenThrow(new IOException("Broken file"));
+
+        assertDoesNotThrow(() -> new DataFileWatcher(dataRepository, true).checkForChanges());
+    }
+}
@@ -0,0 +1,307 @@
+package org.example.safetynet_alerts.repository;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.example.safetynet_alerts.models.MedicalRecord;
+import org.example.safetynet_alerts.models.SafetyNetData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link DataLoader}.
+ * This class verifies that the data file sections are streamed by default, or loaded in parallel and in chunks
+ * from a plain file, into the expected lists.
+ */
+class DataLoaderTest {
+
+    private DataLoader dataLoader; // Instance of DataLoader under test, streaming on the calling thread
+    private DataLoader parallelDataLoader; // Instance of DataLoader under test, loading the sections in parallel
+    private DataLoader chunkedDataLoader; // Instance of DataLoader under test, also splitting the persons into chunks
+
+    @TempDir
+    Path tempDir; // Temporary directory holding the data files loaded in parallel
+
+    /**
+     * Setup before each test.
+     * Initializes the loader with an ObjectMapper able to use the model constructors.
+     */
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new ParameterNamesModule());
+        dataLoader = new DataLoader(objectMapper, 1, 0);
+        parallelDataLoader = new DataLoader(objectMapper, 4, 0);
+        chunkedDataLoader = new DataLoader(objectMapper, 4, 200);
+    }
+
+    private static InputStream json(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Path file(String content) throws IOException {
+        return Files.writeString(Files.createTempFile(tempDir, "data", ".json"), content);
+    }
+
+    private Path bundledFile() throws IOException {
+        try (InputStream inputStream = new ClassPathResource("data.json").getInputStream()) {
+            Path file = Files.createTempFile(tempDir, "data", ".json");
+            Files.write(file, inputStream.readAllBytes());
+            return file;
+        }
+    }
+
+    /**
+     * Tests loading the bundled data file.
+     * Verifies that every section is read.
+     *
+     * @throws IOException if an error occurs while reading the file.
+     */
+    @Test
+    void load_shouldReadBundledDataFile() throws IOException {
+        try (InputStream inputStream = new ClassPathResource("data.json").getInputStream()) {
+            SafetyNetData data = dataLoader.load(inputStream);
+
+            assertEquals(23, data.getPersons().size());
+            assertEquals(13, data.getFirestations().size());
+            assertEquals(23, data.getMedicalrecords().size());
+            assertEquals("John", data.getPersons().get(0).getFirstName());
+            assertEquals(3, data.getFirestations().get(0).getStation());
+            assertEquals("03/06/1984", data.getMedicalrecords().get(0).getBirthDate());
+        }
+    }
+
+    /**
+     * Tests loading a file with unknown and missing sections.
+     * Verifies that unknown sections are skipped and missing ones are empty.
+     *
+     * @throws IOException if an error occurs while reading the data.
+     */
+    @Test
+    void load_shouldSkipUnknownSectionsAndDefaultMissingOnes() throws IOException {
+        SafetyNetData data = dataLoader.load(json("""
+                {"metadata": {"version": [1, 2]},
+                 "firestations": [{"address": "123 Main St", "station": "2"}]}
+                """));
+
+        assertTrue(data.getPersons().isEmpty());
+        assertEquals(1, data.getFirestations().size());
+        assertEquals(2, data.getFirestations().get(0).getStation());
+        assertTrue(data.getMedicalrecords().isEmpty());
+    }
+
+    /**
+     * Tests loading medical records that repeat the same medications and allergies.
+     * Verifies that the records share one instance of each term, including when loaded in parallel.
+     *
+     * @throws IOException if an error occurs while reading the data.
+     */
+    @Test
+    void load_shouldShareRepeatedTerms() throws IOException {
+        String content = """
+                {"medicalrecords": [
+                  {"firstName": "John", "lastName": "Boyd", "birthdate": "03/06/1984",
+                   "medications": ["aznol:350mg"], "allergies": ["peanut", null]},
+                  {"firstName": "Jacob", "lastName": "Boyd", "birthdate": "03/06/1989",
+                   "medications": ["aznol:350mg", "peanut"], "allergies": ["peanut"]}]}
+                """;
+
+        for (SafetyNetData data : List.of(dataLoader.load(json(content)), parallelDataLoader.load(file(content)))) {
+            MedicalRecord john = data.getMedicalrecords().get(0);
+            MedicalRecord jacob = data.getMedicalrecords().get(1);
+
+            assertSame(john.getMedications().get(0), jacob.getMedications().get(0));
+            assertSame(john.getAllergies().get(0), jacob.getAllergies().get(0));
+            assertSame(john.getAllergies().get(0), jacob.getMedications().get(1));
+            assertNull(john.getAllergies().get(1));
+        }
+    }
+
+    /**
+     * Tests loading a file whose root is not an object.
+     * Verifies that an exception is thrown.
+     */
+    @Test
+    void load_shouldThrowExceptionIfRootIsNotAnObject() {
+        assertThrows(JsonParseException.class, () -> dataLoader.load(json("[]")));
+    }
+
+    /**
+     * Tests loading a file whose section is not an array.
+     * Verifies that an exception is thrown.
+     */
+    @Test
+    void load_shouldThrowExceptionIfSectionIsNotAnArray() {
+        assertThrows(JsonParseException.class, () -> dataLoader.load(json("{\"persons\": {}}")));
+    }
+
+    /**
+     * Tests loading the bundled data file in parallel.
+     * Verifies that the result matches the sequential load, in the same order.
+     *
+     * @throws IOException if an error occurs while reading the file.
+     */
+    @Test
+    void load_shouldReadSectionsInParallelInFileOrder() throws IOException {
+        SafetyNetData sequential;
+        SafetyNetData parallel;
+        try (InputStream inputStream = new ClassPathResource("data.json").getInputStream()) {
+            sequential = dataLoader.load(inputStream);
+        }
+        parallel = parallelDataLoader.load(bundledFile());
+
+        assertEquals(sequential.getPersons().size(), parallel.getPersons().size());
+        for (int i = 0; i < sequential.getPersons().size(); i++) {
+            assertEquals(sequential.getPersons().get(i).getEmail(), parallel.getPersons().get(i).getEmail());
+        }
+        assertEquals(sequential.getFirestations().size(), parallel.getFirestations().size());
+        assertEquals(sequential.getMedicalrecords().size(), parallel.getMedicalrecords().size());
+        assertEquals(sequential.getMedicalrecords().get(22).getBirthDate(), parallel.getMedicalrecords().get(22).getBirthDate());
+    }
+
+    /**
+     * Tests loading in parallel a file with unknown and repeated sections.
+     * Verifies that unknown sections are skipped and repeated ones are appended in file order.
+     *
+     * @throws IOException if an error occurs while reading the data.
+     */
+    @Test
+    void load_shouldSkipUnknownSectionsAndAppendRepeatedOnesInParallel() throws IOException {
+        SafetyNetData data = parallelDataLoader.load(file("""
+                {"firestations": [{"address": "123 Main St", "station": "2"}],
+                 "metadata": {"persons": [1, 2]},
+                 "firestations": [{"address": "456 Oak St", "station": 3}]}
+                """));
+
+        assertTrue(data.getPersons().isEmpty());
+        assertEquals(2, data.getFirestations().size());
+        assertEquals("456 Oak St", data.getFirestations().get(1).getAddress());
+        assertTrue(data.getMedicalrecords().isEmpty());
+    }
+
+    /**
+     * Tests loading in parallel a file whose section is not an array, or contains an invalid element.
+     * Verifies that the parsing exception is thrown to the caller.
+     */
+    @Test
+    void load_shouldThrowParsingExceptionInParallel() throws IOException {
+        Path notAnArray = file("{\"persons\": {}}");
+        Path invalidElement = file("{\"firestations\": [{\"address\": \"1 St\", \"station\": \"abc\"}]}");
+
+        assertThrows(JsonParseException.class, () -> parallelDataLoader.load(notAnArray));
+        assertThrows(IOException.class, () -> parallelDataLoader.load(invalidElement));
+    }
+
+    /**
+     * Tests loading the bundled data file with the persons array split into chunks.
+     * Verifies that every person is read once, in file order.
+     *
+     * @throws IOException if an error occurs while reading the file.
+     */
+    @Test
+    void load_shouldMergePersonChunksInFileOrder() throws IOException {
+        SafetyNetData sequential;
+        SafetyNetData chunked;
+        try (InputStream inputStream = new ClassPathResource("data.json").getInputStream()) {
+            sequential = dataLoader.load(inputStream);
+        }
+        chunked = chunkedDataLoader.load(bundledFile());
+
+        assertEquals(sequential.getPersons().size(), chunked.getPersons().size());
+        for (int i = 0; i < sequential.getPersons().size(); i++) {
+            assertEquals(sequential.getPersons().get(i).getFirstName(), chunked.getPersons().get(i).getFirstName());
+            assertEquals(sequential.getPersons().get(i).getEmail(), chunked.getPersons().get(i).getEmail());
+        }
+        assertEquals(13, chunked.getFirestations().size());
+        assertEquals(23, chunked.getMedicalrecords().size());
+    }
+
+    /**
+     * Tests splitting into chunks persons arrays that are empty, repeated or contain multi-byte characters.
+     * Verifies that the chunks are cut between elements.
+     *
+     * @throws IOException if an error occurs while reading the data.
+     */
+    @Test
+    void load_shouldCutChunksBetweenElements() throws IOException {
+        DataLoader smallChunkLoader = new DataLoader(new ObjectMapper().registerModule(new ParameterNamesModule()), 4, 1);
+
+        SafetyNetData data = smallChunkLoader.load(file("""
+                {"persons": [
+                   {"firstName": "Zo\u00e9", "lastName": "M\u00fcller", "address": "1 Rue", "city": "Z\u00fcrich", "zip": 8000, "phone": "1", "email": "zoe@example.com"} ,
+                   {"firstName": "Jane", "lastName": "Doe", "address": "2 St", "city": "City", "zip": "12345", "phone": "2", "email": "jane@example.com"}],
+                 "persons": [],
+                 "persons": [{"firstName": "John", "lastName": "Doe", "address": "2 St", "city": "City", "zip": 12345, "phone": "3", "email": "john@example.com"}]}
+                """));
+
+        assertEquals(3, data.getPersons().size());
+        assertEquals("Zo\u00e9", data.getPersons().get(0).getFirstName());
+        assertEquals("Z\u00fcrich", data.getPersons().get(0).getCity());
+        assertEquals(12345, data.getPersons().get(1).getZip());
+        assertEquals("john@example.com", data.getPersons().get(2).getEmail());
+    }
+
+    /**
+     * Tests the loader configured with the default settings of the application.
+     * Verifies that it streams the data instead of loading it in parallel.
+     *
+     * @throws IOException if the application properties cannot be read.
+     */
+    @Test
+    void constructor_shouldStreamByDefault() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream inputStream = new ClassPathResource("application.properties").getInputStream()) {
+            properties.load(inputStream);
+        }
+        DataLoader defaultLoader = new DataLoader(new ObjectMapper(),
+                Integer.parseInt(properties.getProperty("safetynet.loader.parallelism")),
+                Integer.parseInt(properties.getProperty("safetynet.loader.persons-chunk-size")));
+
+        assertFalse(defaultLoader.isParallel());
+    }
+
+    /**
+     * Tests loading a stream with a loader configured to load in parallel.
+     * Verifies that the stream is read incrementally and never as a whole.
+     *
+     * @throws IOException if an error occurs while reading the data.
+     */
+    @Test
+    void load_shouldStreamInputEvenWhenParallel() throws IOException {
+        try (InputStream bundled = new ClassPathResource("data.json").getInputStream()) {
+            InputStream incremental = new InputStream() {
+                @Override
+                public int read() throws IOException {
+                    return bundled.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    return bundled.read(buffer, offset, length);
+                }
+
+                @Override
+                public byte[] readAllBytes() {
+                    throw new AssertionError("The stream must not be read as a whole");
+                }
+            };
+
+            SafetyNetData data = chunkedDataLoader.load(incremental);
+
+            assertEquals(23, data.getPersons().size());
+            assertEquals(23, data.getMedicalrecords().size());
+        }
+    }
+}
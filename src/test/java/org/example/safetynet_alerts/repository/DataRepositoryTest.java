@@ -0,0 +1,722 @@
+package org.example.safetynet_alerts.repository;
+
+import org.example.safetynet_alerts.models.FireStation;
+import org.example.safetynet_alerts.models.MedicalRecord;
+import org.example.safetynet_alerts.models.Person;
+import org.example.safetynet_alerts.models.SafetyNetData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link DataRepository}.
+ * This class verifies that the data file is parsed once, that the loaded collections are shared
+ * that writes are recorded in the journal, replayed on startup and compacted into snapshots,
+ * that plain and gzip-compressed data files are read, and that a changed data file is reloaded into a new dataset.
+ */
+class DataRepositoryTest {
+
+    @Mock
+    private DataLoader dataLoader; // Mocked DataLoader for reading JSON data
+
+    @Mock
+    private SnapshotStore snapshotStore; // Mocked SnapshotStore for reading and writing snapshots
+
+    @Mock
+    private Journal journal; // Mocked Journal recording the writes
+
+    @TempDir
+    Path tempDir; // Temporary directory holding the external data file
+
+    /**
+     * Setup before each test.
+     * Initializes mocks.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Tests loading the data file.
+     * Verifies that the file is parsed only once and that every section is exposed.
+     *
+     * @throws IOException if an error occurs while loading mock data.
+     */
+    @Test
+    void constructor_shouldParseDataFileOnce() throws IOException {
+        SafetyNetData mockData = new SafetyNetData();
+        mockData.setPersons(new ArrayList<>(List.of(
+                new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com"))));
+        mockData.setFirestations(new ArrayList<>(List.of(new FireStation("123 Main St", 1))));
+        mockData.setMedicalrecords(new ArrayList<>(List.of(
+                new MedicalRecord("John", "Doe", "01/01/1980", List.of(), List.of()))));
+        when(dataLoader.load(any(InputStream.class))).thenReturn(mockData);
+
+        DataRepository dataRepository = new DataRepository(dataLoader, snapshotStore, journal, "");
+
+        verify(dataLoader, times(1)).load(any(InputStream.class));
+        assertEquals(1, dataRepository.getPersons().size());
+        assertEquals(1, dataRepository.getFireStations().size());
+        assertEquals(1, dataRepository.getMedicalRecords().size());
+    }
+
+    /**
+     * Tests loading the data when a fresh snapshot exists.
+     * Verifies that the snapshot is used and the JSON file is not parsed.
+     *
+     * @throws IOException if an error occurs while loading mock data.
+     */
+    @Test
+    void constructor_shouldUseFreshSnapshot() throws IOException {
+        SafetyNetData snapshotData = new SafetyNetData();
+        snapshotData.setPersons(new ArrayList<>(List.of(
+                new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com"))));
+        snapshotData.setFirestations(new ArrayList<>());
+        snapshotData.setMedicalrecords(new ArrayList<>());
+        when(snapshotStore.read(anyLong(), anyLong())).thenReturn(new Snapshot(snapshotData, 0));
+        when(snapshotStore.isEnabled()).thenReturn(true);
+
+        DataRepository dataRepository = new DataRepository(dataLoader, snapshotStore, journal, "");
+
+        verify(dataLoader, never()).load(any(InputStream.class));
+        verify(snapshotStore, never()).write(any(Snapshot.class), anyLong(), anyLong());
+        assertEquals(1, dataRepository.getPersons().size());
+    }
+
+    /**
+     * Tests loading the data when no snapshot exists.
+     * Verifies that a snapshot is written after the JSON file is parsed.
+     *
+     * @throws IOException if an error occurs while loading mock data.
+     */
+    @Test
+    void constructor_shouldWriteSnapshotAfterJsonLoad() throws IOException {
+        SafetyNetData mockData = new SafetyNetData();
+        mockData.setPersons(new ArrayList<>());
+        mockData.setFirestations(new ArrayList<>());
+        mockData.setMedicalrecords(new ArrayList<>());
+        when(dataLoader.load(any(InputStream.class))).thenReturn(mockData);
+        when(snapshotStore.isEnabled()).thenReturn(true);
+
+        new DataRepository(dataLoader, snapshotStore, journal, "");
+
+        verify(snapshotStore, times(1)).write(any(Snapshot.class), anyLong(), anyLong());
+    }
+
+    /**
+     * Tests requesting a snapshot on a repository that is not backed by a data file.
+     * Verifies that an exception is thrown.
+     */
+    @Test
+    void saveSnapshot_shouldThrowExceptionIfSnapshotsAreDisabled() {
+        DataRepository dataRepository = new DataRepository(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+
+        assertThrows(IllegalStateException.class, dataRepository::saveSnapshot);
+    }
+
+    /**
+     * Tests loading an unreadable data file.
+     * Verifies that an exception is thrown.
+     *
+     * @throws IOException if an error occurs while loading mock data.
+     */
+    @Test
+    void constructor_shouldThrowExceptionIfDataCannotBeLoaded() throws IOException {
+        when(dataLoader.load(any(InputStream.class))).thenThrow(new IOException("Broken file"));
+
+        assertThrows(IllegalArgumentException.class, () -> new DataRepository(dataLoader, snapshotStore, journal, ""));
+    }
+
+    /**
+     * Tests that the services share the same data.
+     * Verifies that a person added through the repository is visible in the list it returns next,
+     * while a list returned before stays unchanged and cannot be modified.
+     */
+    @Test
+    void getPersons_shouldReturnImmutableCopy() {
+        List<Person> persons = new ArrayList<>();
+        DataRepository dataRepository = new DataRepository(persons, new ArrayList<>(), new ArrayList<>());
+        List<Person> before = dataRepository.getPersons();
+
+        dataRepository.addPerson(new Person("Jane", "Doe", "123 Main St", "City", 12345, "555-5678", "jane.doe@example.com"));
+
+        assertEquals(1, dataRepository.getPersons().size());
+        assertSame(dataRepository.getPersons(), dataRepository.getPersons());
+        assertTrue(before.isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> before.add(null));
+    }
+
+    /**
+     * Tests loading the data when the journal contains writes newer than the snapshot.
+     * Verifies that the journal is replayed after the snapshot sequence and that a new snapshot is written.
+     *
+     * @throws IOException if an error occurs while replaying the journal.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void constructor_shouldReplayJournalAfterSnapshot() throws IOException {
+        SafetyNetData snapshotData = new SafetyNetData();
+        snapshotData.setPersons(new ArrayList<>());
+        snapshotData.setFirestations(new ArrayList<>());
+        snapshotData.setMedicalrecords(new ArrayList<>());
+        Person person = new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com");
+        when(snapshotStore.read(anyLong(), anyLong())).thenReturn(new Snapshot(snapshotData, 7));
+        when(snapshotStore.isEnabled()).thenReturn(true);
+        when(journal.isEnabled()).thenReturn(true);
+        when(journal.open(eq(7L), any(Consumer.class))).thenAnswer(invocation -> {
+            Consumer<JournalEntry> consumer = invocation.getArgument(1);
+            consumer.accept(JournalEntry.addPerson(person));
+            consumer.accept(JournalEntry.addFireStation(new FireStation("123 Main St", 2)));
+            consumer.accept(JournalEntry.deleteFireStation("123 Main St", 2));
+            return 3;
+        });
+        when(journal.getLastSequence()).thenReturn(10L);
+
+        DataRepository dataRepository = new DataRepository(dataLoader, snapshotStore, journal, "");
+
+        assertEquals(List.of(person), dataRepository.getPersons());
+        assertTrue(dataRepository.getFireStations().isEmpty());
+        verify(snapshotStore, times(1)).write(argThat(snapshot -> snapshot.getJournalSequence() == 10L), anyLong(), anyLong());
+        verify(journal, times(1)).truncate(10L);
+    }
+
+    /**
+     * Tests writing through a repository backed by the journal.
+     * Verifies that each applied write is appended and synced, and that rejected writes are not recorded.
+     *
+     * @throws IOException if an error occurs while syncing the journal.
+     */
+    @Test
+    void addPerson_shouldAppendAndSyncJournal() throws IOException {
+        SafetyNetData mockData = new SafetyNetData();
+        mockData.setPersons(new ArrayList<>());
+        mockData.setFirestations(new ArrayList<>());
+        mockData.setMedicalrecords(new ArrayList<>());
+        when(dataLoader.load(any(InputStream.class))).thenReturn(mockData);
+        when(journal.isEnabled()).thenReturn(true);
+        when(journal.append(any(JournalEntry.class))).thenReturn(1L);
+        DataRepository dataRepository = new DataRepository(dataLoader, snapshotStore, journal, "");
+        Person person = new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com");
+
+        assertTrue(dataRepository.addPerson(person));
+        assertFalse(dataRepository.addPerson(person));
+
+        verify(journal, times(1)).append(argThat(entry -> entry.getOperation() == JournalEntry.Operation.ADD_PERSON));
+        verify(journal, times(1)).sync(1L);
+        assertEquals(1, dataRepository.getPersons().size());
+    }
+
+    /**
+     * Tests writing when the journal cannot be forced to disk.
+     * Verifies that the failure is reported to the caller.
+     *
+     * @throws IOException if an error occurs while syncing the journal.
+     */
+    @Test
+    void deletePerson_shouldThrowExceptionIfJournalFails() throws IOException {
+        SafetyNetData mockData = new SafetyNetData();
+        mockData.setPersons(new ArrayList<>(List.of(
+                new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com"))));
+        mockData.setFirestations(new ArrayList<>());
+        mockData.setMedicalrecords(new ArrayList<>());
+        when(dataLoader.load(any(InputStream.class))).thenReturn(mockData);
+        when(journal.isEnabled()).thenReturn(true);
+        when(journal.append(any(JournalEntry.class))).thenReturn(1L);
+        doThrow(new IOException("Disk full")).when(journal).sync(1L);
+        DataRepository dataRepository = new DataRepository(dataLoader, snapshotStore, journal, "");
+
+        assertThrows(UncheckedIOException.class, () -> dataRepository.deletePerson("john.doe@example.com"));
+    }
+
+    /**
+     * Tests writing after the journal could not be forced to disk, then reloading the data file.
+     * Verifies that writes are refused without being applied until the reload, which restarts the journal,
+     * and that the next write is then applied.
+     *
+     * @throws IOException if an error occurs while writing the data file or syncing the journal.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void addPerson_shouldRefuseWritesAfterJournalFailureUntilReload() throws IOException {
+        Path dataFile = tempDir.resolve("data.json");
+        Files.writeString(dataFile, "{}");
+        SafetyNetData initialData = new SafetyNetData();
+        initialData.setPersons(new ArrayList<>());
+        initialData.setFirestations(new ArrayList<>());
+        initialData.setMedicalrecords(new ArrayList<>());
+        SafetyNetData reloadedData = new SafetyNetData();
+        reloadedData.setPersons(new ArrayList<>());
+        reloadedData.setFirestations(new ArrayList<>());
+        reloadedData.setMedicalrecords(new ArrayList<>());
+        when(dataLoader.load(any(InputStream.class))).thenReturn(initialData, reloadedData);
+        when(journal.isEnabled()).thenReturn(true);
+        when(journal.append(any(JournalEntry.class))).thenReturn(1L, 2L);
+        doThrow(new IOException("Disk full")).when(journal).sync(1L);
+        DataRepository dataRepository = new DataRepository(dataLoader, snapshotStore, journal, dataFile.toString());
+        Person person = new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com");
+        Person other = new Person("Jane", "Doe", "123 Main St", "City", 12345, "555-5678", "jane.doe@example.com");
+
+        assertThrows(UncheckedIOException.class, () -> dataRepository.addPerson(person));
+        when(journal.hasFailed()).thenReturn(true);
+        assertThrows(UncheckedIOException.class, () -> dataRepository.addPerson(other));
+        assertTrue(dataRepository.getPersonsByEmail("jane.doe@example.com").isEmpty());
+        verify(journal, times(1)).append(any(JournalEntry.class));
+
+        Files.writeString(dataFile, "{ }");
+        assertTrue(dataRepository.reload());
+        verify(journal, times(1)).recover(anyLong(), any(Consumer.class));
+        when(journal.hasFailed()).thenReturn(false);
+
+        assertTrue(dataRepository.getPersons().isEmpty());
+        assertTrue(dataRepository.addPerson(other));
+        assertEquals(List.of(other), dataRepository.getPersons());
+        verify(journal, times(1)).sync(2L);
+    }
+
+    /**
+     * Tests updating a person sharing an email after a deletion, before and after a restart from a snapshot.
+     * Verifies that the deletion keeps the order of the other persons and that the update replaces the first person
+     * of the list with that email in both cases.
+     *
+     * @throws IOException if an error occurs while writing the data file or the snapshot.
+     */
+    @Test
+    void updatePerson_shouldReplaceSamePersonAfterDeleteAndSnapshot() throws IOException {
+        Path dataFile = tempDir.resolve("data.json");
+        Files.writeString(dataFile, "{}");
+        SafetyNetData mockData = new SafetyNetData();
+        mockData.setPersons(new ArrayList<>(List.of(
+                new Person("Jane", "Roe", "9 Oak St", "City", 12345, "555-0000", "jane.roe@example.com"),
+                new Person("John", "Boyd", "1509 Culver St", "Culver", 97451, "841-874-6512", "boyd@email.com"),
+                new Person("Jacob", "Boyd", "1509 Culver St", "Culver", 97451, "841-874-6513", "boyd@email.com"))));
+        mockData.setFirestations(new ArrayList<>());
+        mockData.setMedicalrecords(new ArrayList<>());
+        when(dataLoader.load(any(InputStream.class))).thenReturn(mockData);
+        SnapshotStore store = new SnapshotStore(tempDir.resolve("data.snap").toString());
+        DataRepository dataRepository = new DataRepository(dataLoader, store, journal, dataFile.toString());
+
+        assertTrue(dataRepository.deletePerson("jane.roe@example.com"));
+        dataRepository.saveSnapshot();
+        DataRepository restarted = new DataRepository(dataLoader, store, journal, dataFile.toString());
+        assertEquals(List.of("John", "Jacob"), restarted.getPersons().stream().map(Person::getFirstName).toList());
+        Person update = new Person("John", "Boyd", "1509 Culver St", "Culver", 97451, "841-874-0000", "boyd@email.com");
+        dataRepository.updatePerson("boyd@email.com", update);
+        restarted.updatePerson("boyd@email.com", update);
+
+        verify(dataLoader, times(1)).load(any(InputStream.class));
+        assertEquals("841-874-0000", dataRepository.getPersons().get(0).getPhone());
+        assertEquals("841-874-0000", restarted.getPersons().get(0).getPhone());
+        assertEquals("841-874-6513", restarted.getPersons().get(1).getPhone());
+        assertEquals("841-874-6513", dataRepository.getPersons().get(1).getPhone());
+    }
+
+    /**
+     * Tests compacting the journal after new writes.
+     * Verifies that a snapshot is written up to the last sequence and the journal truncated,
+     * and that a second compaction without new writes does nothing.
+     *
+     * @throws IOException if an error occurs while compacting.
+     */
+    @Test
+    void compact_shouldWriteSnapshotAndTruncateJournalOnlyAfterNewWrites() throws IOException {
+        SafetyNetData snapshotData = new SafetyNetData();
+        snapshotData.setPersons(new ArrayList<>());
+        snapshotData.setFirestations(new ArrayList<>());
+        snapshotData.setMedicalrecords(new ArrayList<>());
+        when(snapshotStore.read(anyLong(), anyLong())).thenReturn(new Snapshot(snapshotData, 3));
+        when(snapshotStore.isEnabled()).thenReturn(true);
+        when(journal.isEnabled()).thenReturn(true);
+        when(journal.getLastSequence()).thenReturn(5L);
+        DataRepository dataRepository = new DataRepository(dataLoader, snapshotStore, journal, "");
+
+        assertTrue(dataRepository.compact());
+        assertFalse(dataRepository.compact());
+
+        verify(snapshotStore, times(1)).write(argThat(snapshot -> snapshot.getJournalSequence() == 5L), anyLong(), anyLong());
+        verify(journal, times(1)).truncate(5L);
+    }
+
+    /**
+     * Tests compacting a repository without a journal.
+     * Verifies that nothing is written.
+     *
+     * @throws IOException if an error occurs while compacting.
+     */
+    @Test
+    void compact_shouldDoNothingIfJournalIsDisabled() throws IOException {
+        SafetyNetData mockData = new SafetyNetData();
+        mockData.setPersons(new ArrayList<>());
+        mockData.setFirestations(new ArrayList<>());
+        mockData.setMedicalrecords(new ArrayList<>());
+        when(dataLoader.load(any(InputStream.class))).thenReturn(mockData);
+        DataRepository dataRepository = new DataRepository(dataLoader, snapshotStore, journal, "");
+
+        assertFalse(dataRepository.compact());
+
+        verify(snapshotStore, never()).write(any(Snapshot.class), anyLong(), anyLong());
+    }
+
+    /**
+     * Tests reloading an external data file that changed.
+     * Verifies that the new dataset replaces the previous one, which is left untouched for the readers holding it.
+     *
+     * @throws IOException if an error occurs while writing the data file.
+     */
+    @Test
+    void reload_shouldPublishNewDatasetWhenFileChanges() throws IOException {
+        Path dataFile = tempDir.resolve("data.json");
+        Files.writeString(dataFile, "{}");
+        SafetyNetData initialData = new SafetyNetData();
+        initialData.setPersons(new ArrayList<>(List.of(
+                new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com"))));
+        initialData.setFirestations(new ArrayList<>());
+        initialData.setMedicalrecords(new ArrayList<>());
+        SafetyNetData reloadedData = new SafetyNetData();
+        reloadedData.setPersons(new ArrayList<>());
+        reloadedData.setFirestations(new ArrayList<>(List.of(new FireStation("123 Main St", 1))));
+        reloadedData.setMedicalrecords(new ArrayList<>());
+        when(dataLoader.load(any(InputStream.class))).thenReturn(initialData, reloadedData);
+        DataRepository dataRepository = new DataRepository(dataLoader, snapshotStore, journal, dataFile.toString());
+        Dataset initialDataset = dataRepository.getDataset();
+
+        assertFalse(dataRepository.reload());
+
+        Files.writeString(dataFile, "{ }");
+        assertTrue(dataRepository.reload());
+
+        assertNotSame(initialDataset, dataRepository.getDataset());
+        assertTrue(dataRepository.getPersons().isEmpty());
+        assertEquals(1, dataRepository.getFireStations().size());
+        assertEquals(1, initialDataset.getPersons().size());
+        verify(dataLoader, times(2)).load(any(InputStream.class));
+    }
+
+    /**
+     * Tests writing while a changed data file is being reloaded.
+     * Verifies that the write is applied to the new dataset and contained in the snapshot written before the journal
+     * is truncated.
+     *
+     * @throws IOException if an error occurs while writing the data file.
+     */
+    @Test
+    void reload_shouldKeepWritesMadeWhileReading() throws IOException {
+        Path dataFile = tempDir.resolve("data.json");
+        Files.writeString(dataFile, "{}");
+        SafetyNetData initialData = new SafetyNetData();
+        initialData.setPersons(new ArrayList<>());
+        initialData.setFirestations(new ArrayList<>());
+        initialData.setMedicalrecords(new ArrayList<>());
+        SafetyNetData reloadedData = new SafetyNetData();
+        reloadedData.setPersons(new ArrayList<>());
+        reloadedData.setFirestations(new ArrayList<>(List.of(new FireStation("123 Main St", 1))));
+        reloadedData.setMedicalrecords(new ArrayList<>());
+        Person person = new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com");
+        DataRepository[] repository = new DataRepository[1];
+        when(dataLoader.load(any(InputStream.class))).thenReturn(initialData).thenAnswer(invocation -> {
+            assertTrue(repository[0].addPerson(person));
+            return reloadedData;
+        });
+        when(snapshotStore.isEnabled()).thenReturn(true);
+        when(journal.isEnabled()).thenReturn(true);
+        when(journal.append(any(JournalEntry.class))).thenReturn(1L);
+        when(journal.getLastSequence()).thenReturn(0L, 0L, 1L);
+        repository[0] = new DataRepository(dataLoader, snapshotStore, journal, dataFile.toString());
+
+        Files.writeString(dataFile, "{ }");
+        assertTrue(repository[0].reload());
+
+        assertEquals(List.of(person), repository[0].getPersons());
+        assertEquals(1, repository[0].getFireStations().size());
+        verify(snapshotStore, times(1)).write(argThat(snapshot -> snapshot.getJournalSequence() == 1L
+                && snapshot.getData().getPersons().equals(List.of(person))), anyLong(), anyLong());
+        verify(journal, times(1)).truncate(0L);
+        verify(journal, times(1)).truncate(1L);
+    }
+
+    /**
+     * Tests reloading a changed data file with the journal enabled and snapshots disabled.
+     * Verifies that the journal is truncated up to the writes made before the reload, which the file replaces.
+     *
+     * @throws IOException if an error occurs while writing the data file.
+     */
+    @Test
+    void reload_shouldTruncateJournalWithoutSnapshot() throws IOException {
+        Path dataFile = tempDir.resolve("data.json");
+        Files.writeString(dataFile, "{}");
+        SafetyNetData initialData = new SafetyNetData();
+        initialData.setPersons(new ArrayList<>());
+        initialData.setFirestations(new ArrayList<>());
+        initialData.setMedicalrecords(new ArrayList<>());
+        SafetyNetData reloadedData = new SafetyNetData();
+        reloadedData.setPersons(new ArrayList<>());
+        reloadedData.setFirestations(new ArrayList<>());
+        reloadedData.setMedicalrecords(new ArrayList<>());
+        when(dataLoader.load(any(InputStream.class))).thenReturn(initialData, reloadedData);
+        when(journal.isEnabled()).thenReturn(true);
+        when(journal.append(any(JournalEntry.class))).thenReturn(1L);
+        when(journal.getLastSequence()).thenReturn(1L);
+        DataRepository dataRepository = new DataRepository(dataLoader, snapshotStore, journal, dataFile.toString());
+        assertTrue(dataRepository.addPerson(
+                new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com")));
+
+        Files.writeString(dataFile, "{ }");
+        assertTrue(dataRepository.reload());
+
+        assertTrue(dataRepository.getPersons().isEmpty());
+        verify(journal, times(2)).sync(1L);
+        verify(journal, times(1)).truncate(1L);
+        verify(snapshotStore, never()).write(any(Snapshot.class), anyLong(), anyLong());
+    }
+
+    /**
+     * Tests reloading an external data file that cannot be parsed.
+     * Verifies that the exception is reported and the current dataset is kept.
+     *
+     * @throws IOException if an error occurs while writing the data file.
+     */
+    @Test
+    void reload_shouldKeepDatasetIfFileCannotBeParsed() throws IOException {
+        Path dataFile = tempDir.resolve("data.json");
+        Files.writeString(dataFile, "{}");
+        SafetyNetData initialData = new SafetyNetData();
+        initialData.setPersons(new ArrayList<>());
+        initialData.setFirestations(new ArrayList<>());
+        initialData.setMedicalrecords(new ArrayList<>());
+        when(dataLoader.load(any(InputStream.class))).thenReturn(initialData).thenThrow(new IOException("Broken file"));
+        DataRepository dataRepository = new DataRepository(dataLoader, snapshotStore, journal, dataFile.toString());
+        Dataset initialDataset = dataRepository.getDataset();
+
+        Files.writeString(dataFile, "{\"persons\":");
+
+        assertThrows(IOException.class, dataRepository::reload);
+        assertSame(initialDataset, dataRepository.getDataset());
+    }
+
+    /**
+     * Tests loading a gzip-compressed data file from the filesystem.
+     * Verifies that the loader receives the decompressed JSON content.
+     *
+     * @throws IOException if an error occurs while writing the data file.
+     */
+    @Test
+    void constructor_shouldDecompressGzipDataFile() throws IOException {
+        String json = "{\"persons\": [], \"firestations\": [], \"medicalrecords\": []}";
+        Path dataFile = tempDir.resolve("export.json.gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(dataFile))) {
+            outputStream.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        List<String> contents = new ArrayList<>();
+        when(dataLoader.load(any(InputStream.class))).thenAnswer(invocation -> {
+            InputStream inputStream = invocation.getArgument(0);
+            contents.add(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+            SafetyNetData data = new SafetyNetData();
+            data.setPersons(new ArrayList<>());
+            data.setFirestations(new ArrayList<>());
+            data.setMedicalrecords(new ArrayList<>());
+            return data;
+        });
+
+        new DataRepository(dataLoader, snapshotStore, journal, dataFile.toString());
+
+        assertEquals(List.of(json), contents);
+    }
+
+    /**
+     * Tests loading an uncompressed data file from the filesystem.
+     * Verifies that the loader receives the file content unchanged.
+     *
+     * @throws IOException if an error occurs while writing the data file.
+     */
+    @Test
+    void constructor_shouldReadPlainDataFile() throws IOException {
+        String json = "{\"persons\": []}";
+        Path dataFile = tempDir.resolve("data.json");
+        Files.writeString(dataFile, json);
+        List<String> contents = new ArrayList<>();
+        when(dataLoader.load(any(InputStream.class))).thenAnswer(invocation -> {
+            InputStream inputStream = invocation.getArgument(0);
+            contents.add(new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+            SafetyNetData data = new SafetyNetData();
+            data.setPersons(new ArrayList<>());
+            data.setFirestations(new ArrayList<>());
+            data.setMedicalrecords(new ArrayList<>());
+            return data;
+        });
+
+        new DataRepository(dataLoader, snapshotStore, journal, dataFile.toString());
+
+        assertEquals(List.of(json), contents);
+        verify(dataLoader, never()).load(any(Path.class));
+    }
+
+    /**
+     * Tests loading data files with a loader configured to load in parallel.
+     * Verifies that only a plain file on disk is passed by path, and that a gzip-compressed file is still streamed.
+     *
+     * @throws IOException if an error occurs while writing the data files.
+     */
+    @Test
+    void constructor_shouldPassOnlyPlainFilesToParallelLoader() throws IOException {
+        SafetyNetData data = new SafetyNetData();
+        data.setPersons(new ArrayList<>());
+        data.setFirestations(new ArrayList<>());
+        data.setMedicalrecords(new ArrayList<>());
+        when(dataLoader.isParallel()).thenReturn(true);
+        when(dataLoader.load(any(Path.class))).thenReturn(data);
+        when(dataLoader.load(any(InputStream.class))).thenReturn(data);
+        Path plainFile = tempDir.resolve("data.json");
+        Files.writeString(plainFile, "{}");
+        Path gzipFile = tempDir.resolve("export.json.gz");
+        try (OutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(gzipFile))) {
+            outputStream.write("{}".getBytes(StandardCharsets.UTF_8));
+        }
+
+        new DataRepository(dataLoader, snapshotStore, journal, plainFile.toString());
+        verify(dataLoader).load(plainFile);
+        verify(dataLoader, never()).load(any(InputStream.class));
+
+        new DataRepository(dataLoader, snapshotStore, journal, gzipFile.toString());
+        verify(dataLoader, times(1)).load(any(Path.class));
+        verify(dataLoader, times(1)).load(any(InputStream.class));
+    }
+
+    /**
+     * Tests adding a batch of records through a repository backed by the journal.
+     * Verifies that duplicates inside the batch and against the data are rejected,
+     * that only the added records are appended, and that the journal is synced once for the whole batch.
+     *
+     * @throws IOException if an error occurs while syncing the journal.
+     */
+    @Test
+    void addAll_shouldRejectDuplicatesAndSyncJournalOnce() throws IOException {
+        SafetyNetData mockData = new SafetyNetData();
+        mockData.setPersons(new ArrayList<>());
+        mockData.setFirestations(new ArrayList<>(List.of(new FireStation("123 Main St", 1))));
+        mockData.setMedicalrecords(new ArrayList<>());
+        when(dataLoader.load(any(InputStream.class))).thenReturn(mockData);
+        when(journal.isEnabled()).thenReturn(true);
+        when(journal.append(any(JournalEntry.class))).thenReturn(1L, 2L);
+        DataRepository dataRepository = new DataRepository(dataLoader, snapshotStore, journal, "");
+        Person person = new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com");
+        MedicalRecord medicalRecord = new MedicalRecord("John", "Doe", "01/01/1980", List.of(), List.of());
+
+        boolean[] added = dataRepository.addAll(List.of(person, new FireStation("123 Main St", 1), person, medicalRecord));
+
+        assertArrayEquals(new boolean[]{true, false, false, true}, added);
+        verify(journal, times(2)).append(any(JournalEntry.class));
+        verify(journal, times(1)).sync(2L);
+        assertEquals(1, dataRepository.getPersons().size());
+        assertEquals(1, dataRepository.getMedicalRecords().size());
+    }
+
+    /**
+     * Tests adding a batch holding an object that is not a record.
+     * Verifies that the batch is rejected before any record is added.
+     */
+    @Test
+    void addAll_shouldThrowExceptionForUnsupportedRecord() {
+        DataRepository dataRepository = new DataRepository(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        Person person = new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com");
+
+        assertThrows(IllegalArgumentException.class, () -> dataRepository.addAll(List.of(person, "not a record")));
+        assertTrue(dataRepository.getPersons().isEmpty());
+    }
+
+    /**
+     * Tests copying the sections of the current dataset.
+     * Verifies that the copy holds every element and is not affected by a later delete.
+     */
+    @Test
+    void copyData_shouldNotFollowLaterWrites() {
+        List<FireStation> fireStations = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            fireStations.add(new FireStation(i + " Main St", i));
+        }
+        DataRepository dataRepository = new DataRepository(new ArrayList<>(), fireStations, new ArrayList<>());
+
+        SafetyNetData data = dataRepository.copyData();
+        assertTrue(dataRepository.deleteFireStation("1 Main St", 1));
+
+        assertEquals(5, data.getFirestations().size());
+        assertEquals(new FireStation("1 Main St", 1), data.getFirestations().get(0));
+        assertEquals(new FireStation("5 Main St", 5), data.getFirestations().get(4));
+        assertEquals(4, dataRepository.getFireStations().size());
+    }
+
+    /**
+     * Tests rolling the age classification over with a clock moved by hand.
+     * Verifies that a child is listed until the day before their 19th birthday, and again after the clock moves back.
+     */
+    @Test
+    void rollOverAgeBrackets_shouldFollowClock() {
+        Person tenley = new Person("Tenley", "Boyd", "1509 Culver St", "Culver", 97451, "841-874-6512", "tenley@email.com");
+        MutableClock clock = new MutableClock(LocalDate.of(2031, 2, 17));
+        // 02/18/2012 is read as June 2, 2013, so Tenley turns 19 on June 2, 2032
+        DataRepository dataRepository = new DataRepository(new ArrayList<>(List.of(tenley)), new ArrayList<>(),
+                new ArrayList<>(List.of(new MedicalRecord("Tenley", "Boyd", "02/18/2012", List.of(), List.of()))), clock);
+
+        assertEquals(List.of(tenley), dataRepository.getChildrenByAddress("1509 Culver St"));
+
+        clock.date = LocalDate.of(2032, 6, 1);
+        assertEquals(0, dataRepository.rollOverAgeBrackets());
+        assertEquals(List.of(tenley), dataRepository.getChildrenByAddress("1509 Culver St"));
+
+        clock.date = LocalDate.of(2032, 6, 2);
+        assertEquals(1, dataRepository.rollOverAgeBrackets());
+        assertTrue(dataRepository.getChildrenByAddress("1509 Culver St").isEmpty());
+
+        clock.date = LocalDate.of(2032, 5, 31);
+        assertEquals(-1, dataRepository.rollOverAgeBrackets());
+        assertEquals(List.of(tenley), dataRepository.getChildrenByAddress("1509 Culver St"));
+    }
+
+    /**
+     * Clock in UTC whose date can be changed by the tests.
+     */
+    private static final class MutableClock extends Clock {
+
+        private LocalDate date;
+
+        private MutableClock(LocalDate date) {
+            this.date = date;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return date.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+    }
+}
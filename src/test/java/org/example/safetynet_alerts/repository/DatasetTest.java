@@ -0,0 +1,351 @@
+package org.example.safetynet_alerts.repository;
+
+import org.example.safetynet_alerts.models.FireStation;
+import org.example.safetynet_alerts.models.MedicalRecord;
+import org.example.safetynet_alerts.models.Person;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link Dataset}.
+ * This class verifies that the key indexes used for duplicate checks follow the additions, updates and deletions.
+ */
+class DatasetTest {
+
+    private Dataset dataset; // Dataset under test
+
+    /**
+     * Setup before each test.
+     * Builds a dataset holding one person, one fire station and one medical record.
+     */
+    @BeforeEach
+    void setUp() {
+        dataset = new Dataset(
+                new ArrayList<>(List.of(new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com"))),
+                new ArrayList<>(List.of(new FireStation("123 Main St", 1))),
+                new ArrayList<>(List.of(new MedicalRecord("John", "Doe", "01/01/1980", List.of(), List.of()))),
+                -1, -1, (int) LocalDate.now().toEpochDay());
+    }
+
+    /**
+     * Tests adding records whose key is already loaded.
+     * Verifies that they are rejected.
+     */
+    @Test
+    void add_shouldRejectLoadedKeys() {
+        assertFalse(dataset.addPerson(new Person("Jane", "Doe", "1 Other St", "City", 12345, "555-0000", "john.doe@example.com")));
+        assertFalse(dataset.addFireStation(new FireStation("123 Main St", 1)));
+        assertFalse(dataset.addMedicalRecord(new MedicalRecord("John", "Doe", "02/02/1990", List.of(), List.of())));
+        assertTrue(dataset.addFireStation(new FireStation("123 Main St", 2)));
+        assertEquals(2, dataset.getFireStations().size());
+    }
+
+    /**
+     * Tests updating a person with a new email.
+     * Verifies that the old email is free again and the new one is taken.
+     */
+    @Test
+    void updatePerson_shouldMoveEmailInIndex() {
+        Person updated = new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john@example.com");
+
+        assertSame(updated, dataset.updatePerson("john.doe@example.com", updated));
+
+        assertNull(dataset.updatePerson("john.doe@example.com", updated));
+        assertFalse(dataset.addPerson(updated));
+        assertTrue(dataset.addPerson(new Person("Jim", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com")));
+    }
+
+    /**
+     * Tests deleting records.
+     * Verifies that their keys can be added again and that deleting an unknown key does nothing.
+     */
+    @Test
+    void delete_shouldFreeKeys() {
+        assertTrue(dataset.deleteFireStation("123 Main St", 1));
+        assertTrue(dataset.deleteMedicalRecord("John", "Doe"));
+        assertFalse(dataset.deleteMedicalRecord("John", "Doe"));
+
+        assertTrue(dataset.addFireStation(new FireStation("123 Main St", 1)));
+        assertTrue(dataset.addMedicalRecord(new MedicalRecord("John", "Doe", "01/01/1980", List.of(), List.of())));
+        assertEquals(1, dataset.getFireStations().size());
+        assertEquals(1, dataset.getMedicalRecords().size());
+    }
+
+    /**
+     * Tests looking up persons sharing an email, as the members of a family do in the data file.
+     * Verifies that all of them are indexed, that an update replaces the first one in place,
+     * and that a deletion removes all of them and keeps the order of the other persons.
+     */
+    @Test
+    void personsByEmail_shouldHandleSharedEmails() {
+        Person jacob = new Person("Jacob", "Boyd", "1509 Culver St", "Culver", 97451, "841-874-6513", "boyd@email.com");
+        Person tenley = new Person("Tenley", "Boyd", "1509 Culver St", "Culver", 97451, "841-874-6512", "boyd@email.com");
+        Person jane = new Person("Jane", "Smith", "456 Elm St", "Town", 67890, "555-5678", "jane.smith@example.com");
+        Dataset shared = new Dataset(new ArrayList<>(List.of(jacob, tenley, jane)), new ArrayList<>(), new ArrayList<>(), -1, -1,
+                (int) LocalDate.now().toEpochDay());
+
+        assertEquals(List.of(jacob, tenley), shared.getPersonsByEmail("boyd@email.com"));
+
+        Person updated = new Person("Jacob", "Boyd", "1509 Culver St", "Culver", 97451, "841-874-6513", "jacob@email.com");
+        shared.updatePerson("boyd@email.com", updated);
+        assertEquals(List.of(tenley), shared.getPersonsByEmail("boyd@email.com"));
+        assertEquals(List.of(updated), shared.getPersonsByEmail("jacob@email.com"));
+        assertSame(updated, shared.getPersons().get(0));
+
+        assertTrue(shared.deletePerson("jacob@email.com"));
+        assertEquals(List.of(tenley, jane), shared.getPersons());
+        assertTrue(shared.deletePerson("boyd@email.com"));
+        assertEquals(List.of(jane), shared.getPersons());
+        assertTrue(shared.getPersonsByEmail("boyd@email.com").isEmpty());
+        assertSame(jacob, shared.updatePerson("jane.smith@example.com", jacob));
+        assertEquals(List.of(jacob), shared.getPersons());
+    }
+
+    /**
+     * Tests looking up the residents of an address across writes.
+     * Verifies that additions, moves to another address and deletions are reflected in the address index.
+     */
+    @Test
+    void personsByAddress_shouldFollowWrites() {
+        Person jane = new Person("Jane", "Doe", "123 Main St", "City", 12345, "555-5678", "jane.doe@example.com");
+        dataset.addPerson(jane);
+        assertEquals(2, dataset.getPersonsByAddress("123 Main St").size());
+
+        Person moved = new Person("Jane", "Doe", "456 Elm St", "City", 12345, "555-5678", "jane.doe@example.com");
+        dataset.updatePerson("jane.doe@example.com", moved);
+        assertEquals(1, dataset.getPersonsByAddress("123 Main St").size());
+        assertEquals(List.of(moved), dataset.getPersonsByAddress("456 Elm St"));
+
+        dataset.deletePerson("jane.doe@example.com");
+        assertTrue(dataset.getPersonsByAddress("456 Elm St").isEmpty());
+        assertEquals("John", dataset.getPersonsByAddress("123 Main St").get(0).getFirstName());
+    }
+
+    /**
+     * Tests looking up fire stations by number and by address across writes.
+     * Verifies that both directions of the index follow additions, updates and deletions.
+     */
+    @Test
+    void fireStationIndexes_shouldFollowWrites() {
+        FireStation second = new FireStation("456 Elm St", 1);
+        dataset.addFireStation(second);
+        assertEquals(List.of("123 Main St", "456 Elm St"),
+                dataset.getFireStationsByNumber(1).stream().map(FireStation::getAddress).toList());
+
+        FireStation renumbered = new FireStation("456 Elm St", 2);
+        dataset.updateFireStation("456 Elm St", 1, renumbered);
+        assertEquals(1, dataset.getFireStationsByNumber(1).size());
+        assertEquals(List.of(renumbered), dataset.getFireStationsByNumber(2));
+        assertEquals(List.of(renumbered), dataset.getFireStationsByAddress("456 Elm St"));
+
+        assertFalse(dataset.deleteFireStation("456 Elm St", 1));
+        assertTrue(dataset.deleteFireStation("456 Elm St", 2));
+        assertTrue(dataset.getFireStationsByNumber(2).isEmpty());
+        assertTrue(dataset.getFireStationsByAddress("456 Elm St").isEmpty());
+        assertEquals(List.of(new FireStation("123 Main St", 1)), dataset.getFireStationsByAddress("123 Main St"));
+    }
+
+    /**
+     * Tests building a dataset from an unmodifiable list of fire stations holding a duplicate mapping.
+     * Verifies that the duplicate is dropped from the dataset while the given list is left untouched.
+     */
+    @Test
+    void constructor_shouldNotModifyGivenFireStations() {
+        List<FireStation> loaded = List.of(new FireStation("1 Main St", 1), new FireStation("1 Main St", 1));
+
+        Dataset stations = new Dataset(new ArrayList<>(), loaded, new ArrayList<>(), -1, -1, (int) LocalDate.now().toEpochDay());
+
+        assertEquals(List.of(new FireStation("1 Main St", 1)), stations.getFireStations());
+        assertEquals(2, loaded.size());
+    }
+
+    /**
+     * Tests building a dataset whose fire stations map the same address and number twice, then writing fire stations.
+     * Verifies that the duplicate is dropped, that an update onto a mapped pair deletes the replaced mapping,
+     * and that a deletion keeps the order of the other fire stations.
+     */
+    @Test
+    void fireStations_shouldStayDistinctAcrossWrites() {
+        Dataset stations = new Dataset(new ArrayList<>(), new ArrayList<>(List.of(
+                new FireStation("1 Main St", 1), new FireStation("2 Main St", 2), new FireStation("1 Main St", 1),
+                new FireStation("3 Main St", 3))), new ArrayList<>(), -1, -1, (int) LocalDate.now().toEpochDay());
+
+        assertEquals(List.of(new FireStation("1 Main St", 1), new FireStation("2 Main St", 2), new FireStation("3 Main St", 3)),
+                stations.getFireStations());
+        assertEquals(1, stations.getFireStationsByNumber(1).size());
+
+        assertNotNull(stations.updateFireStation("2 Main St", 2, new FireStation("3 Main St", 3)));
+        assertEquals(List.of(new FireStation("1 Main St", 1), new FireStation("3 Main St", 3)), stations.getFireStations());
+        assertEquals(1, stations.getFireStationsByNumber(3).size());
+
+        assertTrue(stations.deleteFireStation("1 Main St", 1));
+        assertEquals(List.of(new FireStation("3 Main St", 3)), stations.getFireStations());
+        FireStation moved = new FireStation("3 Main St", 4);
+        assertSame(moved, stations.updateFireStation("3 Main St", 3, moved));
+        assertSame(moved, stations.getFireStations().get(0));
+    }
+
+    /**
+     * Tests looking up medical records by name across writes.
+     * Verifies that an update to another name moves the record in the name index while keeping its position,
+     * and that a deletion keeps the order of the other records.
+     */
+    @Test
+    void medicalRecordByName_shouldFollowWrites() {
+        MedicalRecord jane = new MedicalRecord("Jane", "Doe", "02/02/1990", List.of(), List.of("peanut"));
+        dataset.addMedicalRecord(jane);
+        assertSame(jane, dataset.getMedicalRecordByName("Jane", "Doe"));
+        assertNull(dataset.getMedicalRecordByName("Jane", null));
+
+        MedicalRecord renamed = new MedicalRecord("Johnny", "Doe", "01/01/1980", List.of(), List.of());
+        dataset.updateMedicalRecord("John", "Doe", renamed);
+        assertNull(dataset.getMedicalRecordByName("John", "Doe"));
+        assertSame(renamed, dataset.getMedicalRecordByName("Johnny", "Doe"));
+        assertSame(renamed, dataset.getMedicalRecords().get(0));
+
+        assertTrue(dataset.deleteMedicalRecord("Johnny", "Doe"));
+        assertEquals(List.of(jane), dataset.getMedicalRecords());
+        assertSame(jane, dataset.getMedicalRecordByName("Jane", "Doe"));
+    }
+
+    /**
+     * Tests the links between persons and their medical records across writes.
+     * Verifies that a person is linked when the dataset is built, becomes an orphan when its record is deleted
+     * or renamed, and is linked again when a record with its name is added or when it is renamed to match one.
+     */
+    @Test
+    void medicalRecordLinks_shouldFollowWrites() {
+        Person john = dataset.getPersons().get(0);
+        MedicalRecord johnRecord = dataset.getMedicalRecords().get(0);
+        assertSame(johnRecord, dataset.getMedicalRecord(john));
+        assertTrue(dataset.getOrphans().isEmpty());
+
+        dataset.deleteMedicalRecord("John", "Doe");
+        assertNull(dataset.getMedicalRecord(john));
+        assertEquals(Set.of(john), dataset.getOrphans());
+
+        MedicalRecord added = new MedicalRecord("John", "Doe", "01/01/1980", List.of(), List.of());
+        dataset.addMedicalRecord(added);
+        assertSame(added, dataset.getMedicalRecord(john));
+        assertTrue(dataset.getOrphans().isEmpty());
+
+        dataset.updateMedicalRecord("John", "Doe", new MedicalRecord("Jim", "Doe", "01/01/1980", List.of(), List.of()));
+        assertEquals(Set.of(john), dataset.getOrphans());
+
+        Person jim = new Person("Jim", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com");
+        dataset.updatePerson("john.doe@example.com", jim);
+        assertEquals("Jim", dataset.getMedicalRecord(jim).getFirstName());
+        assertNull(dataset.getMedicalRecord(john));
+        assertTrue(dataset.getOrphans().isEmpty());
+
+        dataset.deletePerson("john.doe@example.com");
+        assertNull(dataset.getMedicalRecord(jim));
+    }
+
+    /**
+     * Tests adding a person and a fire station whose addresses are equal but distinct instances.
+     * Verifies that both are indexed under the existing address and keep their own instance.
+     */
+    @Test
+    void addresses_shouldIndexEqualAddressesTogether() {
+        String address = dataset.getPersons().get(0).getAddress();
+        String janeAddress = new String(address);
+        String stationAddress = new String(address);
+        Person jane = new Person("Jane", "Doe", janeAddress, "City", 12345, "555-5678", "jane.doe@example.com");
+        FireStation fireStation = new FireStation(stationAddress, 2);
+
+        dataset.addPerson(jane);
+        dataset.addFireStation(fireStation);
+
+        assertSame(janeAddress, jane.getAddress());
+        assertSame(stationAddress, fireStation.getAddress());
+        assertEquals(2, dataset.getPersonsByAddress(address).size());
+        assertEquals(2, dataset.getFireStationsByAddress(new String(address)).size());
+    }
+
+    /**
+     * Tests the allergy and medication indexes across writes on the medical records.
+     * Verifies that terms match ignoring case and dose, and that replaced or deleted records are not returned.
+     */
+    @Test
+    void medicalTermIndexes_shouldFollowWrites() {
+        MedicalRecord jane = new MedicalRecord("Jane", "Doe", "01/01/1990", List.of("Insulin:10ml", "aznol:350mg"), List.of("peanut"));
+        dataset.addMedicalRecord(jane);
+        dataset.addPerson(new Person("Jane", "Doe", "123 Main St", "City", 12345, "555-5678", "jane.doe@example.com"));
+
+        assertEquals(List.of(jane), dataset.getMedicalRecordsByTerms("PEANUT", null));
+        assertEquals(List.of(jane), dataset.getMedicalRecordsByTerms("peanut", "insulin:20ml"));
+        assertTrue(dataset.getMedicalRecordsByTerms("peanut", "hydrapermazol").isEmpty());
+        assertTrue(dataset.getMedicalRecordsByTerms(null, null).isEmpty());
+        assertEquals("Jane", dataset.getPersonsByMedicalRecord(jane).get(0).getFirstName());
+
+        MedicalRecord updated = new MedicalRecord("Jane", "Doe", "01/01/1990", List.of("aznol:350mg"), List.of("shellfish"));
+        dataset.updateMedicalRecord("Jane", "Doe", updated);
+        assertTrue(dataset.getMedicalRecordsByTerms("peanut", null).isEmpty());
+        assertTrue(dataset.getMedicalRecordsByTerms(null, "insulin").isEmpty());
+        assertEquals(List.of(updated), dataset.getMedicalRecordsByTerms(null, "Aznol"));
+
+        dataset.deleteMedicalRecord("Jane", "Doe");
+        assertTrue(dataset.getMedicalRecordsByTerms("shellfish", null).isEmpty());
+        assertTrue(dataset.getPersonsByMedicalRecord(updated).isEmpty());
+    }
+
+    /**
+     * Tests looking up records by allergy and medication when the medication index entry is the smaller one.
+     * Verifies that the records of the medication are filtered on the codes of their allergies.
+     */
+    @Test
+    void getMedicalRecordsByTerms_shouldFilterSmallerEntryByCodes() {
+        MedicalRecord jane = new MedicalRecord("Jane", "Doe", "01/01/1990", List.of("insulin:10ml"), List.of("Peanut", "shellfish"));
+        MedicalRecord jim = new MedicalRecord("Jim", "Doe", "01/01/1990", List.of("aznol:350mg"), List.of("peanut"));
+        MedicalRecord joe = new MedicalRecord("Joe", "Doe", "01/01/1990", List.of("insulin:20ml"), List.of("peanut"));
+        dataset.addMedicalRecord(jane);
+        dataset.addMedicalRecord(jim);
+        dataset.addMedicalRecord(joe);
+
+        assertEquals(List.of(jane), dataset.getMedicalRecordsByTerms("shellfish", "insulin"));
+        assertEquals(List.of(jane, joe), dataset.getMedicalRecordsByTerms("peanut", "Insulin"));
+        assertTrue(dataset.getMedicalRecordsByTerms("pollen", "insulin").isEmpty());
+    }
+
+    /**
+     * Tests the children of an address across writes and day rollovers.
+     * Verifies that a child is listed once linked to a medical record, follows address changes,
+     * and is no longer listed from their 19th birthday, or again when the clock moves back.
+     */
+    @Test
+    void childrenByAddress_shouldFollowWritesAndRollOver() {
+        int today = (int) LocalDate.now().toEpochDay();
+        LocalDate birthDate = LocalDate.now().minusYears(19).plusDays(1);
+        String birthDay = birthDate.getMonthValue() + "/" + birthDate.getDayOfMonth() + "/" + birthDate.getYear();
+        Person tenley = new Person("Tenley", "Doe", "123 Main St", "City", 12345, "555-5678", "tenley.doe@example.com");
+
+        dataset.addPerson(tenley);
+        assertTrue(dataset.getChildrenByAddress("123 Main St").isEmpty());
+
+        dataset.addMedicalRecord(new MedicalRecord("Tenley", "Doe", birthDay, List.of(), List.of()));
+        assertEquals(List.of(tenley), dataset.getChildrenByAddress("123 Main St"));
+
+        Person moved = new Person("Tenley", "Doe", "1 Other St", "City", 12345, "555-5678", "tenley.doe@example.com");
+        dataset.updatePerson("tenley.doe@example.com", moved);
+        assertTrue(dataset.getChildrenByAddress("123 Main St").isEmpty());
+        assertEquals(List.of(moved), dataset.getChildrenByAddress("1 Other St"));
+
+        assertEquals(0, dataset.rollOver(today));
+        assertEquals(1, dataset.rollOver(today + 1));
+        assertTrue(dataset.getChildrenByAddress("1 Other St").isEmpty());
+
+        assertEquals(-1, dataset.rollOver(today));
+        assertEquals(List.of(moved), dataset.getChildrenByAddress("1 Other St"));
+
+        dataset.deletePerson("tenley.doe@example.com");
+        assertTrue(dataset.getChildrenByAddress("1 Other St").isEmpty());
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.safetynet_alerts.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link IdIndex}.
+ * This class verifies that elements are found by their ID across growth and removals.
+ */
+class IdIndexTest {
+
+    private final IdIndex<String> index = new IdIndex<>(); // Index under test
+
+    /**
+     * Tests adding elements under IDs past the initial capacity.
+     * Verifies that earlier IDs are kept and that unknown IDs return an empty list.
+     */
+    @Test
+    void add_shouldKeepElementsAcrossGrowth() {
+        index.add(0, "John");
+        index.add(0, "Jacob");
+        index.add(500, "Tenley");
+
+        assertEquals(List.of("John", "Jacob"), index.get(0));
+        assertEquals(List.of("Tenley"), index.get(500));
+        assertTrue(index.get(499).isEmpty());
+        assertTrue(index.get(10_000).isEmpty());
+        assertTrue(index.get(AddressDictionary.UNKNOWN).isEmpty());
+    }
+
+    /**
+     * Tests removing elements.
+     * Verifies that a list returned earlier is not modified and that the other elements are kept.
+     */
+    @Test
+    void remove_shouldReplaceListsWithoutModifyingThem() {
+        String john = "John";
+        index.add(3, john);
+        index.add(3, "Jacob");
+        List<String> before = index.get(3);
+
+        index.remove(3, john);
+        index.remove(4, john);
+
+        assertEquals(List.of("John", "Jacob"), before);
+        assertEquals(List.of("Jacob"), index.get(3));
+    }
+}
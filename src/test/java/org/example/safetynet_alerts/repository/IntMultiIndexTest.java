@@ -0,0 +1,81 @@
+package org.example.safetynet_alerts.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link IntMultiIndex}.
+ * This class verifies that elements are found by their int key across table growth and removals.
+ */
+class IntMultiIndexTest {
+
+    private final IntMultiIndex<String> index = new IntMultiIndex<>(); // Index under test
+
+    /**
+     * Tests adding elements under many keys, enough to grow the table several times.
+     * Verifies that every key still returns its elements and that unknown keys return an empty list.
+     */
+    @Test
+    void add_shouldKeepEveryKeyAcrossGrowth() {
+        for (int key = -50; key <= 50; key++) {
+            index.add(key, "a" + key);
+            index.add(key, "b" + key);
+        }
+
+        for (int key = -50; key <= 50; key++) {
+            assertEquals(List.of("a" + key, "b" + key), index.get(key));
+        }
+        assertTrue(index.get(51).isEmpty());
+    }
+
+    /**
+     * Tests removing elements.
+     * Verifies that the other keys are kept, that a list returned earlier is not modified,
+     * and that an emptied key is no longer found.
+     */
+    @Test
+    void remove_shouldDropEmptiedKeys() {
+        String first = "1509 Culver St";
+        String second = "29 15th St";
+        index.add(3, first);
+        index.add(3, second);
+        index.add(2, "892 Downing Ct");
+        List<String> before = index.get(3);
+
+        index.remove(3, first);
+
+        assertEquals(List.of(first, second), before);
+        assertEquals(List.of(second), index.get(3));
+        index.remove(3, second);
+        assertTrue(index.get(3).isEmpty());
+        assertEquals(List.of("892 Downing Ct"), index.get(2));
+    }
+
+    /**
+     * Tests adding elements in a bulk write, including under a key that already has elements.
+     * Verifies that they are only visible once the bulk write ends, after the existing ones and in the order added.
+     */
+    @Test
+    void endBulk_shouldPublishGroupedElements() {
+        index.add(1, "1509 Culver St");
+        index.beginBulk();
+        for (int key = 1; key <= 20; key++) {
+            index.add(key, "a" + key);
+            index.add(key, "b" + key);
+        }
+
+        assertEquals(List.of("1509 Culver St"), index.get(1));
+        assertTrue(index.get(2).isEmpty());
+
+        index.endBulk();
+
+        assertEquals(List.of("1509 Culver St", "a1", "b1"), index.get(1));
+        for (int key = 2; key <= 20; key++) {
+            assertEquals(List.of("a" + key, "b" + key), index.get(key));
+        }
+        assertThrows(UnsupportedOperationException.class, () -> index.get(2).add("c2"));
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.safetynet_alerts.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link JournalCompactor}.
+ * This class verifies that the scheduled task compacts the repository and survives failures.
+ */
+class JournalCompactorTest {
+
+    @Mock
+    private DataRepository dataRepository; // Mocked DataRepository to compact
+
+    @InjectMocks
+    private JournalCompactor journalCompactor; // Instance of JournalCompactor under test
+
+    /**
+     * Setup before each test.
+     * Initializes mocks.
+     */
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Tests a scheduled compaction.
+     * Verifies that the repository is compacted.
+     *
+     * @throws IOException if an error occurs while compacting.
+     */
+    @Test
+    void compact_shouldCompactRepository() throws IOException {
+        when(dataRepository.compact()).thenReturn(true);
+
+        journalCompactor.compact();
+
+        verify(dataRepository, times(1)).compact();
+    }
+
+    /**
+     * Tests a scheduled compaction that fails.
+     * Verifies that the failure does not escape the scheduled task.
+     *
+     * @throws IOException if an error occurs while compacting.
+     */
+    @Test
+    void compact_shouldNotThrowIfCompactionFails() throws IOException {
+        when(dataRepository.compact()).thenThrow(new IOException("Disk full"));
+
+        assertDoesNotThrow(() -> journalCompactor.compact());
+    }
+}
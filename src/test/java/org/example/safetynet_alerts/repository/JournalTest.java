@@ -0,0 +1,249 @@
+package org.example.safetynet_alerts.repository;
+
+import org.example.safetynet_alerts.models.FireStation;
+import org.example.safetynet_alerts.models.MedicalRecord;
+import org.example.safetynet_alerts.models.Person;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link Journal}.
+ * This class verifies that appended entries are replayed in order, that a damaged tail is discarded,
+ * that the entries lost by a write failure are discarded on recovery
+ * and that entries contained in a snapshot can be truncated.
+ */
+class JournalTest {
+
+    @TempDir
+    Path tempDir; // Temporary directory holding the journal file
+
+    private Path journalPath;
+    private Journal journal; // Instance of Journal under test
+
+    /**
+     * Setup before each test.
+     * Initializes the journal location.
+     */
+    @BeforeEach
+    void setUp() {
+        journalPath = tempDir.resolve("journal.log");
+        journal = new Journal(journalPath.toString());
+    }
+
+    /**
+     * Cleanup after each test.
+     * Closes the journal file.
+     *
+     * @throws IOException if an error occurs while closing the journal.
+     */
+    @AfterEach
+    void tearDown() throws IOException {
+        journal.close();
+    }
+
+    /**
+     * Tests appending entries and reopening the journal.
+     * Verifies that every entry is replayed in order with all of its fields.
+     *
+     * @throws IOException if an error occurs while writing or reading the journal.
+     */
+    @Test
+    void open_shouldReplaySyncedEntries() throws IOException {
+        journal.open(0, entry -> fail("The journal should be empty"));
+        journal.append(JournalEntry.addPerson(
+                new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com")));
+        journal.append(JournalEntry.updateFireStation("123 Main St", 1, new FireStation("123 Main St", 2)));
+        long sequence = journal.append(JournalEntry.addMedicalRecord(
+                new MedicalRecord("John", "Doe", "01/01/1980", List.of("aznol:350mg"), null)));
+        journal.sync(sequence);
+        journal.close();
+
+        List<JournalEntry> entries = new ArrayList<>();
+        journal = new Journal(journalPath.toString());
+        int replayed = journal.open(0, entries::add);
+
+        assertEquals(3, replayed);
+        assertEquals(3, journal.getLastSequence());
+        assertEquals("john.doe@example.com", entries.get(0).getPerson().getEmail());
+        assertEquals(12345, entries.get(0).getPerson().getZip());
+        assertEquals(JournalEntry.Operation.UPDATE_FIRE_STATION, entries.get(1).getOperation());
+        assertEquals(1, entries.get(1).getStation());
+        assertEquals(2, entries.get(1).getFireStation().getStation());
+        assertEquals(List.of("aznol:350mg"), entries.get(2).getMedicalRecord().getMedications());
+        assertNull(entries.get(2).getMedicalRecord().getAllergies());
+    }
+
+    /**
+     * Tests reopening the journal after a snapshot.
+     * Verifies that the entries already contained in the snapshot are skipped.
+     *
+     * @throws IOException if an error occurs while writing or reading the journal.
+     */
+    @Test
+    void open_shouldSkipEntriesContainedInSnapshot() throws IOException {
+        journal.open(0, entry -> { });
+        journal.append(JournalEntry.deletePerson("a@example.com"));
+        journal.append(JournalEntry.deletePerson("b@example.com"));
+        journal.sync(journal.append(JournalEntry.deletePerson("c@example.com")));
+        journal.close();
+
+        List<JournalEntry> entries = new ArrayList<>();
+        journal = new Journal(journalPath.toString());
+        journal.open(2, entries::add);
+
+        assertEquals(1, entries.size());
+        assertEquals("c@example.com", entries.get(0).getEmail());
+        assertEquals(4, journal.append(JournalEntry.deletePerson("d@example.com")));
+    }
+
+    /**
+     * Tests reopening a journal whose last frame was only partly written.
+     * Verifies that the complete entries are replayed and that the damaged tail is cut off.
+     *
+     * @throws IOException if an error occurs while writing or reading the journal.
+     */
+    @Test
+    void open_shouldTruncateIncompleteTail() throws IOException {
+        journal.open(0, entry -> { });
+        journal.sync(journal.append(JournalEntry.deletePerson("a@example.com")));
+        long validLength = Files.size(journalPath);
+        journal.sync(journal.append(JournalEntry.deletePerson("b@example.com")));
+        journal.close();
+        byte[] bytes = Files.readAllBytes(journalPath);
+        Files.write(journalPath, Arrays.copyOf(bytes, bytes.length - 3));
+
+        List<JournalEntry> entries = new ArrayList<>();
+        journal = new Journal(journalPath.toString());
+        journal.open(0, entries::add);
+
+        assertEquals(1, entries.size());
+        assertEquals(validLength, Files.size(journalPath));
+    }
+
+    /**
+     * Tests syncing from several threads at the same time.
+     * Verifies that every entry is durable once its writer returns.
+     *
+     * @throws Exception if an error occurs while writing or reading the journal.
+     */
+    @Test
+    void sync_shouldMakeConcurrentEntriesDurable() throws Exception {
+        journal.open(0, entry -> { });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String email = i + "@example.com";
+                futures.add(executor.submit(() -> {
+                    journal.sync(journal.append(JournalEntry.deletePerson(email)));
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        journal.close();
+
+        List<JournalEntry> entries = new ArrayList<>();
+        journal = new Journal(journalPath.toString());
+
+        assertEquals(200, journal.open(0, entries::add));
+    }
+
+    /**
+     * Tests truncating the journal after a snapshot.
+     * Verifies that only the entries written after the snapshot remain, and that new entries are still appended.
+     *
+     * @throws IOException if an error occurs while writing or reading the journal.
+     */
+    @Test
+    void truncate_shouldDropEntriesContainedInSnapshot() throws IOException {
+        journal.open(0, entry -> { });
+        journal.append(JournalEntry.deletePerson("a@example.com"));
+        journal.sync(journal.append(JournalEntry.deletePerson("b@example.com")));
+        long pending = journal.append(JournalEntry.deletePerson("c@example.com"));
+
+        journal.truncate(1);
+        journal.sync(pending);
+        journal.close();
+
+        List<JournalEntry> entries = new ArrayList<>();
+        journal = new Journal(journalPath.toString());
+        journal.open(0, entries::add);
+
+        assertEquals(2, entries.size());
+        assertEquals("b@example.com", entries.get(0).getEmail());
+        assertEquals("c@example.com", entries.get(1).getEmail());
+        assertEquals(3, journal.getLastSequence());
+    }
+
+    /**
+     * Tests recovering the journal after a write failure, caused here by interrupting the writing thread,
+     * which closes the file.
+     * Verifies that the failed entry is discarded, that waiting for it fails, and that new entries are accepted
+     * and replayed after the entries forced to disk before the failure.
+     *
+     * @throws IOException if an error occurs while writing or reading the journal.
+     */
+    @Test
+    void recover_shouldDiscardEntriesNotOnDisk() throws IOException {
+        journal.open(0, entry -> { });
+        journal.sync(journal.append(JournalEntry.deletePerson("a@example.com")));
+        long failed = journal.append(JournalEntry.deletePerson("b@example.com"));
+
+        Thread.currentThread().interrupt();
+        assertThrows(IOException.class, () -> journal.sync(failed));
+        Thread.interrupted();
+        assertTrue(journal.hasFailed());
+        long appendedAfterFailure = journal.append(JournalEntry.deletePerson("c@example.com"));
+        assertThrows(IOException.class, () -> journal.sync(appendedAfterFailure));
+
+        List<JournalEntry> recovered = new ArrayList<>();
+        assertEquals(1, journal.recover(0, recovered::add));
+        assertFalse(journal.hasFailed());
+        assertThrows(IOException.class, () -> journal.sync(failed));
+        assertThrows(IOException.class, () -> journal.sync(appendedAfterFailure));
+        long accepted = journal.append(JournalEntry.deletePerson("d@example.com"));
+        journal.sync(accepted);
+        journal.close();
+
+        List<JournalEntry> entries = new ArrayList<>();
+        journal = new Journal(journalPath.toString());
+        journal.open(0, entries::add);
+
+        assertEquals("a@example.com", recovered.get(0).getEmail());
+        assertEquals(4, accepted);
+        assertEquals(2, entries.size());
+        assertEquals("a@example.com", entries.get(0).getEmail());
+        assertEquals("d@example.com", entries.get(1).getEmail());
+    }
+
+    /**
+     * Tests opening the journal when no location is configured.
+     * Verifies that an exception is thrown.
+     */
+    @Test
+    void open_shouldThrowExceptionIfJournalIsDisabled() {
+        Journal disabledJournal = new Journal("");
+
+        assertFalse(disabledJournal.isEnabled());
+        assertThrows(IllegalStateException.class, () -> disabledJournal.open(0, entry -> { }));
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.safetynet_alerts.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link MultiIndex}.
+ * This class verifies that elements sharing a key are kept together and that the returned lists are never modified.
+ */
+class MultiIndexTest {
+
+    private final MultiIndex<String, String> index = new MultiIndex<>(); // Index under test
+
+    /**
+     * Tests adding several elements under the same key.
+     * Verifies that they are returned in the order they were added.
+     */
+    @Test
+    void add_shouldKeepElementsSharingKey() {
+        index.add("boyd", "John");
+        index.add("boyd", "Jacob");
+        index.add(null, "Nobody");
+
+        assertEquals(List.of("John", "Jacob"), index.get("boyd"));
+        assertEquals(List.of("Nobody"), index.get(null));
+        assertTrue(index.get("smith").isEmpty());
+    }
+
+    /**
+     * Tests removing elements.
+     * Verifies that a list returned earlier is not modified and that an emptied key is dropped.
+     */
+    @Test
+    void remove_shouldReplaceListsWithoutModifyingThem() {
+        index.add("boyd", "John");
+        index.add("boyd", "Jacob");
+        List<String> before = index.get("boyd");
+
+        index.remove("boyd", "John");
+
+        assertEquals(List.of("John", "Jacob"), before);
+        assertEquals(List.of("Jacob"), index.get("boyd"));
+        assertThrows(UnsupportedOperationException.class, () -> index.get("boyd").add("Roger"));
+        index.remove("boyd", "Jacob");
+        assertFalse(index.contains("boyd"));
+    }
+
+    /**
+     * Tests removing every element of a key.
+     * Verifies that the removed elements are returned.
+     */
+    @Test
+    void removeAll_shouldReturnRemovedElements() {
+        index.add("boyd", "John");
+        index.add("boyd", "Jacob");
+
+        assertEquals(List.of("John", "Jacob"), index.removeAll("boyd"));
+        assertTrue(index.removeAll("boyd").isEmpty());
+        assertFalse(index.contains("boyd"));
+    }
+
+    /**
+     * Tests adding elements in a given order.
+     * Verifies that each element is placed among the elements of its key according to that order.
+     */
+    @Test
+    void add_shouldPlaceElementInGivenOrder() {
+        index.add("boyd", "Jacob", Comparator.naturalOrder());
+        index.add("boyd", "Tenley", Comparator.naturalOrder());
+        index.add("boyd", "Felicia", Comparator.naturalOrder());
+        index.add("boyd", "Roger", Comparator.naturalOrder());
+
+        assertEquals(List.of("Felicia", "Jacob", "Roger", "Tenley"), index.get("boyd"));
+    }
+
+    /**
+     * Tests adding elements in a bulk write, including under a key that already has elements.
+     * Verifies that they are only visible once the bulk write ends, after the existing ones and in the order added,
+     * and that a removal during the bulk write sees the elements added before it.
+     */
+    @Test
+    void endBulk_shouldPublishGroupedElements() {
+        index.add("boyd", "John");
+        index.beginBulk();
+        index.add("boyd", "Jacob");
+        index.add("boyd", "Tenley");
+        index.add("smith", "Jane");
+
+        assertEquals(List.of("John"), index.get("boyd"));
+        assertFalse(index.contains("smith"));
+
+        index.endBulk();
+
+        assertEquals(List.of("John", "Jacob", "Tenley"), index.get("boyd"));
+        assertEquals(List.of("Jane"), index.get("smith"));
+        assertThrows(UnsupportedOperationException.class, () -> index.get("smith").add("Roger"));
+
+        index.beginBulk();
+        index.add("smith", "Roger");
+        index.remove("smith", "Jane");
+        index.add("smith", "Eric");
+        index.endBulk();
+        assertEquals(List.of("Roger", "Eric"), index.get("smith"));
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.safetynet_alerts.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link PrefixIndex}.
+ * This class verifies the case-insensitive exact and prefix lookups and their update on writes.
+ */
+class PrefixIndexTest {
+
+    private final PrefixIndex<String> index = new PrefixIndex<>(); // Index under test
+
+    /**
+     * Tests looking names up with a different case.
+     * Verifies that names differing only by case share the same elements.
+     */
+    @Test
+    void get_shouldIgnoreCase() {
+        index.add("Boyd", "John");
+        index.add("BOYD", "Jacob");
+        index.add(null, "Nobody");
+
+        assertEquals(List.of("John", "Jacob"), index.get("boyd"));
+        assertTrue(index.get("Boy").isEmpty());
+        assertTrue(index.get(null).isEmpty());
+    }
+
+    /**
+     * Tests looking names up by prefix.
+     * Verifies that the matching elements are sorted by name and that removed elements are not returned.
+     */
+    @Test
+    void getByPrefix_shouldReturnMatchingNamesInOrder() {
+        index.add("Boyle", "Tessa");
+        index.add("Boyd", "John");
+        index.add("Zemicks", "Sophia");
+        index.add("Bo", "Bob");
+        index.add("Boyd", "Jacob");
+
+        assertEquals(List.of("John", "Jacob", "Tessa"), index.getByPrefix("boy"));
+        assertEquals(List.of("Bob", "John", "Jacob", "Tessa"), index.getByPrefix("B"));
+
+        index.remove("boyd", "John");
+        assertEquals(List.of("Jacob", "Tessa"), index.getByPrefix("BOY"));
+        assertTrue(index.getByPrefix("Boyz").isEmpty());
+    }
+}
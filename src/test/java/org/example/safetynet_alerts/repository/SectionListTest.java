@@ -0,0 +1,71 @@
+package org.example.safetynet_alerts.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link SectionList}.
+ * This class verifies that the elements keep their order across replacements and deletions.
+ */
+class SectionListTest {
+
+    private final SectionList<String> list = new SectionList<>(4); // List under test
+
+    /**
+     * Tests replacing and removing elements.
+     * Verifies that a replacement takes the position of the replaced element, that a deletion keeps the order
+     * of the others, and that a copy returned earlier is not modified.
+     */
+    @Test
+    void remove_shouldKeepOrderOfOtherElements() {
+        String john = "John";
+        String jacob = "Jacob";
+        String tenley = "Tenley";
+        list.add(john);
+        list.add(jacob);
+        list.add(tenley);
+        List<String> before = list.copy();
+
+        String roger = "Roger";
+        list.replace(jacob, roger);
+        list.remove(john);
+
+        assertEquals(List.of(roger, tenley), list.copy());
+        assertSame(list.copy(), list.copy());
+        assertEquals(List.of(john, jacob, tenley), before);
+        assertThrows(UnsupportedOperationException.class, () -> before.add("Felicia"));
+        assertTrue(list.order().compare(roger, tenley) < 0);
+    }
+
+    /**
+     * Tests removing most of a large list.
+     * Verifies that the remaining elements keep their order, and their relative order, once the list is compacted.
+     */
+    @Test
+    void remove_shouldCompactWithoutReordering() {
+        List<String> elements = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            String element = "Person" + i;
+            elements.add(element);
+            list.add(element);
+        }
+        List<String> kept = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            if (i % 10 == 0) {
+                kept.add(elements.get(i));
+            } else {
+                list.remove(elements.get(i));
+            }
+        }
+        list.add("Last");
+        kept.add("Last");
+
+        assertEquals(kept, list.copy());
+        assertTrue(list.order().compare(elements.get(990), "Last") < 0);
+        assertTrue(list.order().compare(elements.get(10), elements.get(0)) > 0);
+    }
+}
@@ -0,0 +1,131 @@
+package org.example.safetynet_alerts.repository;
+
+import org.example.safetynet_alerts.models.FireStation;
+import org.example.safetynet_alerts.models.MedicalRecord;
+import org.example.safetynet_alerts.models.Person;
+import org.example.safetynet_alerts.models.SafetyNetData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link SnapshotStore}.
+ * This class verifies that snapshots round-trip the data and that stale or broken snapshots are ignored.
+ */
+class SnapshotStoreTest {
+
+    @TempDir
+    Path tempDir; // Temporary directory holding the snapshot file
+
+    private Path snapshotPath;
+    private SnapshotStore snapshotStore; // Instance of SnapshotStore under test
+    private SafetyNetData data;
+
+    /**
+     * Setup before each test.
+     * Initializes the store and the data to write.
+     */
+    @BeforeEach
+    void setUp() {
+        snapshotPath = tempDir.resolve("snapshot.bin");
+        snapshotStore = new SnapshotStore(snapshotPath.toString());
+
+        data = new SafetyNetData();
+        data.setPersons(new ArrayList<>(List.of(
+                new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com"),
+                new Person("Jane", "Doe", "123 Main St", "City", 12345, "555-5678", null))));
+        data.setFirestations(new ArrayList<>(List.of(new FireStation("123 Main St", 3))));
+        data.setMedicalrecords(new ArrayList<>(List.of(
+                new MedicalRecord("John", "Doe", "01/01/1980", List.of("aznol:350mg"), List.of("peanut")),
+                new MedicalRecord("Jane", "Doe", "01/01/2010", null, List.of()))));
+    }
+
+    /**
+     * Tests writing and reading a snapshot.
+     * Verifies that every field and the journal sequence are restored, and that repeated strings share one instance.
+     *
+     * @throws IOException if an error occurs while writing the snapshot.
+     */
+    @Test
+    void read_shouldReturnWrittenData() throws IOException {
+        snapshotStore.write(new Snapshot(data, 42), 100, 200);
+
+        Snapshot snapshot = snapshotStore.read(100, 200);
+
+        assertNotNull(snapshot);
+        assertEquals(42, snapshot.getJournalSequence());
+        SafetyNetData result = snapshot.getData();
+        assertEquals(2, result.getPersons().size());
+        Person john = result.getPersons().get(0);
+        assertEquals("John", john.getFirstName());
+        assertEquals("123 Main St", john.getAddress());
+        assertEquals(12345, john.getZip());
+        assertEquals("john.doe@example.com", john.getEmail());
+        assertNull(result.getPersons().get(1).getEmail());
+        assertSame(john.getAddress(), result.getPersons().get(1).getAddress());
+        assertEquals(3, result.getFirestations().get(0).getStation());
+        assertEquals(List.of("aznol:350mg"), result.getMedicalrecords().get(0).getMedications());
+        assertEquals(List.of("peanut"), result.getMedicalrecords().get(0).getAllergies());
+        assertNull(result.getMedicalrecords().get(1).getMedications());
+        assertEquals("01/01/2010", result.getMedicalrecords().get(1).getBirthDate());
+    }
+
+    /**
+     * Tests reading a snapshot built from another version of the data file.
+     * Verifies that the snapshot is ignored.
+     *
+     * @throws IOException if an error occurs while writing the snapshot.
+     */
+    @Test
+    void read_shouldReturnNullIfSnapshotIsStale() throws IOException {
+        snapshotStore.write(new Snapshot(data, 0), 100, 200);
+
+        assertNull(snapshotStore.read(100, 201));
+        assertNull(snapshotStore.read(101, 200));
+    }
+
+    /**
+     * Tests reading a snapshot that does not exist.
+     * Verifies that the result is null.
+     */
+    @Test
+    void read_shouldReturnNullIfSnapshotIsMissing() {
+        assertNull(snapshotStore.read(100, 200));
+    }
+
+    /**
+     * Tests reading a truncated snapshot.
+     * Verifies that the snapshot is ignored.
+     *
+     * @throws IOException if an error occurs while writing the snapshot.
+     */
+    @Test
+    void read_shouldReturnNullIfSnapshotIsCorrupted() throws IOException {
+        snapshotStore.write(new Snapshot(data, 0), 100, 200);
+        byte[] bytes = Files.readAllBytes(snapshotPath);
+        Files.write(snapshotPath, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertNull(snapshotStore.read(100, 200));
+    }
+
+    /**
+     * Tests writing a snapshot when no location is configured.
+     * Verifies that an exception is thrown.
+     */
+    @Test
+    void write_shouldThrowExceptionIfSnapshotsAreDisabled() {
+        SnapshotStore disabledStore = new SnapshotStore("");
+
+        assertFalse(disabledStore.isEnabled());
+        assertThrows(IllegalStateException.class, () -> disabledStore.write(new Snapshot(data, 0), 100, 200));
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.safetynet_alerts.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link TermDictionary}.
+ * This class verifies that each distinct allergy or medication key gets one code.
+ */
+class TermDictionaryTest {
+
+    private final TermDictionary dictionary = new TermDictionary(); // Dictionary under test
+
+    /**
+     * Tests interning equal keys held by different instances.
+     * Verifies that they get the same code and that the code gives the key back.
+     */
+    @Test
+    void intern_shouldGiveEqualKeysTheSameCode() {
+        int code = dictionary.intern(new String("peanut"));
+
+        assertEquals(code, dictionary.intern(new String("peanut")));
+        assertEquals("peanut", dictionary.key(code));
+        assertNotEquals(code, dictionary.intern("aznol"));
+    }
+
+    /**
+     * Tests interning more keys than the initial capacity.
+     * Verifies that every key keeps its code and that unknown keys are reported as such.
+     */
+    @Test
+    void intern_shouldKeepCodesAcrossGrowth() {
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, dictionary.intern("term" + i));
+        }
+
+        assertEquals(999, dictionary.codeOf("term999"));
+        assertEquals("term500", dictionary.key(500));
+        assertEquals(TermDictionary.UNKNOWN, dictionary.codeOf("term1000"));
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.safetynet_alerts.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link TrigramIndex}.
+ * This class verifies how texts are cut into trigrams and how search results are filtered and ranked.
+ */
+class TrigramIndexTest {
+
+    private final TrigramIndex index = new TrigramIndex(); // Index under test
+
+    /**
+     * Tests cutting a text into trigrams.
+     * Verifies that case and punctuation are ignored and that each word is padded.
+     */
+    @Test
+    void trigrams_shouldPadEachWord() {
+        assertEquals(Set.of("  1", " 15", "15 ", "  s", " st", "st "), TrigramIndex.trigrams("15, ST."));
+        assertTrue(TrigramIndex.trigrams(" - ").isEmpty());
+    }
+
+    /**
+     * Tests searching a misspelled and incomplete address.
+     * Verifies that the closest address comes first and that unrelated addresses are not returned.
+     */
+    @Test
+    void search_shouldRankClosestTextFirst() {
+        index.add(0, "1509 Culver St");
+        index.add(1, "29 15th St");
+        index.add(2, "1509 Culver Ave");
+        index.add(3, "834 Binoc Ave");
+
+        List<TrigramIndex.Match> matches = index.search("1509 Culvr", id -> true, 10);
+
+        assertEquals(List.of(0, 2), matches.stream().map(TrigramIndex.Match::id).toList());
+        assertTrue(matches.get(0).score() > matches.get(1).score());
+        assertTrue(matches.get(1).score() > 0.5 && matches.get(0).score() < 1);
+    }
+
+    /**
+     * Tests searching with a filter and a limit.
+     * Verifies that filtered IDs are skipped and that no more matches than the limit are returned.
+     */
+    @Test
+    void search_shouldApplyFilterAndLimit() {
+        for (int id = 0; id < 100; id++) {
+            index.add(id, id + " Culver St");
+        }
+
+        List<TrigramIndex.Match> matches = index.search("Culver St", id -> id % 2 == 1, 3);
+
+        assertEquals(List.of(1, 3, 5), matches.stream().map(TrigramIndex.Match::id).toList());
+        assertTrue(index.search("", id -> true, 3).isEmpty());
+    }
+
+    /**
+     * Tests searching a query whose trigrams are held by few of the indexed texts.
+     * Verifies that the texts read are counted as when the query reads most of the index.
+     */
+    @Test
+    void search_shouldFindFewMatchesInLargeIndex() {
+        for (int id = 0; id < 2000; id++) {
+            index.add(id, id + " Culver St");
+        }
+        index.add(2000, "12 Binoc Ave");
+        index.add(2001, "834 Binoc Ave");
+        index.add(2002, "834 Binoc Road");
+
+        List<TrigramIndex.Match> matches = index.search("Binoc Ave", id -> true, 10);
+
+        assertEquals(List.of(2000, 2001, 2002), matches.stream().map(TrigramIndex.Match::id).toList());
+        assertTrue(matches.get(0).score() > matches.get(1).score());
+        assertEquals(List.of(2001, 2002), index.search("Binoc Ave", id -> id != 2000, 10)
+                .stream().map(TrigramIndex.Match::id).toList());
+    }
+}
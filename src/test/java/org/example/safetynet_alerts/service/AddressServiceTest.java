@@ -0,0 +1,67 @@
+package org.example.safetynet_alerts.service;
+
+import org.example.safetynet_alerts.models.AddressMatch;
+import org.example.safetynet_alerts.models.FireStation;
+import org.example.safetynet_alerts.models.Person;
+import org.example.safetynet_alerts.repository.DataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link AddressService}.
+ * This class validates the fuzzy search over the addresses of the persons and fire stations.
+ */
+class AddressServiceTest {
+
+    private DataRepository dataRepository; // Repository holding the test data
+    private AddressService addressService; // Instance of AddressService under test
+
+    /**
+     * Setup before each test.
+     * Loads a person and a fire station at different addresses into the repository.
+     */
+    @BeforeEach
+    void setUp() {
+        List<Person> persons = new ArrayList<>();
+        persons.add(new Person("John", "Boyd", "1509 Culver St", "Culver", 97451, "841-874-6512", "jaboyd@email.com"));
+        List<FireStation> fireStations = new ArrayList<>();
+        fireStations.add(new FireStation("29 15th St", 2));
+
+        dataRepository = new DataRepository(persons, fireStations, new ArrayList<>());
+        addressService = new AddressService(dataRepository);
+    }
+
+    /**
+     * Tests searching an incomplete address.
+     * Verifies that the known address is returned with its score.
+     */
+    @Test
+    void searchAddresses_ShouldReturnKnownAddress() {
+        List<AddressMatch> matches = addressService.searchAddresses("1509 culver", 10);
+
+        assertEquals(1, matches.size());
+        assertEquals("1509 Culver St", matches.get(0).address());
+        assertTrue(matches.get(0).score() > 0.5);
+        assertEquals("29 15th St", addressService.searchAddresses("29 15th", 10).get(0).address());
+    }
+
+    /**
+     * Tests searching addresses after writes.
+     * Verifies that added addresses are found and that addresses left without residents or stations are not.
+     */
+    @Test
+    void searchAddresses_ShouldFollowWrites() {
+        dataRepository.addPerson(new Person("Tenley", "Boyd", "1509 Culver Ave", "Culver", 97451, "841-874-6512", "tenz@email.com"));
+        dataRepository.deletePerson("jaboyd@email.com");
+
+        List<AddressMatch> matches = addressService.searchAddresses("1509 Culver", 10);
+
+        assertEquals(1, matches.size());
+        assertEquals("1509 Culver Ave", matches.get(0).address());
+    }
+}
@@ -5,6 +5,8 @@ import org.junit.jupiter.api.Test;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -105,4 +107,36 @@ class DateUtilsTest {
         assertEquals(LocalDate.now().getYear() - 2000, age,
                 "The calculated age should match the provided date.");
     }
+
+    /**
+     * Tests {@link DateUtils#calculateAge(int, int)} against {@link Period} for birthdates around several current
+     * dates, including leap days, year ends and future birthdates.
+     * Verifies that the integer calculation gives the same number of years.
+     */
+    @Test
+    void calculateAge_EpochDay_ShouldMatchPeriod() {
+        for (LocalDate today : List.of(LocalDate.now(), LocalDate.of(2024, 2, 28), LocalDate.of(2024, 2, 29),
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 12, 31), LocalDate.of(2026, 1, 1))) {
+            for (LocalDate birthDate = today.minusYears(110); birthDate.isBefore(today.plusYears(3)); birthDate = birthDate.plusDays(1)) {
+                assertEquals(Period.between(birthDate, today).getYears(),
+                        DateUtils.calculateAge((int) birthDate.toEpochDay(), (int) today.toEpochDay()),
+                        "The calculated age should match for " + birthDate + " on " + today);
+            }
+        }
+    }
+
+    /**
+     * Tests {@link DateUtils#parseEpochDay(String)} with and without leading zeros, with out of range fields
+     * and with another format.
+     * Verifies the parsed epoch day, that out of range days and months carry over, and that the other format is rejected.
+     */
+    @Test
+    void parseEpochDay_ShouldAcceptOptionalLeadingZeros() {
+        assertEquals(LocalDate.of(1984, 3, 6).toEpochDay(), DateUtils.parseEpochDay("06/03/1984"));
+        assertEquals(LocalDate.of(1984, 3, 6).toEpochDay(), DateUtils.parseEpochDay("6/3/1984"));
+        assertEquals(LocalDate.of(2000, 3, 2).toEpochDay(), DateUtils.parseEpochDay("31/02/2000"));
+        assertEquals(LocalDate.of(2013, 6, 2).toEpochDay(), DateUtils.parseEpochDay("02/18/2012"));
+        assertThrows(IllegalArgumentException.class, () -> DateUtils.parseEpochDay("2022-01-01"));
+        assertThrows(IllegalArgumentException.class, () -> DateUtils.calculateAge(DateUtils.UNKNOWN_DATE, 0));
+    }
 }
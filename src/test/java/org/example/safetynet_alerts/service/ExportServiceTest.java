@@ -0,0 +1,136 @@
+package org.example.safetynet_alerts.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.example.safetynet_alerts.models.FireStation;
+import org.example.safetynet_alerts.models.MedicalRecord;
+import org.example.safetynet_alerts.models.Person;
+import org.example.safetynet_alerts.repository.DataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link ExportService}.
+ * This class verifies that the whole dataset is streamed as newline-delimited JSON or as a single JSON object.
+ */
+class ExportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new ParameterNamesModule());
+    private ExportService exportService; // Service under test
+    private DataRepository dataRepository; // In-memory repository holding the exported records
+
+    /**
+     * Setup before each test.
+     * Initializes a repository holding 2500 persons, one fire station and one medical record.
+     */
+    @BeforeEach
+    void setUp() {
+        List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            persons.add(new Person("First" + i, "Boyd", "1509 Culver St", "Culver", 97451, "841-874-6512", "person" + i + "@email.com"));
+        }
+        dataRepository = new DataRepository(persons,
+                new ArrayList<>(List.of(new FireStation("1509 Culver St", 3))),
+                new ArrayList<>(List.of(new MedicalRecord("First0", "Boyd", "03/06/1984", List.of("aznol:350mg"), List.of("nillacilan")))));
+        exportService = new ExportService(dataRepository, objectMapper);
+    }
+
+    /**
+     * Tests exporting the dataset as newline-delimited JSON.
+     * Verifies that every record is written on its own line, in the format accepted by the import.
+     *
+     * @throws IOException if an error occurs while writing the export.
+     */
+    @Test
+    void exportNdjson_shouldWriteOneRecordPerLine() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exportService.exportNdjson(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2502, lines.length);
+        assertEquals("person0@email.com", objectMapper.readTree(lines[0]).get("person").get("email").asText());
+        assertEquals("person2499@email.com", objectMapper.readTree(lines[2499]).get("person").get("email").asText());
+        assertEquals(3, objectMapper.readTree(lines[2500]).get("firestation").get("station").asInt());
+        assertEquals("First0", objectMapper.readTree(lines[2501]).get("medicalrecord").get("firstName").asText());
+    }
+
+    /**
+     * Tests exporting the dataset as a single JSON object.
+     * Verifies that each section is written as a complete array.
+     *
+     * @throws IOException if an error occurs while writing the export.
+     */
+    @Test
+    void exportJson_shouldWriteOneArrayPerSection() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        exportService.exportJson(output);
+
+        JsonNode document = objectMapper.readTree(output.toString(StandardCharsets.UTF_8));
+        assertEquals(2500, document.get("persons").size());
+        assertEquals(1, document.get("firestations").size());
+        assertEquals(1, document.get("medicalrecords").size());
+        assertEquals("person1000@email.com", document.get("persons").get(1000).get("email").asText());
+    }
+
+    /**
+     * Tests deleting persons while an export is being written.
+     * Verifies that every person present when the export started is written exactly once.
+     *
+     * @throws IOException if an error occurs while writing the export.
+     */
+    @Test
+    void exportNdjson_shouldNotFollowDeletesMadeDuringExport() throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void write(byte[] bytes, int offset, int length) {
+                if (size() == 0) {
+                    for (int i = 0; i < 100; i++) {
+                        dataRepository.deletePerson("person" + i + "@email.com");
+                    }
+                }
+                super.write(bytes, offset, length);
+            }
+        };
+
+        exportService.exportNdjson(output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < 2500; i++) {
+            emails.add(objectMapper.readTree(lines[i]).get("person").get("email").asText());
+        }
+        assertEquals(2502, lines.length);
+        assertEquals(2500, emails.size());
+        assertEquals(2400, dataRepository.getPersons().size());
+    }
+
+    /**
+     * Tests exporting an empty dataset.
+     * Verifies that empty arrays are written.
+     *
+     * @throws IOException if an error occurs while writing the export.
+     */
+    @Test
+    void exportJson_shouldWriteEmptyDataset() throws IOException {
+        ExportService emptyExportService = new ExportService(
+                new DataRepository(new ArrayList<>(), new ArrayList<>(), new ArrayList<>()), objectMapper);
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        emptyExportService.exportJson(output);
+
+        assertEquals("{\"persons\":[],\"firestations\":[],\"medicalrecords\":[]}", output.toString(StandardCharsets.UTF_8));
+    }
+}
@@ -1,20 +1,14 @@
 package org.example.safetynet_alerts.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.safetynet_alerts.models.FireStation;
-import org.example.safetynet_alerts.models.FireStationsData;
+import org.example.safetynet_alerts.repository.DataRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
 /**
  * Unit test class for {@link FireStationService}.
@@ -23,37 +17,24 @@ import static org.mockito.Mockito.*;
  */
 class FireStationServiceTest {
 
-    @Mock
-    private ObjectMapper objectMapper; // Mocked ObjectMapper for reading JSON data
-
     private FireStationService fireStationService; // Instance of FireStationService under test
 
     private List<FireStation> mockFireStations; // Simulated list of fire stations
 
     /**
      * Setup before each test.
-     * Initializes mocks and loads simulated data for testing.
-     *
-     * @throws IOException if an error occurs while loading mock data.
+     * Loads simulated data into the repository used for testing.
      */
     @BeforeEach
-    void setUp() throws IOException {
-        MockitoAnnotations.openMocks(this);
-
+    void setUp() {
         // Mock initial data
         mockFireStations = new ArrayList<>();
         mockFireStations.add(new FireStation("123 Main St", 1));
         mockFireStations.add(new FireStation("456 Elm St", 2));
 
-        // Mock JSON data
-        FireStationsData mockData = new FireStationsData();
-        mockData.setFirestations(mockFireStations);
-
-        // Mock ObjectMapper behavior to return simulated data
-        when(objectMapper.readValue(any(InputStream.class), eq(FireStationsData.class))).thenReturn(mockData);
-
-        // Initialize service with mocked ObjectMapper
-        fireStationService = new FireStationService(objectMapper);
+        // Initialize service with a repository holding the simulated data
+        DataRepository dataRepository = new DataRepository(new ArrayList<>(), mockFireStations, new ArrayList<>());
+        fireStationService = new FireStationService(dataRepository);
     }
 
     /**
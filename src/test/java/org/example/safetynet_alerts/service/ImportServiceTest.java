@@ -0,0 +1,136 @@
+package org.example.safetynet_alerts.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import org.example.safetynet_alerts.models.FireStation;
+import org.example.safetynet_alerts.models.Person;
+import org.example.safetynet_alerts.repository.DataRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit test class for {@link ImportService}.
+ * This class verifies that newline-delimited records are added in chunks and that rejected lines are reported.
+ */
+class ImportServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new ParameterNamesModule());
+    private DataRepository dataRepository; // In-memory repository receiving the imported records
+
+    /**
+     * Setup before each test.
+     * Initializes a repository holding one person.
+     */
+    @BeforeEach
+    void setUp() {
+        dataRepository = new DataRepository(
+                new ArrayList<>(List.of(new Person("John", "Boyd", "1509 Culver St", "Culver", 97451, "841-874-6512", "jaboyd@email.com"))),
+                new ArrayList<>(), new ArrayList<>());
+    }
+
+    private static InputStream lines(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tests importing every record type across several chunks.
+     * Verifies that all the records are added and that blank lines are ignored.
+     *
+     * @throws IOException if an error occurs while reading the input.
+     */
+    @Test
+    void importRecords_shouldAddEveryRecordType() throws IOException {
+        ImportService importService = new ImportService(dataRepository, objectMapper, 2);
+
+        ImportReport report = importService.importRecords(lines(
+                "{\"person\": {\"firstName\": \"Jacob\", \"lastName\": \"Boyd\", \"address\": \"1509 Culver St\", \"city\": \"Culver\", \"zip\": 97451, \"phone\": \"841-874-6513\", \"email\": \"drk@email.com\"}}",
+                "",
+                "{\"firestation\": {\"address\": \"1509 Culver St\", \"station\": 3}}",
+                "{\"medicalrecord\": {\"firstName\": \"Jacob\", \"lastName\": \"Boyd\", \"birthdate\": \"03/06/1989\", \"medications\": [], \"allergies\": []}}"));
+
+        assertEquals(3, report.getImported());
+        assertEquals(0, report.getFailed());
+        assertEquals(2, dataRepository.getPersons().size());
+        assertEquals(List.of(new FireStation("1509 Culver St", 3)), dataRepository.getFireStations());
+        assertEquals(1, dataRepository.getMedicalRecords().size());
+    }
+
+    /**
+     * Tests importing lines that are invalid or already exist.
+     * Verifies that each one is reported with its line number, in input order, while the other lines are imported.
+     *
+     * @throws IOException if an error occurs while reading the input.
+     */
+    @Test
+    void importRecords_shouldReportFailuresPerLine() throws IOException {
+        ImportService importService = new ImportService(dataRepository, objectMapper, 10);
+
+        ImportReport report = importService.importRecords(lines(
+                "{\"person\": {\"firstName\": \"John\", \"lastName\": \"Boyd\", \"address\": \"1509 Culver St\", \"city\": \"Culver\", \"zip\": 97451, \"phone\": \"841-874-6512\", \"email\": \"jaboyd@email.com\"}}",
+                "not json",
+                "{\"vehicle\": {}}",
+                "{\"firestation\": {\"address\": \"1509 Culver St\", \"station\": 3}}",
+                "{\"firestation\": {\"address\": \"1509 Culver St\", \"station\": 3}}"));
+
+        assertEquals(1, report.getImported());
+        assertEquals(4, report.getFailed());
+        assertEquals(List.of(1, 2, 3, 5), report.getFailures().stream().map(ImportReport.Failure::getLine).toList());
+        assertTrue(report.getFailures().get(0).getMessage().contains("jaboyd@email.com"));
+        assertEquals(1, dataRepository.getFireStations().size());
+    }
+
+    /**
+     * Tests importing lines whose record is null or not an object.
+     * Verifies that each one is reported as a failed line while the records of the same chunk are imported.
+     *
+     * @throws IOException if an error occurs while reading the input.
+     */
+    @Test
+    void importRecords_shouldReportNullRecordsPerLine() throws IOException {
+        ImportService importService = new ImportService(dataRepository, objectMapper, 10);
+
+        ImportReport report = importService.importRecords(lines(
+                "{\"person\": null}",
+                "{\"firestation\": {\"address\": \"1509 Culver St\", \"station\": 3}}",
+                "{\"medicalrecord\": [1, 2]}"));
+
+        assertEquals(1, report.getImported());
+        assertEquals(List.of(1, 3), report.getFailures().stream().map(ImportReport.Failure::getLine).toList());
+        assertEquals(1, dataRepository.getFireStations().size());
+    }
+
+    /**
+     * Tests importing a medical record written by the export, whose birthdate is named as in the API responses.
+     * Verifies that the birthdate is read.
+     *
+     * @throws IOException if an error occurs while reading the input.
+     */
+    @Test
+    void importRecords_shouldReadExportedBirthDate() throws IOException {
+        ImportService importService = new ImportService(dataRepository, objectMapper, 10);
+
+        ImportReport report = importService.importRecords(lines(
+                "{\"medicalrecord\": {\"firstName\": \"John\", \"lastName\": \"Boyd\", \"medications\": [], \"allergies\": [], \"birthDate\": \"03/06/1984\"}}"));
+
+        assertEquals(1, report.getImported());
+        assertEquals("03/06/1984", dataRepository.getMedicalRecords().get(0).getBirthDate());
+    }
+
+    /**
+     * Tests creating the service with an invalid chunk size.
+     * Verifies that an exception is thrown.
+     */
+    @Test
+    void constructor_shouldRejectInvalidChunkSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ImportService(dataRepository, objectMapper, 0));
+    }
+}
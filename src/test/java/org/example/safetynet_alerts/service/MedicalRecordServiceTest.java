@@ -1,21 +1,15 @@
 package org.example.safetynet_alerts.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.safetynet_alerts.models.MedicalRecord;
-import org.example.safetynet_alerts.models.MedicalRecordData;
+import org.example.safetynet_alerts.repository.DataRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
 /**
  * Unit test class for {@link MedicalRecordService}.
@@ -24,24 +18,16 @@ import static org.mockito.Mockito.*;
  */
 class MedicalRecordServiceTest {
 
-    @Mock
-    private ObjectMapper objectMapper; // Mocked ObjectMapper for reading JSON data
-
     private MedicalRecordService medicalRecordService; // Instance of MedicalRecordService under test
 
     private List<MedicalRecord> mockMedicalRecords; // Mocked list of medical records
 
     /**
      * Setup before each test.
-     * Initializes mocks and loads simulated data for testing.
-     *
-     * @throws IOException if an error occurs while loading mock data.
-     * @throws ParseException if an error occurs while parsing dates in mock data.
+     * Loads simulated data into the repository used for testing.
      */
     @BeforeEach
-    void setUp() throws IOException, ParseException {
-        MockitoAnnotations.openMocks(this);
-
+    void setUp() {
         // Mock data for MedicalRecord
         mockMedicalRecords = new ArrayList<>();
         mockMedicalRecords.add(new MedicalRecord(
@@ -59,15 +45,9 @@ class MedicalRecordServiceTest {
                 List.of("allergy2")
         ));
 
-        // Mocking the ObjectMapper to return the mock data
-        MedicalRecordData mockData = new MedicalRecordData();
-        mockData.setMedicalrecords(mockMedicalRecords);
-
-        when(objectMapper.readValue(any(InputStream.class), eq(MedicalRecordData.class)))
-                .thenReturn(mockData);
-
-        // Initialize the service
-        medicalRecordService = new MedicalRecordService(objectMapper);
+        // Initialize the service with a repository holding the mock data
+        DataRepository dataRepository = new DataRepository(new ArrayList<>(), new ArrayList<>(), mockMedicalRecords);
+        medicalRecordService = new MedicalRecordService(dataRepository);
     }
 
     /**
@@ -210,4 +190,20 @@ class MedicalRecordServiceTest {
         MedicalRecord medicalRecord = medicalRecordService.getMedicalRecordByFirstnameAndLastname(null, null);
         assertNull(medicalRecord);
     }
+
+    /**
+     * Tests retrieving medical records by allergy and by medication.
+     * Verifies that the lookups ignore case and the medication dose.
+     */
+    @Test
+    void getMedicalRecordsByTerms_ShouldReturnMatchingRecords() {
+        List<MedicalRecord> byAllergy = medicalRecordService.getMedicalRecordsByAllergy("ALLERGY2");
+        List<MedicalRecord> byMedication = medicalRecordService.getMedicalRecordsByMedication("med1:100mg");
+
+        assertEquals(1, byAllergy.size());
+        assertEquals("Jane", byAllergy.get(0).getFirstName());
+        assertEquals(1, byMedication.size());
+        assertEquals("John", byMedication.get(0).getFirstName());
+        assertTrue(medicalRecordService.getMedicalRecordsByAllergy("unknown").isEmpty());
+    }
 }
@@ -1,16 +1,17 @@
 package org.example.safetynet_alerts.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.safetynet_alerts.models.FireStation;
 import org.example.safetynet_alerts.models.MedicalRecord;
 import org.example.safetynet_alerts.models.Person;
-import org.example.safetynet_alerts.models.PersonsData;
+import org.example.safetynet_alerts.repository.DataRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
-import java.io.IOException;
-import java.io.InputStream;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,26 +24,19 @@ import static org.mockito.Mockito.*;
  */
 class PersonInfoServiceTest {
 
-    @Mock
-    private MedicalRecordService medicalRecordService; // Mocked MedicalRecordService for handling medical data
-
     @Mock
     private FireStationService fireStationService; // Mocked FireStationService for handling fire station data
 
-    @Mock
-    private ObjectMapper objectMapper; // Mocked ObjectMapper for reading JSON data
-
     private PersonInfoService personInfoService; // Instance of PersonInfoService under test
+    private DataRepository dataRepository; // Repository holding the mock data and linking persons to their records
     private List<Person> mockPersons; // Mocked list of persons
 
     /**
      * Setup before each test.
      * Initializes mocks and loads simulated data for testing.
-     *
-     * @throws IOException if an error occurs while loading mock data.
      */
     @BeforeEach
-    void setUp() throws IOException {
+    void setUp() {
         MockitoAnnotations.openMocks(this);
 
         // Mock data for Person
@@ -70,13 +64,9 @@ class PersonInfoServiceTest {
                 )
         );
 
-        // Mocking the ObjectMapper to return the mock data
-        PersonsData mockData = new PersonsData();
-        mockData.setPersons(mockPersons);
-        when(objectMapper.readValue(any(InputStream.class), eq(PersonsData.class))).thenReturn(mockData);
-
-        // Initialize the service
-        personInfoService = new PersonInfoService(objectMapper, medicalRecordService, fireStationService);
+        // Initialize the service with a repository holding the mock data
+        dataRepository = new DataRepository(mockPersons, new ArrayList<>(), new ArrayList<>());
+        personInfoService = new PersonInfoService(dataRepository, fireStationService);
     }
 
     /**
@@ -88,8 +78,8 @@ class PersonInfoServiceTest {
         MedicalRecord johnRecord = new MedicalRecord("John", "Doe", "01/01/2000", List.of("med1"), List.of("allergy1"));
         MedicalRecord janeRecord = new MedicalRecord("Jane", "Doe", "01/01/2010", List.of("med2"), List.of("allergy2"));
 
-        when(medicalRecordService.getMedicalRecordByFirstnameAndLastname("John", "Doe")).thenReturn(johnRecord);
-        when(medicalRecordService.getMedicalRecordByFirstnameAndLastname("Jane", "Doe")).thenReturn(janeRecord);
+        dataRepository.addMedicalRecord(johnRecord);
+        dataRepository.addMedicalRecord(janeRecord);
 
         List<Map<String, Object>> result = personInfoService.getAllPersonInfo(mockPersons);
 
@@ -108,8 +98,8 @@ class PersonInfoServiceTest {
         MedicalRecord johnRecord = new MedicalRecord("John", "Doe", "01/01/2010", List.of(), List.of());
         MedicalRecord janeRecord = new MedicalRecord("Jane", "Doe", "01/01/1990", List.of(), List.of());
 
-        when(medicalRecordService.getMedicalRecordByFirstnameAndLastname("John", "Doe")).thenReturn(johnRecord);
-        when(medicalRecordService.getMedicalRecordByFirstnameAndLastname("Jane", "Doe")).thenReturn(janeRecord);
+        dataRepository.addMedicalRecord(johnRecord);
+        dataRepository.addMedicalRecord(janeRecord);
 
         List<Map<String, Object>> result = personInfoService.getChildAlertByAddress("123 Street");
 
@@ -121,6 +111,46 @@ class PersonInfoServiceTest {
         assertEquals("Jane Doe", familyMembers.get(0));
     }
 
+    /**
+     * Tests retrieving child alert information for a household with several children.
+     * Verifies that each child is listed with every other resident as family member, in the residents order.
+     */
+    @Test
+    void getChildAlertByAddress_ShouldListOtherResidentsOfHousehold() {
+        dataRepository.addPerson(new Person("Tessa", "Doe", "123 Street", "City", 123456, "123-456-7892", "tessa.doe@example.com"));
+        dataRepository.addMedicalRecord(new MedicalRecord("John", "Doe", "01/01/2010", List.of(), List.of()));
+        dataRepository.addMedicalRecord(new MedicalRecord("Jane", "Doe", "01/01/1990", List.of(), List.of()));
+        dataRepository.addMedicalRecord(new MedicalRecord("Tessa", "Doe", "01/01/2015", List.of(), List.of()));
+
+        List<Map<String, Object>> result = personInfoService.getChildAlertByAddress("123 Street");
+
+        assertEquals(2, result.size());
+        assertEquals("John", result.get(0).get("firstName"));
+        assertEquals(List.of("Jane Doe", "Tessa Doe"), result.get(0).get("familyMembers"));
+        assertEquals("Tessa", result.get(1).get("firstName"));
+        assertEquals(List.of("John Doe", "Jane Doe"), result.get(1).get("familyMembers"));
+    }
+
+    /**
+     * Tests retrieving the age of a child with a repository whose clock is not on the current date.
+     * Verifies that the ages are computed for the day of the repository clock, the day the children are classified on.
+     */
+    @Test
+    void getChildAlertByAddress_ShouldComputeAgeForRepositoryDay() {
+        Person tenley = new Person("Tenley", "Boyd", "1509 Culver St", "Culver", 97451, "841-874-6512", "tenley@email.com");
+        Clock clock = Clock.fixed(LocalDate.of(2031, 2, 17).atStartOfDay(ZoneOffset.UTC).toInstant(), ZoneOffset.UTC);
+        // 02/18/2012 is read as June 2, 2013
+        DataRepository repository = new DataRepository(new ArrayList<>(List.of(tenley)), new ArrayList<>(),
+                new ArrayList<>(List.of(new MedicalRecord("Tenley", "Boyd", "02/18/2012", List.of(), List.of()))), clock);
+        PersonInfoService service = new PersonInfoService(repository, fireStationService);
+
+        List<Map<String, Object>> result = service.getChildAlertByAddress("1509 Culver St");
+
+        assertEquals(1, result.size());
+        assertEquals(17, result.get(0).get("age"));
+        assertEquals(17, service.getAllPersonInfo(List.of(tenley)).get(0).get("age"));
+    }
+
     /**
      * Tests retrieving fire station coverage.
      * Verifies that persons, children count, and adult count are returned correctly.
@@ -131,8 +161,8 @@ class PersonInfoServiceTest {
         MedicalRecord janeRecord = new MedicalRecord("Jane", "Doe", "01/01/2010", List.of(), List.of());
 
         when(fireStationService.getAddressByFireStationsNumber(1)).thenReturn(List.of("123 Street"));
-        when(medicalRecordService.getMedicalRecordByFirstnameAndLastname("John", "Doe")).thenReturn(johnRecord);
-        when(medicalRecordService.getMedicalRecordByFirstnameAndLastname("Jane", "Doe")).thenReturn(janeRecord);
+        dataRepository.addMedicalRecord(johnRecord);
+        dataRepository.addMedicalRecord(janeRecord);
 
         Map<String, Object> result = personInfoService.getCoverageByFireStation(1);
 
@@ -140,4 +170,74 @@ class PersonInfoServiceTest {
         assertEquals(Long.valueOf(1), result.get("childrenCount"));
         assertEquals(Long.valueOf(1), result.get("adultCount"));
     }
+
+    /**
+     * Tests retrieving child alert information when a resident has no medical record.
+     * Verifies that the resident is not reported as a child but is still listed as a family member.
+     */
+    @Test
+    void getChildAlertByAddress_ShouldSkipPersonsWithoutMedicalRecord() {
+        dataRepository.addMedicalRecord(new MedicalRecord("John", "Doe", "01/01/2020", List.of(), List.of()));
+
+        List<Map<String, Object>> result = personInfoService.getChildAlertByAddress("123 Street");
+
+        assertEquals(1, result.size());
+        assertEquals("John", result.get(0).get("firstName"));
+        assertEquals(List.of("Jane Doe"), result.get(0).get("familyMembers"));
+        assertEquals(1, dataRepository.getOrphans().size());
+    }
+
+    /**
+     * Tests retrieving fire station coverage when a covered person has no medical record.
+     * Verifies that the person is listed but counted neither as an adult nor as a child.
+     */
+    @Test
+    void getCoverageByFireStation_ShouldNotCountPersonsWithoutMedicalRecord() {
+        when(fireStationService.getAddressByFireStationsNumber(1)).thenReturn(List.of("123 Street"));
+        dataRepository.addMedicalRecord(new MedicalRecord("Jane", "Doe", "01/01/1990", List.of(), List.of()));
+
+        Map<String, Object> result = personInfoService.getCoverageByFireStation(1);
+
+        assertEquals(2, ((List<?>) result.get("persons")).size());
+        assertEquals(Long.valueOf(1), result.get("adultCount"));
+        assertEquals(Long.valueOf(0), result.get("childrenCount"));
+    }
+
+    /**
+     * Tests retrieving fire station coverage when a covered person has a medical record without a valid birthdate.
+     * Verifies that the person is listed but counted neither as an adult nor as a child.
+     */
+    @Test
+    void getCoverageByFireStation_ShouldNotCountPersonsWithUnknownBirthdate() {
+        when(fireStationService.getAddressByFireStationsNumber(1)).thenReturn(List.of("123 Street", "123 Street"));
+        dataRepository.addMedicalRecord(new MedicalRecord("John", "Doe", "01/01/2020", List.of(), List.of()));
+        dataRepository.addMedicalRecord(new MedicalRecord("Jane", "Doe", "unknown", List.of(), List.of()));
+
+        Map<String, Object> result = personInfoService.getCoverageByFireStation(1);
+
+        assertEquals(2, ((List<?>) result.get("persons")).size());
+        assertEquals(Long.valueOf(0), result.get("adultCount"));
+        assertEquals(Long.valueOf(1), result.get("childrenCount"));
+    }
+
+    /**
+     * Tests retrieving the persons covered by a fire station who have an allergy and take a medication.
+     * Verifies that only the matching persons living at an address covered by the station are returned.
+     */
+    @Test
+    void getMedicalAlertByFireStation_ShouldReturnCoveredMatchingPersons() {
+        dataRepository.addFireStation(new FireStation("123 Street", 3));
+        dataRepository.addPerson(new Person("Jim", "Roe", "9 Far Road", "City", 123456, "123-456-7892", "jim.roe@example.com"));
+        dataRepository.addMedicalRecord(new MedicalRecord("John", "Doe", "01/01/2000", List.of("insulin:10ml"), List.of("peanut")));
+        dataRepository.addMedicalRecord(new MedicalRecord("Jane", "Doe", "01/01/2010", List.of(), List.of("Peanut")));
+        dataRepository.addMedicalRecord(new MedicalRecord("Jim", "Roe", "01/01/1990", List.of("insulin:20ml"), List.of("peanut")));
+
+        List<Map<String, Object>> allergic = personInfoService.getMedicalAlertByFireStation(3, "peanut", null);
+        List<Map<String, Object>> treated = personInfoService.getMedicalAlertByFireStation(3, "peanut", "Insulin");
+
+        assertEquals(2, allergic.size());
+        assertEquals(1, treated.size());
+        assertEquals("John", treated.get(0).get("firstName"));
+        assertTrue(personInfoService.getMedicalAlertByFireStation(4, "peanut", null).isEmpty());
+    }
 }
@@ -1,20 +1,14 @@
 package org.example.safetynet_alerts.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.example.safetynet_alerts.models.Person;
-import org.example.safetynet_alerts.models.PersonsData;
+import org.example.safetynet_alerts.repository.DataRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
 /**
  * Unit test class for {@link PersonService}.
@@ -23,35 +17,24 @@ import static org.mockito.Mockito.*;
  */
 class PersonServiceTest {
 
-    @Mock
-    private ObjectMapper objectMapper; // Mocked ObjectMapper for reading JSON data
-
     private PersonService personService; // Instance of PersonService under test
 
     private List<Person> mockPersons; // Mocked list of persons
 
     /**
      * Setup before each test.
-     * Initializes mocks and loads simulated data for testing.
-     *
-     * @throws IOException if an error occurs while loading mock data.
+     * Loads simulated data into the repository used for testing.
      */
     @BeforeEach
-    void setUp() throws IOException {
-        MockitoAnnotations.openMocks(this);
-
+    void setUp() {
         // Mock data for Person
         mockPersons = new ArrayList<>();
         mockPersons.add(new Person("John", "Doe", "123 Main St", "City", 12345, "555-1234", "john.doe@example.com"));
         mockPersons.add(new Person("Jane", "Smith", "456 Elm St", "Town", 67890, "555-5678", "jane.smith@example.com"));
 
-        // Mocking the ObjectMapper to return the mock data
-        PersonsData mockData = new PersonsData();
-        mockData.setPersons(mockPersons);
-        when(objectMapper.readValue(any(InputStream.class), eq(PersonsData.class))).thenReturn(mockData);
-
-        // Initialize the service
-        personService = new PersonService(objectMapper);
+        // Initialize the service with a repository holding the mock data
+        DataRepository dataRepository = new DataRepository(mockPersons, new ArrayList<>(), new ArrayList<>());
+        personService = new PersonService(dataRepository);
     }
 
     /**
@@ -176,6 +159,23 @@ class PersonServiceTest {
         assertTrue(emails.isEmpty());
     }
 
+    /**
+     * Tests retrieving email addresses after writes on persons sharing an email.
+     * Verifies that the shared email is listed once and kept until the last person holding it is deleted.
+     */
+    @Test
+    void getAllEmailByCity_ShouldFollowWritesOnSharedEmails() {
+        personService.addPerson(new Person("Jacob", "Doe", "123 Main St", "City", 12345, "555-4321", "family.doe@example.com"));
+        personService.addPerson(new Person("Jim", "Doe", "123 Main St", "City", 12345, "555-4321", "jim.doe@example.com"));
+        personService.updatePerson("jim.doe@example.com",
+                new Person("Jim", "Doe", "123 Main St", "City", 12345, "555-4321", "family.doe@example.com"));
+
+        assertEquals(List.of("john.doe@example.com", "family.doe@example.com"), personService.getAllEmailByCity("City"));
+
+        personService.deletePerson("john.doe@example.com");
+        assertEquals(List.of("family.doe@example.com"), personService.getAllEmailByCity("City"));
+    }
+
     /**
      * Tests retrieving persons by their last name.
      * Verifies that persons with the given last name are returned correctly.
@@ -197,6 +197,32 @@ class PersonServiceTest {
         assertTrue(persons.isEmpty());
     }
 
+    /**
+     * Tests retrieving persons by their last name written with a different case.
+     * Verifies that the lookup ignores case.
+     */
+    @Test
+    void getAllPersonByLastname_ShouldIgnoreCase() {
+        assertEquals(1, personService.getAllPersonByLastname("doe").size());
+        assertEquals(1, personService.getAllPersonByLastname("SMITH").size());
+    }
+
+    /**
+     * Tests retrieving persons by the beginning of their last name.
+     * Verifies that every person whose last name starts with the prefix is returned, sorted by last name.
+     */
+    @Test
+    void getAllPersonByLastnamePrefix_ShouldReturnMatchingPersons() {
+        personService.addPerson(new Person("Tony", "Smithson", "456 Elm St", "Town", 67890, "555-0000", "tony@example.com"));
+
+        List<Person> persons = personService.getAllPersonByLastnamePrefix("smi");
+
+        assertEquals(2, persons.size());
+        assertEquals("Jane", persons.get(0).getFirstName());
+        assertEquals("Tony", persons.get(1).getFirstName());
+        assertTrue(personService.getAllPersonByLastnamePrefix("x").isEmpty());
+    }
+
     /**
      * Tests retrieving persons by their address.
      * Verifies that the correct persons are returned for the given address.
@@ -0,0 +1,43 @@
+package org.example.safetynet_alerts.service;
+
+import org.example.safetynet_alerts.repository.DataRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit test class for {@link SnapshotService}.
+ * This class verifies that snapshots are saved through the repository.
+ */
+class SnapshotServiceTest {
+
+    /**
+     * Tests saving a snapshot.
+     * Verifies that the repository writes it.
+     *
+     * @throws IOException if an error occurs while writing the snapshot.
+     */
+    @Test
+    void saveSnapshot_shouldWriteSnapshotOfRepository() throws IOException {
+        DataRepository dataRepository = mock(DataRepository.class);
+
+        new SnapshotService(dataRepository).saveSnapshot();
+
+        verify(dataRepository, times(1)).saveSnapshot();
+    }
+
+    /**
+     * Tests saving a snapshot of a repository that is not backed by a data file.
+     * Verifies that an exception reports that snapshots are disabled.
+     */
+    @Test
+    void saveSnapshot_shouldThrowExceptionIfSnapshotsAreDisabled() {
+        DataRepository dataRepository = new DataRepository(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+
+        assertThrows(IllegalStateException.class, () -> new SnapshotService(dataRepository).saveSnapshot());
+    }
+}